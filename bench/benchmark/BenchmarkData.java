@@ -0,0 +1,64 @@
+package benchmark;
+
+import util.DataGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Dataset sintetis untuk benchmark, dibuat dengan {@link DataGenerator}.
+ * Setiap ukuran dataset dibuat sekali di {@code <tmp>/film-bench/<size>-pbkdf2-<iterasi>/} lalu dipakai ulang,
+ * dan {@code data.directory} diarahkan ke sana sebelum FileManager dimuat.
+ *
+ * <p>Password user ditulis sebagai hash PBKDF2 dengan {@link #PASSWORD_ITERATIONS} iterasi (atur lewat
+ * {@code -Dbench.password.iterations}), dan {@code auth.password.iterations} disamakan agar login tidak
+ * meng-hash ulang password dan tidak menulis ke dataset yang dipakai bersama benchmark lain.</p>
+ *
+ * <p>Karena path file data dibaca satu kali saat FileManager dimuat, benchmark yang memakai
+ * dataset ini harus berjalan di JVM fork terpisah per ukuran (perilaku default JMH).</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+final class BenchmarkData {
+    private static final long SEED = 42;
+    static final int PASSWORD_ITERATIONS = Integer.getInteger("bench.password.iterations",
+            DataGenerator.DEFAULT_PASSWORD_ITERATIONS);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Menyiapkan dataset dengan jumlah record tertentu untuk users, films, dan playlists.
+     *
+     * @param size jumlah record per file
+     * @return direktori data yang dipakai
+     * @throws IOException jika dataset gagal ditulis
+     */
+    static Path prepare(int size) throws IOException {
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"), "film-bench", size + "-pbkdf2-" + PASSWORD_ITERATIONS);
+        if (!Files.exists(dir.resolve("playlists.txt"))) {
+            DataGenerator generator = new DataGenerator(SEED);
+            generator.setPasswordIterations(PASSWORD_ITERATIONS);
+            generator.generate(dir, size, size, size);
+        }
+        System.setProperty("data.directory", dir.toString() + File.separator);
+        System.setProperty("auth.password.iterations", String.valueOf(PASSWORD_ITERATIONS));
+        return dir;
+    }
+
+    static String filmId(int i) {
+        return DataGenerator.filmIdOf(i);
+    }
+
+    static String email(int i) {
+        return DataGenerator.emailOf(i);
+    }
+
+    static String password(int i) {
+        return DataGenerator.passwordOf(i);
+    }
+}
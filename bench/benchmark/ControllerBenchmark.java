@@ -0,0 +1,88 @@
+package benchmark;
+
+import controller.FilmController;
+import controller.PlaylistController;
+import model.Film;
+import model.Playlist;
+import model.User;
+import org.openjdk.jmh.annotations.*;
+import util.AuthService;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH untuk operasi baca controller dan login pada berbagai ukuran dataset:
+ * pencarian judul, lookup ID film, playlist per pemilik, dan {@link AuthService#login}.
+ *
+ * <p>{@link #login()} mengukur jalur verifikasi dingin: cache verifikasi password dimatikan sehingga setiap
+ * pemanggilan menghitung PBKDF2 penuh dengan {@link BenchmarkData#PASSWORD_ITERATIONS} iterasi, dan karena
+ * dataset sudah berisi hash dengan iterasi yang sama tidak ada hash ulang maupun penulisan ke file user.
+ * Biaya PBKDF2 naik linear terhadap jumlah iterasi, jadi hasilnya bisa diskalakan ke konfigurasi produksi.
+ * Session dari setiap login langsung diakhiri agar jumlah session tidak terus bertambah selama pengukuran.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private FilmController filmController;
+    private PlaylistController playlistController;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkData.prepare(size);
+        // Measure the login path itself, not the brute-force throttle
+        System.setProperty("auth.rateLimit.globalPerSecond", String.valueOf(Integer.MAX_VALUE));
+        System.setProperty("auth.rateLimit.globalBurst", String.valueOf(Integer.MAX_VALUE));
+        System.setProperty("auth.rateLimit.perEmailPerMinute", String.valueOf(Integer.MAX_VALUE));
+        System.setProperty("auth.rateLimit.perEmailBurst", String.valueOf(Integer.MAX_VALUE));
+        // Every login runs the full PBKDF2 verify instead of hitting the verify cache
+        System.setProperty("auth.password.cacheSeconds", "0");
+        filmController = new FilmController();
+        playlistController = new PlaylistController();
+        // Load the film repository before measuring
+        filmController.getFilmCount();
+    }
+
+    /**
+     * Mengambil index berikutnya agar setiap pemanggilan mencari data yang berbeda.
+     */
+    private int next() {
+        cursor = (cursor * 1103515245 + 12345) & Integer.MAX_VALUE;
+        return cursor % size;
+    }
+
+    @Benchmark
+    public List<Film> searchByTitle() {
+        return filmController.searchByTitle("night");
+    }
+
+    @Benchmark
+    public Film getFilmById() {
+        return filmController.getFilmById(BenchmarkData.filmId(next()));
+    }
+
+    @Benchmark
+    public List<Playlist> getPlaylistsByOwner() {
+        return playlistController.getPlaylistsByOwner(BenchmarkData.email(next() / 4));
+    }
+
+    @Benchmark
+    public User login() {
+        int i = next();
+        User user = AuthService.login(BenchmarkData.email(i), BenchmarkData.password(i));
+        AuthService.logout();
+        return user;
+    }
+}
@@ -0,0 +1,73 @@
+package benchmark;
+
+import model.Film;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import util.FieldSplitter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH untuk membandingkan {@code String.split("\\|")} dengan {@link FieldSplitter}
+ * pada baris data film dan playlist.
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldSplitterBenchmark {
+    private final String filmLine = "550|Fight Club|David Fincher|Drama|1999|An insomniac office worker and a devil-may-care "
+            + "soap maker form an underground fight club.|/pB8BM7pdSp6B6Ih7QZ4DrQ3PmJK.jpg|true";
+    private final String playlistLine = "Favorit|user@test.com|Private|550,680,13,155,27205,157336,MANUAL-1";
+
+    /**
+     * Baseline: memecah baris film dengan split regex lalu parse tahun.
+     */
+    @Benchmark
+    public void splitFilmLine(Blackhole blackhole) {
+        String[] parts = filmLine.split("\\|");
+        blackhole.consume(parts[1]);
+        blackhole.consume(Integer.parseInt(parts[4]));
+        blackhole.consume(Boolean.parseBoolean(parts[7]));
+    }
+
+    /**
+     * Memecah baris film dengan FieldSplitter.
+     */
+    @Benchmark
+    public void fieldSplitterFilmLine(Blackhole blackhole) {
+        FieldSplitter fields = FieldSplitter.split(filmLine);
+        blackhole.consume(fields.get(1));
+        blackhole.consume(fields.getInt(4));
+        blackhole.consume(fields.getBoolean(7));
+    }
+
+    /**
+     * Parsing lengkap satu baris film lewat model.
+     */
+    @Benchmark
+    public Film filmFromFileLine() {
+        return Film.fromFileLine(filmLine);
+    }
+
+    /**
+     * Baseline: memecah baris playlist dan daftar ID film dengan split.
+     */
+    @Benchmark
+    public int splitPlaylistIds() {
+        return playlistLine.split("\\|")[3].split(",").length;
+    }
+
+    /**
+     * Memecah baris playlist dan daftar ID film dengan FieldSplitter.
+     */
+    @Benchmark
+    public int fieldSplitterPlaylistIds() {
+        return FieldSplitter.split(playlistLine).getList(3, ',').size();
+    }
+}
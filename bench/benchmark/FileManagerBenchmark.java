@@ -0,0 +1,47 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import util.FileManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH untuk {@link FileManager#readLines} dan {@link FileManager#writeLines}
+ * pada file film dengan berbagai ukuran dataset.
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileManagerBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<String> lines;
+    private String copyFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Path dir = BenchmarkData.prepare(size);
+        lines = FileManager.readLines(FileManager.FILMS_FILE);
+        copyFile = dir.resolve("films-copy.txt").toString();
+    }
+
+    @Benchmark
+    public List<String> readLines() {
+        return FileManager.readLines(FileManager.FILMS_FILE);
+    }
+
+    @Benchmark
+    public void writeLines() {
+        FileManager.writeLines(copyFile, lines);
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import model.Film;
+import model.Playlist;
+import model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import util.FileManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH untuk parsing dan serialisasi model ({@code fromFileLine}/{@code toFileLine})
+ * atas seluruh record dataset.
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelCodecBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<String> filmLines;
+    private List<String> userLines;
+    private List<String> playlistLines;
+    private List<Film> films;
+    private List<User> users;
+    private List<Playlist> playlists;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkData.prepare(size);
+        filmLines = FileManager.readLines(FileManager.FILMS_FILE);
+        userLines = FileManager.readLines(FileManager.USERS_FILE);
+        playlistLines = FileManager.readLines(FileManager.PLAYLISTS_FILE);
+        films = new ArrayList<>();
+        filmLines.forEach(line -> films.add(Film.fromFileLine(line)));
+        users = new ArrayList<>();
+        userLines.forEach(line -> users.add(User.fromFileLine(line)));
+        playlists = new ArrayList<>();
+        playlistLines.forEach(line -> playlists.add(Playlist.fromFileLine(line)));
+    }
+
+    @Benchmark
+    public void filmFromFileLine(Blackhole blackhole) {
+        for (String line : filmLines) {
+            blackhole.consume(Film.fromFileLine(line));
+        }
+    }
+
+    @Benchmark
+    public void filmToFileLine(Blackhole blackhole) {
+        for (Film film : films) {
+            blackhole.consume(film.toFileLine());
+        }
+    }
+
+    @Benchmark
+    public void userFromFileLine(Blackhole blackhole) {
+        for (String line : userLines) {
+            blackhole.consume(User.fromFileLine(line));
+        }
+    }
+
+    @Benchmark
+    public void userToFileLine(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(user.toFileLine());
+        }
+    }
+
+    @Benchmark
+    public void playlistFromFileLine(Blackhole blackhole) {
+        for (String line : playlistLines) {
+            blackhole.consume(Playlist.fromFileLine(line));
+        }
+    }
+
+    @Benchmark
+    public void playlistToFileLine(Blackhole blackhole) {
+        for (Playlist playlist : playlists) {
+            blackhole.consume(playlist.toFileLine());
+        }
+    }
+}
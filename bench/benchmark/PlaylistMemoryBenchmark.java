@@ -0,0 +1,99 @@
+package benchmark;
+
+import model.Playlist;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import util.FileManager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH untuk representasi daftar ID film playlist: {@code ArrayList<String>} dibanding
+ * {@link util.FilmIdList}. Memuat semua playlist dataset, lalu mengukur contains dan add/remove per playlist.
+ *
+ * <p>Penghematan memori dicetak saat setup sebagai heap yang tertahan per ID film setelah GC.
+ * Jalankan dengan {@code -prof gc} untuk melihat alokasi per operasi parsing.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaylistMemoryBenchmark {
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean compact;
+
+    private List<String> playlistLines;
+    private List<Playlist> playlists;
+    private String[] probes;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkData.prepare(size);
+        playlistLines = FileManager.readLines(FileManager.PLAYLISTS_FILE);
+        probes = new String[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = BenchmarkData.filmId(i * 7);
+        }
+
+        long before = usedHeap();
+        playlists = load();
+        long retained = usedHeap() - before;
+        long filmIds = 0;
+        for (Playlist playlist : playlists) {
+            filmIds += playlist.getFilmIds().size();
+        }
+        System.out.printf("%n[compact=%s] %d playlists, %d film ids, retained %.1f MB (%.1f bytes per film id incl. playlist)%n",
+                compact, playlists.size(), filmIds, retained / 1048576.0, filmIds > 0 ? (double) retained / filmIds : 0);
+    }
+
+    private List<Playlist> load() {
+        List<Playlist> loaded = new ArrayList<>(playlistLines.size());
+        for (String line : playlistLines) {
+            loaded.add(Playlist.fromFileLine(line, compact));
+        }
+        return loaded;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public List<Playlist> parseAll() {
+        return load();
+    }
+
+    @Benchmark
+    public void contains(Blackhole blackhole) {
+        int probe = 0;
+        for (Playlist playlist : playlists) {
+            blackhole.consume(playlist.getFilmIds().contains(probes[probe++ & (probes.length - 1)]));
+        }
+    }
+
+    @Benchmark
+    public void addThenRemove(Blackhole blackhole) {
+        int probe = 0;
+        for (Playlist playlist : playlists) {
+            String filmId = probes[probe++ & (probes.length - 1)];
+            List<String> filmIds = playlist.getFilmIds();
+            filmIds.add(filmId);
+            blackhole.consume(filmIds.remove(filmIds.size() - 1));
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package controller;
 
 import model.Film;
+import util.FacetIndex;
 import util.FileManager;
-import java.util.ArrayList;
+import util.FilmBinaryCodec;
+import util.FilmRepository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,42 +25,20 @@ import org.slf4j.LoggerFactory;
 public class FilmController {
     private static final Logger logger = LoggerFactory.getLogger(FilmController.class);
 
+    private final FilmRepository repository;
+    private final List<Consumer<Film>> deleteListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Konstruktor FilmController.
-     * Data film dimuat dari file saat dibutuhkan (lazy loading).
+     * Data film dimuat sekali ke repository in-memory saat pertama kali dibutuhkan.
      */
     public FilmController() {
-        // Data loaded from file when needed
-    }
-
-    /**
-     * Memuat semua data film dari file storage.
-     *
-     * @return list semua film yang ada dalam sistem
-     */
-    private List<Film> loadFilms() {
-        List<Film> films = new ArrayList<>();
-        List<String> lines = FileManager.readLines(FileManager.FILMS_FILE);
-        for (String line : lines) {
-            Film film = Film.fromFileLine(line);
-            if (film != null) {
-                films.add(film);
-            }
-        }
-        return films;
-    }
-
-    /**
-     * Menyimpan semua data film ke file storage.
-     *
-     * @param films list film yang akan disimpan
-     */
-    private void saveFilms(List<Film> films) {
-        List<String> lines = new ArrayList<>();
-        for (Film film : films) {
-            lines.add(film.toFileLine());
+        String filmsFile = FileManager.getFilmsFile();
+        if (!filmsFile.equals(FileManager.FILMS_FILE) && !FileManager.fileExists(filmsFile)) {
+            // First start with the binary format selected: convert the existing text catalog once
+            FilmBinaryCodec.convert(FileManager.FILMS_FILE, filmsFile);
         }
-        FileManager.writeLines(FileManager.FILMS_FILE, lines);
+        this.repository = new FilmRepository(filmsFile);
     }
 
     /**
@@ -65,31 +49,39 @@ public class FilmController {
      */
     public void addFilm(Film film) {
         logger.info("Adding new film: {} ({})", film.getTitle(), film.getId());
-        List<Film> films = loadFilms();
-
-        // Check if film with same ID already exists
-        boolean exists = films.stream().anyMatch(f -> f.getId().equals(film.getId()));
-        if (!exists) {
-            films.add(film);
-            saveFilms(films);
+        // Repository rejects films whose ID already exists
+        if (repository.add(film)) {
             logger.info("Film added successfully: {}", film.getTitle());
         } else {
             logger.warn("Failed to add film. ID already exists: {}", film.getId());
         }
     }
 
+    /**
+     * Mendaftarkan listener yang dipanggil setelah film terakhir dengan suatu ID dihapus,
+     * misalnya untuk membersihkan ID film tersebut dari playlist.
+     *
+     * @param listener callback yang menerima film yang dihapus
+     */
+    public void addDeleteListener(Consumer<Film> listener) {
+        deleteListeners.add(listener);
+    }
+
     /**
      * Menghapus film pada index tertentu.
+     * Listener penghapusan dipanggil jika tidak ada lagi film lain dengan ID yang sama.
      *
      * @param index posisi film yang akan dihapus (0-based)
      */
     public void deleteFilm(int index) {
         logger.info("Deleting film at index: {}", index);
-        List<Film> films = loadFilms();
-        if (index >= 0 && index < films.size()) {
-            Film removedFilm = films.remove(index);
-            saveFilms(films);
+        Film removedFilm = repository.remove(index);
+        if (removedFilm != null) {
             logger.info("Film deleted successfully: {}", removedFilm.getTitle());
+            // Old data may hold duplicate IDs; references stay valid while one copy remains
+            if (repository.findById(removedFilm.getId()) == null) {
+                deleteListeners.forEach(listener -> listener.accept(removedFilm));
+            }
         } else {
             logger.warn("Failed to delete film. Invalid index: {}", index);
         }
@@ -102,11 +94,7 @@ public class FilmController {
      * @return objek Film jika ditemukan, null jika index tidak valid
      */
     public Film getFilm(int index) {
-        List<Film> films = loadFilms();
-        if (index >= 0 && index < films.size()) {
-            return films.get(index);
-        }
-        return null;
+        return repository.get(index);
     }
 
     /**
@@ -116,11 +104,18 @@ public class FilmController {
      * @return objek Film jika ditemukan, null jika tidak ada
      */
     public Film getFilmById(String id) {
-        List<Film> films = loadFilms();
-        return films.stream()
-                .filter(f -> f.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return repository.findById(id);
+    }
+
+    /**
+     * Mendapatkan banyak film sekaligus berdasarkan daftar ID.
+     * Dipakai untuk menghindari pemanggilan getFilmById berulang kali (N+1 lookup).
+     *
+     * @param ids kumpulan ID film yang dicari
+     * @return map ID ke Film; ID yang tidak ditemukan tidak ada di dalam map
+     */
+    public Map<String, Film> getFilmsByIds(Collection<String> ids) {
+        return repository.findByIds(ids);
     }
 
     /**
@@ -129,7 +124,34 @@ public class FilmController {
      * @return list semua film
      */
     public List<Film> getAllFilms() {
-        return loadFilms();
+        return repository.findAll();
+    }
+
+    /**
+     * Mendapatkan film yang visible untuk user biasa.
+     *
+     * @return list film visible
+     */
+    public List<Film> getVisibleFilms() {
+        return repository.findVisible();
+    }
+
+    /**
+     * Mendapatkan film yang disembunyikan dari user biasa, untuk tampilan admin.
+     *
+     * @return list film hidden
+     */
+    public List<Film> getHiddenFilms() {
+        return repository.findHidden();
+    }
+
+    /**
+     * Menghitung jumlah film yang visible untuk user biasa.
+     *
+     * @return jumlah film visible
+     */
+    public int getVisibleFilmCount() {
+        return repository.countVisible();
     }
 
     /**
@@ -139,14 +161,52 @@ public class FilmController {
      * @return list film yang judulnya mengandung keyword pencarian
      */
     public List<Film> searchByTitle(String title) {
-        List<Film> films = loadFilms();
-        List<Film> results = new ArrayList<>();
-        for (Film film : films) {
-            if (film.getTitle().toLowerCase().contains(title.toLowerCase())) {
-                results.add(film);
-            }
-        }
-        return results;
+        return repository.searchTitle(title);
+    }
+
+    /**
+     * Mencari film berdasarkan judul dengan toleransi salah ketik.
+     * Setiap kata yang dicari boleh berbeda hingga maxEdits huruf (tambah, hapus, atau ganti)
+     * dari salah satu kata di judul; kata pendek diperlakukan lebih ketat.
+     *
+     * @param title judul atau kata-kata judul yang dicari
+     * @param maxEdits batas edit distance per kata (0-2)
+     * @return list film yang cocok, yang paling mirip lebih dulu
+     */
+    public List<Film> searchByTitleFuzzy(String title, int maxEdits) {
+        return repository.searchTitleFuzzy(title, maxEdits);
+    }
+
+    /**
+     * Mendapatkan saran judul film untuk search-as-you-type.
+     * Film yang judulnya diawali teks yang diketik dikembalikan, film terbaru lebih dulu.
+     *
+     * @param prefix awal judul yang diketik user (case-insensitive)
+     * @param limit jumlah saran maksimum
+     * @return list film yang cocok, paling banyak sebanyak limit
+     */
+    public List<Film> autocomplete(String prefix, int limit) {
+        return repository.autocomplete(prefix, limit);
+    }
+
+    /**
+     * Memfilter film berdasarkan genre, rentang tahun, dan sutradara melalui index facet.
+     *
+     * @param query kondisi filter
+     * @return list film yang cocok
+     */
+    public List<Film> filterFilms(FacetIndex.Query query) {
+        return repository.findByFacets(query);
+    }
+
+    /**
+     * Menghitung jumlah film per nilai facet untuk ditampilkan di panel filter.
+     *
+     * @param query kondisi filter yang sedang aktif
+     * @return jumlah film per genre, tahun, dan sutradara
+     */
+    public FacetIndex.Counts getFacetCounts(FacetIndex.Query query) {
+        return repository.countFacets(query);
     }
 
     /**
@@ -155,6 +215,6 @@ public class FilmController {
      * @return jumlah total film
      */
     public int getFilmCount() {
-        return loadFilms().size();
+        return repository.count();
     }
 }
@@ -2,8 +2,12 @@ package controller;
 
 import model.Playlist;
 import util.FileManager;
+import util.PlaylistRepository;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -13,6 +17,11 @@ import org.slf4j.LoggerFactory;
  * Controller untuk mengelola operasi CRUD data Playlist.
  * Menangani pembacaan dan penulisan data playlist ke file storage.
  * Menyediakan method untuk manipulasi playlist seperti add, update, delete, dan query berdasarkan owner.
+ * Playlist dapat dipecah ke beberapa file shard berdasarkan hash email pemilik
+ * ({@code storage.playlists.shards}), sehingga perubahan playlist seorang user hanya menyentuh satu
+ * shard kecil dan shard-shard dimuat secara paralel. Jumlah shard dicatat di samping file shard, sehingga
+ * mengubah konfigurasi jumlah shard memindahkan playlist yang sudah ada ke shard barunya. Saat beralih dari
+ * satu file ke beberapa shard, isi playlists.txt lama disimpan sebagai cadangan di {@code playlists.txt.pre-shard}.
  *
  * @author lisvindanu
  * @version 2.0
@@ -20,42 +29,187 @@ import org.slf4j.LoggerFactory;
 public class PlaylistController {
     private static final Logger logger = LoggerFactory.getLogger(PlaylistController.class);
 
+    private static final String STAGED_SUFFIX = ".reshard-";
+    private static final String STAGED_GLOB = "playlists*.reshard*";
+    // Salinan playlists.txt dari sebelum playlist dipecah ke beberapa shard
+    static final String UNSHARDED_BACKUP_FILE = FileManager.PLAYLISTS_FILE + ".pre-shard";
+
+    private final PlaylistRepository[] shards;
+
     /**
      * Konstruktor PlaylistController.
      * Data playlist dimuat dari file saat dibutuhkan (lazy loading).
      */
     public PlaylistController() {
-        // Data loaded from file when needed
+        this(FileManager.getPlaylistShardCount());
+    }
+
+    /**
+     * Konstruktor PlaylistController dengan jumlah shard tertentu.
+     * Jumlah shard yang dipakai file di disk disimpan di {@link FileManager#PLAYLIST_SHARDS_FILE}; jika berbeda
+     * dengan jumlah yang diminta, playlist dipecah ulang ke susunan shard baru sebelum dipakai.
+     *
+     * @param shardCount jumlah shard, minimal 1
+     */
+    public PlaylistController(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        int storedCount = readStoredShardCount();
+        if (storedCount != shardCount) {
+            reshard(storedCount, shardCount);
+        } else {
+            finishReshard(shardCount);
+            if (shardCount > 1 && !FileManager.fileExists(FileManager.PLAYLIST_SHARDS_FILE)) {
+                writeStoredShardCount(shardCount);
+            }
+        }
+        this.shards = new PlaylistRepository[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            String filePath = FileManager.getPlaylistsFile(shard, shardCount);
+            FileManager.registerJournal(filePath, 2);
+            shards[shard] = new PlaylistRepository(filePath);
+        }
     }
 
     /**
-     * Memuat semua data playlist dari file storage.
+     * Membaca jumlah shard yang dipakai file playlist di disk.
+     * Data lama tanpa file penanda dianggap memakai semua file {@code playlists-<i>.txt} yang berurutan,
+     * atau satu file playlists.txt jika file shard belum ada.
      *
-     * @return list semua playlist yang ada dalam sistem
+     * @return jumlah shard di disk
      */
-    private List<Playlist> loadPlaylists() {
-        List<Playlist> playlists = new ArrayList<>();
-        List<String> lines = FileManager.readLines(FileManager.PLAYLISTS_FILE);
-        for (String line : lines) {
-            Playlist playlist = Playlist.fromFileLine(line);
-            if (playlist != null) {
-                playlists.add(playlist);
+    private static int readStoredShardCount() {
+        if (FileManager.fileExists(FileManager.PLAYLIST_SHARDS_FILE)) {
+            for (String line : FileManager.readLines(FileManager.PLAYLIST_SHARDS_FILE)) {
+                try {
+                    return Integer.parseInt(line.trim());
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring invalid playlist shard marker: {}", line);
+                }
             }
         }
-        return playlists;
+        int count = 0;
+        while (FileManager.fileExists(numberedShardFile(count))) {
+            count++;
+        }
+        return Math.max(1, count);
+    }
+
+    /**
+     * Memindahkan semua playlist dari susunan shard lama ke susunan shard baru.
+     * Shard baru ditulis dulu ke file sementara, lalu file penanda diganti sebagai titik commit; jika proses
+     * terhenti sebelum itu susunan lama tetap utuh, dan jika terhenti sesudahnya {@link #finishReshard(int)}
+     * menyelesaikannya saat aplikasi dibuka kembali.
+     *
+     * @param fromCount jumlah shard di disk
+     * @param toCount jumlah shard baru
+     */
+    private static void reshard(int fromCount, int toCount) {
+        List<List<String>> lines = new ArrayList<>();
+        for (int shard = 0; shard < toCount; shard++) {
+            lines.add(new ArrayList<>());
+        }
+        int moved = 0;
+        for (int shard = 0; shard < fromCount; shard++) {
+            String filePath = FileManager.getPlaylistsFile(shard, fromCount);
+            FileManager.registerJournal(filePath, 2);
+            for (String line : FileManager.readLines(filePath)) {
+                Playlist playlist = Playlist.fromFileLine(line);
+                if (playlist != null) {
+                    lines.get(shardOf(playlist.getOwnerEmail(), toCount)).add(line);
+                    moved++;
+                }
+            }
+        }
+        for (int shard = 0; shard < toCount; shard++) {
+            FileManager.writeLines(stagedFile(shard, toCount), lines.get(shard));
+        }
+        FileManager.flush();
+        writeStoredShardCount(toCount);
+        finishReshard(toCount);
+        logger.info("Moved {} playlists from {} to {} shards", moved, fromCount, toCount);
     }
 
     /**
-     * Menyimpan semua data playlist ke file storage.
+     * Memindahkan isi file sementara hasil {@link #reshard(int, int)} ke file shard dan menghapus
+     * file yang tidak lagi dipakai. Hanya file sementara untuk jumlah shard yang tercatat di file penanda yang
+     * dipakai; sisa pemecahan lain yang terhenti sebelum commit dibuang. Tidak melakukan apa pun jika tidak
+     * ada pemecahan yang tertunda.
      *
-     * @param playlists list playlist yang akan disimpan
+     * @param shardCount jumlah shard yang tercatat di file penanda
      */
-    private void savePlaylists(List<Playlist> playlists) {
-        List<String> lines = new ArrayList<>();
-        for (Playlist playlist : playlists) {
-            lines.add(playlist.toFileLine());
+    private static void finishReshard(int shardCount) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            String staged = stagedFile(shard, shardCount);
+            if (FileManager.fileExists(staged)) {
+                String filePath = FileManager.getPlaylistsFile(shard, shardCount);
+                FileManager.registerJournal(filePath, 2);
+                FileManager.writeLines(filePath, FileManager.readLines(staged));
+                FileManager.flush();
+                FileManager.deleteFile(staged);
+            }
+        }
+        for (String leftover : FileManager.listDataFiles(STAGED_GLOB)) {
+            logger.warn("Discarding uncommitted playlist reshard file: {}", leftover);
+            FileManager.deleteFile(leftover);
         }
-        FileManager.writeLines(FileManager.PLAYLISTS_FILE, lines);
+        if (shardCount == 1) {
+            for (int shard = 0; FileManager.fileExists(numberedShardFile(shard)); shard++) {
+                FileManager.deleteFile(numberedShardFile(shard));
+            }
+            return;
+        }
+        for (int shard = shardCount; FileManager.fileExists(numberedShardFile(shard)); shard++) {
+            FileManager.deleteFile(numberedShardFile(shard));
+        }
+        // playlists.txt is recreated empty on startup, so the pre-shard copy moves to a backup and is truncated
+        List<String> unsharded = FileManager.readLines(FileManager.PLAYLISTS_FILE);
+        if (!unsharded.isEmpty()) {
+            FileManager.writeLines(UNSHARDED_BACKUP_FILE, unsharded);
+            FileManager.flush();
+            FileManager.writeLines(FileManager.PLAYLISTS_FILE, new ArrayList<>());
+            FileManager.flush();
+            logger.info("Moved {} unsharded playlist lines to {}", unsharded.size(), UNSHARDED_BACKUP_FILE);
+        }
+    }
+
+    private static void writeStoredShardCount(int shardCount) {
+        FileManager.writeLines(FileManager.PLAYLIST_SHARDS_FILE, List.of(String.valueOf(shardCount)));
+        FileManager.flush();
+    }
+
+    /**
+     * Mendapatkan path file sementara satu shard. Jumlah shard tujuan ikut di nama file agar pemecahan yang
+     * terhenti tidak tertukar dengan pemecahan ke jumlah shard lain.
+     */
+    private static String stagedFile(int shard, int shardCount) {
+        return FileManager.getPlaylistsFile(shard, shardCount) + STAGED_SUFFIX + shardCount;
+    }
+
+    /**
+     * Mendapatkan path {@code playlists-<shard>.txt}, nama file shard untuk semua jumlah shard di atas satu.
+     */
+    private static String numberedShardFile(int shard) {
+        return FileManager.getPlaylistsFile(shard, 2);
+    }
+
+    /**
+     * Menentukan shard untuk email pemilik. String.hashCode stabil antar JVM sehingga
+     * playlist seorang user selalu berada di file yang sama.
+     */
+    private static int shardOf(String ownerEmail, int shardCount) {
+        return Math.floorMod(ownerEmail.hashCode(), shardCount);
+    }
+
+    /**
+     * Mendapatkan repository shard tempat playlist milik user tertentu disimpan.
+     *
+     * @param ownerEmail email pemilik playlist
+     * @return repository shard
+     */
+    private PlaylistRepository shardFor(String ownerEmail) {
+        return shards[shardOf(ownerEmail, shards.length)];
     }
 
     /**
@@ -65,9 +219,7 @@ public class PlaylistController {
      */
     public void addPlaylist(Playlist playlist) {
         logger.info("Adding new playlist: {} for user: {}", playlist.getName(), playlist.getOwnerEmail());
-        List<Playlist> playlists = loadPlaylists();
-        playlists.add(playlist);
-        savePlaylists(playlists);
+        shardFor(playlist.getOwnerEmail()).add(playlist);
         logger.info("Playlist added successfully: {}", playlist.getName());
     }
 
@@ -79,25 +231,54 @@ public class PlaylistController {
      */
     public void updatePlaylist(Playlist playlist) {
         logger.info("Updating playlist: {} for user: {}", playlist.getName(), playlist.getOwnerEmail());
-        List<Playlist> playlists = loadPlaylists();
-        List<Playlist> updated = new ArrayList<>();
-        boolean found = false;
-        for (Playlist p : playlists) {
-            if (p.getName().equals(playlist.getName()) && p.getOwnerEmail().equals(playlist.getOwnerEmail())) {
-                updated.add(playlist);
-                found = true;
-            } else {
-                updated.add(p);
-            }
-        }
-        savePlaylists(updated);
-        if (found) {
+        if (shardFor(playlist.getOwnerEmail()).update(playlist)) {
             logger.info("Playlist updated successfully: {}", playlist.getName());
         } else {
             logger.warn("Failed to update playlist. Not found: {}", playlist.getName());
         }
     }
 
+    /**
+     * Menambahkan satu film ke akhir playlist. Hanya delta kecil yang ditulis ke storage.
+     *
+     * @param playlistName nama playlist
+     * @param ownerEmail email pemilik playlist
+     * @param filmId ID film yang ditambahkan
+     * @return true jika film ditambahkan, false jika playlist tidak ada atau film sudah ada di playlist
+     */
+    public boolean addFilmToPlaylist(String playlistName, String ownerEmail, String filmId) {
+        boolean added = shardFor(ownerEmail).addFilmTo(playlistName, ownerEmail, filmId);
+        if (!added) {
+            logger.debug("Film {} not added to playlist {}: missing playlist or duplicate", filmId, playlistName);
+        }
+        return added;
+    }
+
+    /**
+     * Mengeluarkan satu film dari playlist. Hanya delta kecil yang ditulis ke storage.
+     *
+     * @param playlistName nama playlist
+     * @param ownerEmail email pemilik playlist
+     * @param filmId ID film yang dikeluarkan
+     * @return true jika film dikeluarkan, false jika playlist tidak ada atau tidak memuat film tersebut
+     */
+    public boolean removeFilmFromPlaylist(String playlistName, String ownerEmail, String filmId) {
+        return shardFor(ownerEmail).removeFilmFrom(playlistName, ownerEmail, filmId);
+    }
+
+    /**
+     * Memindahkan film di dalam playlist dari satu posisi ke posisi lain.
+     *
+     * @param playlistName nama playlist
+     * @param ownerEmail email pemilik playlist
+     * @param fromIndex posisi film saat ini (0-based)
+     * @param toIndex posisi tujuan (0-based)
+     * @return true jika berhasil, false jika playlist tidak ada atau posisi tidak valid
+     */
+    public boolean reorderPlaylist(String playlistName, String ownerEmail, int fromIndex, int toIndex) {
+        return shardFor(ownerEmail).reorder(playlistName, ownerEmail, fromIndex, toIndex);
+    }
+
     /**
      * Menghapus playlist berdasarkan nama dan owner email.
      *
@@ -106,10 +287,7 @@ public class PlaylistController {
      */
     public void deletePlaylist(String playlistName, String ownerEmail) {
         logger.info("Deleting playlist: {} for user: {}", playlistName, ownerEmail);
-        List<Playlist> playlists = loadPlaylists();
-        boolean removed = playlists.removeIf(p -> p.getName().equals(playlistName) && p.getOwnerEmail().equals(ownerEmail));
-        savePlaylists(playlists);
-        if (removed) {
+        if (shardFor(ownerEmail).delete(playlistName, ownerEmail)) {
             logger.info("Playlist deleted successfully: {}", playlistName);
         } else {
             logger.warn("Failed to delete playlist. Not found: {}", playlistName);
@@ -119,10 +297,13 @@ public class PlaylistController {
     /**
      * Mendapatkan semua playlist yang ada dalam sistem.
      *
-     * @return list semua playlist
+     * @return list semua playlist, dikelompokkan per shard
      */
     public List<Playlist> getAllPlaylists() {
-        return loadPlaylists();
+        // Ordered parallel stream: shards load concurrently but results keep shard order
+        return Arrays.stream(shards).parallel()
+                .flatMap(shard -> shard.findAll().stream())
+                .collect(Collectors.toList());
     }
 
     /**
@@ -132,17 +313,72 @@ public class PlaylistController {
      * @return list playlist milik user tersebut
      */
     public List<Playlist> getPlaylistsByOwner(String ownerEmail) {
-        return loadPlaylists().stream()
-                .filter(p -> p.getOwnerEmail().equals(ownerEmail))
+        return shardFor(ownerEmail).findByOwner(ownerEmail);
+    }
+
+    /**
+     * Mendapatkan semua playlist yang memuat film tertentu.
+     *
+     * @param filmId ID film
+     * @return list playlist yang memuat film tersebut
+     */
+    public List<Playlist> getPlaylistsContaining(String filmId) {
+        return Arrays.stream(shards).parallel()
+                .flatMap(shard -> shard.findContaining(filmId).stream())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Menghitung jumlah playlist yang memuat film tertentu, untuk kolom "Playlists" di tabel film.
+     *
+     * @param filmId ID film
+     * @return jumlah playlist yang memuat film tersebut
+     */
+    public int getPlaylistCountForFilm(String filmId) {
+        int count = 0;
+        for (PlaylistRepository shard : shards) {
+            count += shard.countContaining(filmId);
+        }
+        return count;
+    }
+
+    /**
+     * Mendapatkan film yang paling sering dimasukkan ke playlist.
+     *
+     * @param limit jumlah film maksimum
+     * @return map ID film ke jumlah playlist, dari yang terbanyak
+     */
+    public Map<String, Integer> getMostPopularFilms(int limit) {
+        if (shards.length == 1) {
+            return shards[0].findMostPopular(limit);
+        }
+        Map<String, Integer> totals = new HashMap<>();
+        for (Map<String, Integer> counts : Arrays.stream(shards).parallel()
+                .map(PlaylistRepository::countByFilm).collect(Collectors.toList())) {
+            counts.forEach((filmId, count) -> totals.merge(filmId, count, Integer::sum));
+        }
+        return PlaylistRepository.rankByCount(totals, limit);
+    }
+
+    /**
+     * Mengeluarkan film dari semua playlist, dipanggil setelah film dihapus dari sistem
+     * agar playlist tidak menyimpan ID film yang sudah tidak ada.
+     *
+     * @param filmId ID film yang dihapus
+     */
+    public void removeFilmFromAllPlaylists(String filmId) {
+        int updated = Arrays.stream(shards).parallel().mapToInt(shard -> shard.removeFilm(filmId)).sum();
+        if (updated > 0) {
+            logger.info("Removed film {} from {} playlists", filmId, updated);
+        }
+    }
+
     /**
      * Menghitung total jumlah playlist dalam sistem.
      *
      * @return jumlah total playlist
      */
     public int getPlaylistCount() {
-        return loadPlaylists().size();
+        return Arrays.stream(shards).parallel().mapToInt(PlaylistRepository::count).sum();
     }
 }
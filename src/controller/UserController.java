@@ -1,8 +1,7 @@
 package controller;
 
 import model.User;
-import util.FileManager;
-import java.util.ArrayList;
+import util.UserStore;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -10,7 +9,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Controller untuk mengelola operasi CRUD data User.
- * Menangani pembacaan dan penulisan data user ke file storage.
+ * Menangani pembacaan dan penulisan data user melalui {@link UserStore} yang menyimpan user di memori
+ * dengan index email dan username, serta menulis setiap perubahan langsung ke file.
  * Menyediakan method untuk manipulasi data user seperti add, update, delete, dan search.
  *
  * @author lisvindanu
@@ -18,43 +18,23 @@ import org.slf4j.LoggerFactory;
  */
 public class UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+    private final UserStore userStore;
 
     /**
      * Konstruktor UserController.
-     * Data user dimuat dari file saat dibutuhkan (lazy loading).
+     * Memakai store user bersama yang juga dipakai AuthService; data dimuat saat pertama kali dibutuhkan.
      */
     public UserController() {
-        // Data loaded from file when needed
+        this(UserStore.getDefault());
     }
 
     /**
-     * Memuat semua data user dari file storage.
+     * Konstruktor UserController dengan store tertentu.
      *
-     * @return list semua user yang ada dalam sistem
+     * @param userStore store data user
      */
-    private List<User> loadUsers() {
-        List<User> users = new ArrayList<>();
-        List<String> lines = FileManager.readLines(FileManager.USERS_FILE);
-        for (String line : lines) {
-            User user = User.fromFileLine(line);
-            if (user != null) {
-                users.add(user);
-            }
-        }
-        return users;
-    }
-
-    /**
-     * Menyimpan semua data user ke file storage.
-     *
-     * @param users list user yang akan disimpan
-     */
-    private void saveUsers(List<User> users) {
-        List<String> lines = new ArrayList<>();
-        for (User user : users) {
-            lines.add(user.toFileLine());
-        }
-        FileManager.writeLines(FileManager.USERS_FILE, lines);
+    public UserController(UserStore userStore) {
+        this.userStore = userStore;
     }
 
     /**
@@ -64,9 +44,7 @@ public class UserController {
      */
     public void addUser(User user) {
         logger.info("Adding new user: {}", user.getEmail());
-        List<User> users = loadUsers();
-        users.add(user);
-        saveUsers(users);
+        userStore.add(user);
         logger.info("User added successfully: {}", user.getEmail());
     }
 
@@ -78,10 +56,7 @@ public class UserController {
      */
     public void updateUser(int index, User user) {
         logger.info("Updating user at index: {}", index);
-        List<User> users = loadUsers();
-        if (index >= 0 && index < users.size()) {
-            users.set(index, user);
-            saveUsers(users);
+        if (userStore.set(index, user)) {
             logger.info("User updated successfully: {}", user.getEmail());
         } else {
             logger.warn("Failed to update user. Invalid index: {}", index);
@@ -95,10 +70,8 @@ public class UserController {
      */
     public void deleteUser(int index) {
         logger.info("Deleting user at index: {}", index);
-        List<User> users = loadUsers();
-        if (index >= 0 && index < users.size()) {
-            User removedUser = users.remove(index);
-            saveUsers(users);
+        User removedUser = userStore.remove(index);
+        if (removedUser != null) {
             logger.info("User deleted successfully: {}", removedUser.getEmail());
         } else {
             logger.warn("Failed to delete user. Invalid index: {}", index);
@@ -112,11 +85,7 @@ public class UserController {
      * @return objek User jika ditemukan, null jika index tidak valid
      */
     public User getUser(int index) {
-        List<User> users = loadUsers();
-        if (index >= 0 && index < users.size()) {
-            return users.get(index);
-        }
-        return null;
+        return userStore.get(index);
     }
 
     /**
@@ -125,63 +94,65 @@ public class UserController {
      * @return list semua user
      */
     public List<User> getAllUsers() {
-        return loadUsers();
+        return userStore.findAll();
+    }
+
+    /**
+     * Mencari user berdasarkan email melalui index email.
+     *
+     * @param email email user (case-sensitive)
+     * @return objek User jika ditemukan, null jika tidak ada
+     */
+    public User findByEmail(String email) {
+        return userStore.findByEmail(email);
     }
 
     /**
-     * Mencari user berdasarkan username (case-insensitive).
+     * Mengubah status premium user. Hanya satu record yang ditulis ke file.
+     *
+     * @param email email user
+     * @param premium status premium baru
+     * @return true jika user ditemukan dan diperbarui
+     */
+    public boolean setPremium(String email, boolean premium) {
+        logger.info("Setting premium status of {} to {}", email, premium);
+        return userStore.setPremium(email, premium);
+    }
+
+    /**
+     * Mencari user berdasarkan username (case-insensitive) melalui index username.
      *
      * @param username username yang dicari
      * @return objek User jika ditemukan, null jika tidak ada
      */
     public User findByUsername(String username) {
-        List<User> users = loadUsers();
-        for (User user : users) {
-            if (user.getUsername().equalsIgnoreCase(username)) {
-                return user;
-            }
-        }
-        return null;
+        return userStore.findByUsername(username);
     }
 
     /**
-     * Mendapatkan semua user dengan status premium.
+     * Mendapatkan semua user dengan status premium dari set premium yang dipelihara store.
      *
-     * @return list user premium
+     * @return list user premium sesuai urutan di file
      */
     public List<User> getPremiumUsers() {
-        List<User> users = loadUsers();
-        List<User> results = new ArrayList<>();
-        for (User user : users) {
-            if (user.isPremium()) {
-                results.add(user);
-            }
-        }
-        return results;
+        return userStore.findPremium();
     }
 
     /**
-     * Menghitung total jumlah user dalam sistem.
+     * Menghitung total jumlah user dalam sistem dalam O(1).
      *
      * @return jumlah total user
      */
     public int getUserCount() {
-        return loadUsers().size();
+        return userStore.count();
     }
 
     /**
-     * Menghitung jumlah user dengan status premium.
+     * Menghitung jumlah user dengan status premium dalam O(1).
      *
      * @return jumlah user premium
      */
     public int getPremiumUserCount() {
-        int count = 0;
-        List<User> users = loadUsers();
-        for (User user : users) {
-            if (user.isPremium()) {
-                count++;
-            }
-        }
-        return count;
+        return userStore.countPremium();
     }
 }
@@ -3,6 +3,7 @@ package main;
 import view.*;
 import controller.FilmController;
 import controller.PlaylistController;
+import controller.UserController;
 import util.AuthService;
 
 import javax.swing.*;
@@ -25,6 +26,7 @@ public class MainApp extends JFrame {
     // Shared controllers
     private FilmController filmController;
     private PlaylistController playlistController;
+    private UserController userController;
 
     // Panels
     private LoginPanel loginPanel;
@@ -46,6 +48,9 @@ public class MainApp extends JFrame {
         // Initialize controllers
         filmController = new FilmController();
         playlistController = new PlaylistController();
+        userController = new UserController();
+        // Deleting a film removes it from every playlist so no dangling IDs remain
+        filmController.addDeleteListener(film -> playlistController.removeFilmFromAllPlaylists(film.getId()));
 
         // Create CardLayout for switching panels
         cardLayout = new CardLayout();
@@ -84,7 +89,7 @@ public class MainApp extends JFrame {
         contentPanel.removeAll();
 
         // Admin gets: Admin Panel (Films + User Management)
-        adminPanel = new AdminPanel(filmController);
+        adminPanel = new AdminPanel(filmController, playlistController, userController);
         contentPanel.add(adminPanel, "admin");
 
         // Create menu bar
@@ -246,6 +251,9 @@ public class MainApp extends JFrame {
             logger.error("Failed to initialize application look and feel", e);
         }
 
+        // One user per desktop process: the EDT and worker threads share the last login
+        AuthService.setSingleUserMode(true);
+
         SwingUtilities.invokeLater(() -> {
             MainApp app = new MainApp();
             app.setVisible(true);
@@ -1,5 +1,7 @@
 package model;
 
+import util.FieldSplitter;
+
 /**
  * Kelas model yang merepresentasikan data film dalam sistem.
  * Menyimpan informasi film termasuk metadata dan status visibility.
@@ -197,16 +199,16 @@ public class Film {
      * @return objek Film baru, atau null jika format tidak valid
      */
     public static Film fromFileLine(String line) {
-        String[] parts = line.split("\\|");
-        if (parts.length >= 6) {
-            String id = parts[0];
-            String title = parts[1];
-            String director = parts[2];
-            String genre = parts[3];
-            int year = Integer.parseInt(parts[4]);
-            String synopsis = parts[5].replace("~", "|");
-            String posterPath = parts.length >= 7 ? parts[6] : "";
-            boolean isVisible = parts.length >= 8 ? Boolean.parseBoolean(parts[7]) : true;
+        FieldSplitter parts = FieldSplitter.split(line);
+        if (parts.count() >= 6) {
+            String id = parts.get(0);
+            String title = parts.get(1);
+            String director = parts.get(2);
+            String genre = parts.get(3);
+            int year = parts.getInt(4);
+            String synopsis = parts.get(5).replace("~", "|");
+            String posterPath = parts.count() >= 7 ? parts.get(6) : "";
+            boolean isVisible = parts.count() >= 8 ? parts.getBoolean(7) : true;
             return new Film(id, title, director, genre, year, synopsis, posterPath, isVisible);
         }
         return null;
@@ -1,6 +1,8 @@
 package model;
 
-import java.util.Arrays;
+import util.FieldSplitter;
+import util.FilmIdList;
+
 import java.util.List;
 
 /**
@@ -107,14 +109,26 @@ public class Playlist {
      * @return objek Playlist baru, atau null jika format tidak valid
      */
     public static Playlist fromFileLine(String line) {
-        String[] parts = line.split("\\|");
-        if (parts.length >= 3) {
-            String name = parts[0];
-            String ownerEmail = parts[1];
-            String visibility = parts[2];
-            List<String> filmIds = new java.util.ArrayList<>();
-            if (parts.length >= 4 && !parts[3].isEmpty()) {
-                filmIds = new java.util.ArrayList<>(Arrays.asList(parts[3].split(",")));
+        return fromFileLine(line, false);
+    }
+
+    /**
+     * Membuat objek Playlist dari string yang dibaca dari file, dengan pilihan representasi daftar ID film.
+     * Representasi ringkas ({@link FilmIdList}) menyimpan ID angka sebagai int tanpa objek String per ID.
+     *
+     * @param line string yang berisi data playlist
+     * @param compactFilmIds true untuk memakai {@link FilmIdList}, false untuk {@code ArrayList<String>}
+     * @return objek Playlist baru, atau null jika format tidak valid
+     */
+    public static Playlist fromFileLine(String line, boolean compactFilmIds) {
+        FieldSplitter parts = FieldSplitter.split(line);
+        if (parts.count() >= 3) {
+            String name = parts.get(0);
+            String ownerEmail = parts.get(1);
+            String visibility = parts.get(2);
+            List<String> filmIds = compactFilmIds ? new FilmIdList() : new java.util.ArrayList<>();
+            if (parts.count() >= 4 && !parts.isEmpty(3)) {
+                filmIds = compactFilmIds ? FilmIdList.parse(parts.get(3)) : parts.getList(3, ',');
             }
             return new Playlist(name, ownerEmail, visibility, filmIds);
         }
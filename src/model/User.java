@@ -1,5 +1,7 @@
 package model;
 
+import util.FieldSplitter;
+
 import java.util.List;
 
 /**
@@ -166,14 +168,14 @@ public class User {
      * @return objek User baru, atau null jika format tidak valid
      */
     public static User fromFileLine(String line) {
-        String[] parts = line.split("\\|");
-        if (parts.length >= 4) {
-            String email = parts[0];
-            String password = parts[1];
-            String username = parts[2];
-            String role = parts[3];
-            String gender = parts.length > 4 ? parts[4] : "";
-            boolean premium = parts.length > 5 && Boolean.parseBoolean(parts[5]);
+        FieldSplitter parts = FieldSplitter.split(line);
+        if (parts.count() >= 4) {
+            String email = parts.get(0);
+            String password = parts.get(1);
+            String username = parts.get(2);
+            String role = parts.get(3);
+            String gender = parts.count() > 4 ? parts.get(4) : "";
+            boolean premium = parts.count() > 5 && parts.getBoolean(5);
             return new User(email, password, username, role, gender, premium);
         }
         return null;
@@ -0,0 +1,133 @@
+package controller;
+
+import model.Playlist;
+import org.junit.jupiter.api.*;
+import util.FileManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian PlaylistController")
+public class PlaylistControllerTest {
+
+    private static final int OWNERS = 20;
+    private List<String> originalPlaylists;
+
+    @BeforeEach
+    void setup() {
+        // Backup original playlists and start from an unsharded, empty layout
+        originalPlaylists = FileManager.readLines(FileManager.PLAYLISTS_FILE);
+        FileManager.writeLines(FileManager.PLAYLISTS_FILE, new ArrayList<>());
+        deleteShardFiles();
+    }
+
+    @AfterEach
+    void teardown() {
+        deleteShardFiles();
+        FileManager.writeLines(FileManager.PLAYLISTS_FILE, originalPlaylists);
+    }
+
+    private static void deleteShardFiles() {
+        FileManager.deleteFile(FileManager.PLAYLIST_SHARDS_FILE);
+        FileManager.deleteFile(PlaylistController.UNSHARDED_BACKUP_FILE);
+        FileManager.listDataFiles("playlists*.reshard*").forEach(FileManager::deleteFile);
+        for (int shard = 0; shard < 16; shard++) {
+            FileManager.deleteFile(FileManager.getPlaylistsFile(shard, 16));
+        }
+    }
+
+    private static String ownerOf(int index) {
+        return "owner" + index + "@test.com";
+    }
+
+    @Nested
+    @DisplayName("Perubahan Jumlah Shard")
+    class ReshardTest {
+        @Test
+        @DisplayName("Playlist tetap ditemukan setelah jumlah shard diubah")
+        void testReopenWithDifferentShardCount() {
+            // WHY: Mengubah storage.playlists.shards tidak boleh membuat playlist user hilang dari UI
+            // Arrange
+            PlaylistController fourShards = new PlaylistController(4);
+            for (int i = 0; i < OWNERS; i++) {
+                fourShards.addPlaylist(new Playlist("Favorit", ownerOf(i), "Private", new ArrayList<>(Arrays.asList("1"))));
+            }
+
+            // Act
+            PlaylistController eightShards = new PlaylistController(8);
+
+            // Assert
+            assertEquals(OWNERS, eightShards.getPlaylistCount(), "Semua playlist pindah ke susunan delapan shard");
+            for (int i = 0; i < OWNERS; i++) {
+                assertEquals(1, eightShards.getPlaylistsByOwner(ownerOf(i)).size(), "Playlist " + ownerOf(i) + " ditemukan");
+            }
+            assertEquals("8", FileManager.readLines(FileManager.PLAYLIST_SHARDS_FILE).get(0), "Jumlah shard baru tercatat");
+        }
+
+        @Test
+        @DisplayName("Kembali ke satu file menghapus file shard lama")
+        void testReopenUnsharded() {
+            // WHY: File shard yang sudah tidak dipakai tidak boleh tertinggal dan dibaca sebagai data usang
+            // Arrange
+            PlaylistController fourShards = new PlaylistController(4);
+            for (int i = 0; i < OWNERS; i++) {
+                fourShards.addPlaylist(new Playlist("Favorit", ownerOf(i), "Private", new ArrayList<>(Arrays.asList("1"))));
+            }
+
+            // Act
+            PlaylistController single = new PlaylistController(1);
+
+            // Assert
+            assertEquals(OWNERS, single.getPlaylistCount(), "Semua playlist kembali ke playlists.txt");
+            assertEquals(OWNERS, FileManager.readLines(FileManager.PLAYLISTS_FILE).size(), "playlists.txt memuat semua playlist");
+            assertFalse(FileManager.fileExists(FileManager.getPlaylistsFile(0, 4)), "File shard lama dihapus");
+        }
+
+        @Test
+        @DisplayName("Pemecahan yang terhenti sebelum commit tidak dipakai setelah konfigurasi dikembalikan")
+        void testCrashBeforeCommitThenRevert() {
+            // WHY: File sementara pemecahan 4 ke 8 yang belum di-commit tidak boleh menimpa shard saat aplikasi kembali ke 4 shard
+            // Arrange
+            PlaylistController fourShards = new PlaylistController(4);
+            for (int i = 0; i < OWNERS; i++) {
+                fourShards.addPlaylist(new Playlist("Favorit", ownerOf(i), "Private", new ArrayList<>(Arrays.asList("1"))));
+            }
+            FileManager.flush();
+            // Simulate a 4 -> 8 reshard that crashed after staging only part of the playlists
+            for (int shard = 0; shard < 4; shard++) {
+                FileManager.writeLines(FileManager.getPlaylistsFile(shard, 8) + ".reshard-8", new ArrayList<>());
+            }
+
+            // Act
+            PlaylistController reopened = new PlaylistController(4);
+
+            // Assert
+            assertEquals(OWNERS, reopened.getPlaylistCount(), "Semua playlist tetap ada di susunan empat shard");
+            assertEquals("4", FileManager.readLines(FileManager.PLAYLIST_SHARDS_FILE).get(0), "Jumlah shard tetap empat");
+            assertTrue(FileManager.listDataFiles("playlists*.reshard*").isEmpty(), "File sementara yang tidak di-commit dibuang");
+        }
+
+        @Test
+        @DisplayName("Beralih dari satu file ke beberapa shard tidak meninggalkan playlists.txt usang")
+        void testUnshardedFileMovedToBackup() {
+            // WHY: playlists.txt lama yang tetap berisi data bisa terbaca sebagai susunan satu file jika penanda shard hilang
+            // Arrange
+            PlaylistController single = new PlaylistController(1);
+            for (int i = 0; i < OWNERS; i++) {
+                single.addPlaylist(new Playlist("Favorit", ownerOf(i), "Private", new ArrayList<>(Arrays.asList("1"))));
+            }
+
+            // Act
+            PlaylistController fourShards = new PlaylistController(4);
+
+            // Assert
+            assertEquals(OWNERS, fourShards.getPlaylistCount(), "Semua playlist pindah ke empat shard");
+            assertTrue(FileManager.readLines(FileManager.PLAYLISTS_FILE).isEmpty(), "playlists.txt dikosongkan");
+            assertEquals(OWNERS, FileManager.readLines(PlaylistController.UNSHARDED_BACKUP_FILE).size(),
+                    "Isi lama disimpan di playlists.txt.pre-shard");
+        }
+    }
+}
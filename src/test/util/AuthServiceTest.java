@@ -71,6 +71,37 @@ public class AuthServiceTest {
             assertNull(user, "User harus null");
             assertFalse(AuthService.isLoggedIn(), "Status harus tidakLoggedIn");
         }
+
+        @Test
+        @DisplayName("Login yang dibatasi laju dibedakan dari password salah")
+        void testLoginThrottled() {
+            // WHY: UI harus meminta user menunggu, bukan melaporkan password salah saat percobaan ditolak pembatas laju
+            // Arrange
+            String email = "throttled@test.com";
+            assertNull(AuthService.login(email, "wrongpass"), "Percobaan pertama hanya gagal biasa");
+
+            // Act & Assert
+            assertThrows(LoginThrottledException.class, () -> {
+                for (int attempt = 0; attempt < 100; attempt++) {
+                    AuthService.login(email, "wrongpass");
+                }
+            }, "Percobaan berulang akhirnya ditolak pembatas laju");
+            assertFalse(AuthService.isLoggedIn(), "Percobaan yang ditolak tidak membuat session");
+        }
+
+        @Test
+        @DisplayName("Password plaintext di-hash ulang setelah login berhasil")
+        void testRehashOnLogin() throws Exception {
+            // WHY: Password lama yang masih plaintext dimigrasi ke PBKDF2 tanpa meminta user mengganti password
+            // Act
+            User user = AuthService.loginAsync("admin@test.com", "admin").get();
+
+            // Assert
+            assertNotNull(user, "Login async dengan kredensial valid harus berhasil");
+            String stored = UserStore.getDefault().findByEmail("admin@test.com").getPassword();
+            assertTrue(stored.startsWith("pbkdf2$"), "Password tersimpan harus sudah berupa hash");
+            assertNotNull(AuthService.login("admin@test.com", "admin"), "Login berikutnya memverifikasi hash");
+        }
     }
 
     @Nested
@@ -170,6 +201,30 @@ public class AuthServiceTest {
             assertNotNull(current, "Current user tidak boleh null setelah login");
             assertEquals(TEST_USER_EMAIL, current.getEmail(), "Email current user harus sesuai");
         }
+
+        @Test
+        @DisplayName("Thread tanpa session hanya memakai login terakhir pada mode satu user")
+        void testUnboundThreadFallback() throws Exception {
+            // WHY: Pada deployment banyak user, thread tanpa session tidak boleh bertindak sebagai user yang terakhir login
+            // Act
+            AuthService.loginAsync(TEST_USER_EMAIL, TEST_USER_PASS).get();
+
+            // Assert
+            assertNull(AuthService.getCurrentUser(), "Thread yang tidak terikat tidak punya user");
+
+            // Arrange
+            AuthService.setSingleUserMode(true);
+            try {
+                // Act
+                AuthService.loginAsync("admin@test.com", "admin").get();
+
+                // Assert
+                assertEquals("admin@test.com", AuthService.getCurrentUser().getEmail(), "Aplikasi desktop memakai login terakhir");
+            } finally {
+                AuthService.logout();
+                AuthService.setSingleUserMode(false);
+            }
+        }
     }
 
     @Nested
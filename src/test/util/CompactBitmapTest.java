@@ -0,0 +1,122 @@
+package util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian CompactBitmap")
+public class CompactBitmapTest {
+
+    private static int[] toArray(BitSet bits) {
+        return bits.stream().toArray();
+    }
+
+    @Nested
+    @DisplayName("Penambahan dan Penghapusan")
+    class MutationTest {
+        @Test
+        @DisplayName("Isi bitmap sama dengan BitSet setelah operasi acak")
+        void testMatchesBitSet() {
+            // WHY: Chunk berganti antara array dan bitmap saat isinya melewati 4096; isi tidak boleh berubah
+            // Arrange
+            Random random = new Random(42);
+            CompactBitmap bitmap = new CompactBitmap();
+            BitSet expected = new BitSet();
+
+            // Act
+            for (int i = 0; i < 40000; i++) {
+                int value = random.nextInt(3 * 65536);
+                if (random.nextInt(4) == 0) {
+                    assertEquals(expected.get(value), bitmap.remove(value), "Hasil remove harus sesuai");
+                    expected.clear(value);
+                } else {
+                    assertEquals(!expected.get(value), bitmap.add(value), "Hasil add harus sesuai");
+                    expected.set(value);
+                }
+            }
+
+            // Assert
+            assertEquals(expected.cardinality(), bitmap.cardinality(), "Jumlah anggota harus sama");
+            assertArrayEquals(toArray(expected), bitmap.toArray(), "Isi bitmap harus sama");
+        }
+
+        @Test
+        @DisplayName("Menghapus semua anggota mengosongkan bitmap")
+        void testRemoveAll() {
+            // WHY: Chunk kosong dibuang agar iterasi tidak mengunjunginya lagi
+            // Arrange
+            CompactBitmap bitmap = new CompactBitmap();
+            bitmap.add(5);
+            bitmap.add(70000);
+
+            // Act
+            bitmap.remove(5);
+            bitmap.remove(70000);
+
+            // Assert
+            assertTrue(bitmap.isEmpty(), "Bitmap harus kosong");
+            assertEquals(-1, bitmap.nextSetBit(0), "Tidak ada anggota berikutnya");
+        }
+    }
+
+    @Nested
+    @DisplayName("Iterasi dan Operasi Himpunan")
+    class QueryTest {
+        @Test
+        @DisplayName("nextSetBit melompati rentang kosong")
+        void testNextSetBit() {
+            // WHY: Iterasi film visible tidak boleh tersangkut di rentang ordinal film hidden
+            // Arrange
+            CompactBitmap bitmap = new CompactBitmap();
+            bitmap.add(3);
+            bitmap.add(1_000_000);
+
+            // Act & Assert
+            assertEquals(3, bitmap.nextSetBit(0), "Anggota pertama");
+            assertEquals(1_000_000, bitmap.nextSetBit(4), "Rentang kosong dilewati");
+            assertEquals(-1, bitmap.nextSetBit(1_000_001), "Tidak ada anggota setelah yang terakhir");
+        }
+
+        @Test
+        @DisplayName("or dan and sesuai dengan BitSet")
+        void testOrAnd() {
+            // WHY: FacetIndex menggabungkan bitmap genre dan tahun dengan or/and
+            // Arrange
+            Random random = new Random(7);
+            CompactBitmap a = new CompactBitmap();
+            CompactBitmap b = new CompactBitmap();
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            for (int i = 0; i < 20000; i++) {
+                int value = random.nextInt(200000);
+                a.add(value);
+                expectedA.set(value);
+                value = random.nextInt(100000);
+                b.add(value);
+                expectedB.set(value);
+            }
+            CompactBitmap union = a.copy();
+            CompactBitmap intersection = a.copy();
+
+            // Act
+            union.or(b);
+            intersection.and(b);
+            expectedB.or(expectedA);
+            expectedA.and(toBitSet(b));
+
+            // Assert
+            assertArrayEquals(toArray(expectedB), union.toArray(), "Hasil or harus sama");
+            assertArrayEquals(toArray(expectedA), intersection.toArray(), "Hasil and harus sama");
+            assertEquals(expectedA.cardinality(), intersection.cardinality(), "Jumlah anggota hasil and harus sama");
+        }
+
+        private BitSet toBitSet(CompactBitmap bitmap) {
+            BitSet bits = new BitSet();
+            bitmap.forEach(bits::set);
+            return bits;
+        }
+    }
+}
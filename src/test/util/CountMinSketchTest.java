@@ -0,0 +1,60 @@
+package util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian CountMinSketch")
+public class CountMinSketchTest {
+
+    @Test
+    @DisplayName("Perkiraan tidak pernah kurang dari frekuensi sebenarnya")
+    void testNeverUnderestimates() {
+        // WHY: Pembatas login mengandalkan sketch; perkiraan terlalu kecil akan meloloskan brute-force
+        // Arrange
+        CountMinSketch sketch = new CountMinSketch(4, 8192);
+        Map<String, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 20000; i++) {
+            String key = "user" + random.nextInt(2000) + "@test.com";
+            expected.merge(key, 1, Integer::sum);
+            sketch.add(key);
+        }
+
+        // Assert
+        int exact = 0;
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            int estimate = sketch.estimate(entry.getKey());
+            assertTrue(estimate >= entry.getValue(), "Perkiraan tidak boleh lebih kecil untuk " + entry.getKey());
+            if (estimate == entry.getValue()) {
+                exact++;
+            }
+        }
+        assertTrue(exact > expected.size() / 2, "Sebagian besar perkiraan harus tepat pada ukuran ini");
+        assertEquals(0, new CountMinSketch(4, 1024).estimate("baru@test.com"), "Sketch kosong bernilai 0");
+    }
+
+    @Test
+    @DisplayName("Key dengan String.hashCode sama tidak berbagi counter")
+    void testHashCodeCollisionsIndependent() {
+        // WHY: Penyerang bisa dengan mudah membuat email dengan hashCode sama untuk menaikkan counter email lain
+        // Arrange: "Aa" dan "BB" punya hashCode yang sama, begitu juga gabungannya
+        CountMinSketch sketch = new CountMinSketch(4, 8192);
+        assertEquals("AaAaAa@test.com".hashCode(), "BBBBBB@test.com".hashCode(), "Prasyarat: hashCode sama");
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            sketch.add("AaAaAa@test.com");
+        }
+
+        // Assert
+        assertEquals(100, sketch.estimate("AaAaAa@test.com"), "Key yang ditambah dihitung tepat");
+        assertEquals(0, sketch.estimate("BBBBBB@test.com"), "Key lain dengan hashCode sama tidak ikut naik");
+    }
+}
@@ -0,0 +1,99 @@
+package util;
+
+import model.Film;
+import model.Playlist;
+import model.User;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian DataGenerator")
+public class DataGeneratorTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dir = Files.createTempDirectory("data-generator-test");
+        new DataGenerator(7).generate(dir, 50, 200, 100);
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Nested
+    @DisplayName("Format File")
+    class FormatTest {
+        @Test
+        @DisplayName("Password ditulis sebagai hash PBKDF2 yang bisa dibuat ulang")
+        void testPasswordsHashed() throws IOException {
+            // WHY: Login benchmark harus memverifikasi hash, bukan memigrasi password plaintext dan menulis ke dataset
+            // Arrange
+            Path again = Files.createTempDirectory("data-generator-test");
+            new DataGenerator(7).writeUsers(again.resolve("users.txt"), 50);
+            List<String> users = Files.readAllLines(dir.resolve("users.txt"), Charset.defaultCharset());
+            PasswordHasher hasher = new PasswordHasher(DataGenerator.DEFAULT_PASSWORD_ITERATIONS, 0);
+
+            // Act
+            User first = User.fromFileLine(users.get(0));
+
+            // Assert
+            assertTrue(hasher.verify(first.getEmail(), DataGenerator.passwordOf(0), first.getPassword()), "Hash cocok dengan password user");
+            assertFalse(hasher.needsRehash(first.getPassword()), "Iterasi yang sama tidak perlu di-hash ulang");
+            assertEquals(users, Files.readAllLines(again.resolve("users.txt"), Charset.defaultCharset()), "Seed yang sama menghasilkan file user yang sama");
+            Files.delete(again.resolve("users.txt"));
+            Files.delete(again);
+        }
+
+        @Test
+        @DisplayName("Setiap baris dapat dibaca kembali oleh model")
+        void testLinesParse() throws IOException {
+            // WHY: Dataset hanya berguna untuk pengukuran jika formatnya identik dengan data aplikasi
+            // Arrange
+            List<String> users = Files.readAllLines(dir.resolve("users.txt"), Charset.defaultCharset());
+            List<String> films = Files.readAllLines(dir.resolve("films.txt"), Charset.defaultCharset());
+            List<String> playlists = Files.readAllLines(dir.resolve("playlists.txt"), Charset.defaultCharset());
+
+            // Act & Assert
+            assertEquals(50, users.stream().map(User::fromFileLine).filter(u -> u != null).count(), "Semua user harus valid");
+            assertEquals(200, films.stream().map(Film::fromFileLine).filter(f -> f != null).count(), "Semua film harus valid");
+            assertEquals(100, playlists.stream().map(Playlist::fromFileLine).filter(p -> p != null).count(), "Semua playlist harus valid");
+        }
+
+        @Test
+        @DisplayName("Playlist hanya merujuk user dan film yang ada")
+        void testReferencesExist() throws IOException {
+            // WHY: Benchmark lookup playlist dan film bergantung pada referensi yang valid
+            // Arrange
+            Set<String> emails = new HashSet<>();
+            Files.readAllLines(dir.resolve("users.txt"), Charset.defaultCharset()).forEach(line -> emails.add(User.fromFileLine(line).getEmail()));
+            Set<String> filmIds = new HashSet<>();
+            Files.readAllLines(dir.resolve("films.txt"), Charset.defaultCharset()).forEach(line -> filmIds.add(Film.fromFileLine(line).getId()));
+
+            // Act
+            List<String> playlists = Files.readAllLines(dir.resolve("playlists.txt"), Charset.defaultCharset());
+
+            // Assert
+            for (String line : playlists) {
+                Playlist playlist = Playlist.fromFileLine(line);
+                assertTrue(emails.contains(playlist.getOwnerEmail()), "Pemilik playlist harus user yang ada");
+                assertTrue(filmIds.containsAll(playlist.getFilmIds()), "ID film di playlist harus film yang ada");
+                assertEquals(playlist.getFilmIds().size(), new HashSet<>(playlist.getFilmIds()).size(), "Tidak boleh ada ID duplikat");
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package util;
+
+import model.Film;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian FacetIndex")
+public class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new FacetIndex();
+        index.add(0, new Film("1", "Inception", "Christopher Nolan", "Sci-Fi", 2010, "s", ""));
+        index.add(1, new Film("2", "Interstellar", "Christopher Nolan", "Sci-Fi", 2014, "s", ""));
+        index.add(2, new Film("3", "Danur", "Awi Suryadi", "Horror", 2017, "s", ""));
+        index.add(3, new Film("4", "The Prestige", "Christopher Nolan", "Drama", 2006, "s", ""));
+        index.add(4, new Film("5", "Pengabdi Setan", "Joko Anwar", "Horror", 2017, "s", ""));
+    }
+
+    private static int[] bits(int... ordinals) {
+        return ordinals;
+    }
+
+    @Nested
+    @DisplayName("Kombinasi Facet")
+    class SearchTest {
+        @Test
+        @DisplayName("Facet berbeda digabung dengan AND, nilai dalam facet dengan OR")
+        void testAndAcrossFacets() {
+            // WHY: Filter "Horror atau Sci-Fi, tahun 2014-2017" adalah pola filter yang umum di UI
+            // Act
+            CompactBitmap result = index.search(new FacetIndex.Query().genres("Horror", "Sci-Fi").years(2014, 2017));
+
+            // Assert
+            assertArrayEquals(bits(1, 2, 4), result.toArray(), "Hanya film Horror/Sci-Fi dalam rentang tahun");
+        }
+
+        @Test
+        @DisplayName("matchAny menggabungkan facet dengan OR")
+        void testOrAcrossFacets() {
+            // WHY: Mode OR dipakai untuk menampilkan film yang cocok dengan salah satu kriteria
+            // Act
+            CompactBitmap result = index.search(new FacetIndex.Query().genres("Drama").directors("Joko Anwar").matchAny());
+
+            // Assert
+            assertArrayEquals(bits(3, 4), result.toArray(), "Film Drama atau film Joko Anwar");
+        }
+
+        @Test
+        @DisplayName("Query kosong mengembalikan semua film")
+        void testEmptyQuery() {
+            // WHY: Tanpa filter yang aktif, panel harus menampilkan seluruh katalog
+            // Act & Assert
+            assertEquals(5, index.search(new FacetIndex.Query()).cardinality(), "Semua film harus cocok");
+        }
+    }
+
+    @Nested
+    @DisplayName("Perhitungan dan Perubahan")
+    class CountTest {
+        @Test
+        @DisplayName("Jumlah per nilai facet hanya dari film yang cocok")
+        void testCounts() {
+            // WHY: Angka di samping pilihan filter harus mencerminkan hasil filter saat ini
+            // Act
+            FacetIndex.Counts counts = index.count(index.search(new FacetIndex.Query().directors("Christopher Nolan")));
+
+            // Assert
+            assertEquals(Integer.valueOf(2), counts.getGenres().get("Sci-Fi"), "Dua film Sci-Fi karya Nolan");
+            assertEquals(Integer.valueOf(1), counts.getGenres().get("Drama"), "Satu film Drama karya Nolan");
+            assertNull(counts.getGenres().get("Horror"), "Genre tanpa film cocok tidak muncul");
+        }
+
+        @Test
+        @DisplayName("Film yang dihapus hilang dari semua facet")
+        void testRemove() {
+            // WHY: Index dipelihara secara inkremental saat admin menghapus film
+            // Act
+            index.remove(1);
+
+            // Assert
+            assertArrayEquals(bits(0), index.search(new FacetIndex.Query().genres("Sci-Fi")).toArray(), "Interstellar tidak lagi cocok");
+            assertArrayEquals(bits(0, 3), index.search(new FacetIndex.Query().directors("Christopher Nolan")).toArray(), "Posting list sutradara ikut berkurang");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian FieldSplitter")
+public class FieldSplitterTest {
+
+    @Nested
+    @DisplayName("Kesesuaian dengan String.split")
+    class SplitSemanticsTest {
+        @ParameterizedTest
+        @ValueSource(strings = {"a|b|c", "a||c", "|a|b", "a|b||", "|", "||", "", "abc", "a|b|c|d|e|f|g|h|i|j|k|l|m|n|o|p|q|r"})
+        @DisplayName("Jumlah dan isi field sama dengan split")
+        void testMatchesSplit(String line) {
+            // WHY: Data lama ditulis dan dibaca dengan split, jadi tokenizer baru harus memberi hasil yang identik
+            // Arrange
+            String[] expected = line.split("\\|");
+
+            // Act
+            FieldSplitter fields = FieldSplitter.split(line);
+            List<String> actual = new ArrayList<>();
+            for (int i = 0; i < fields.count(); i++) {
+                actual.add(fields.get(i));
+            }
+
+            // Assert
+            assertEquals(Arrays.asList(expected), actual, "Hasil harus sama dengan split untuk: " + line);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"1,2,3", "1,,3", ",1", "1,2,,", ",", "1"})
+        @DisplayName("getList sama dengan split koma")
+        void testListMatchesSplit(String ids) {
+            // WHY: ID film di playlist dipecah dengan koma dan harus tetap konsisten dengan format lama
+            // Act
+            List<String> actual = FieldSplitter.split("Nama|" + ids + "|x").getList(1, ',');
+
+            // Assert
+            assertEquals(Arrays.asList(ids.split(",")), actual, "Hasil harus sama dengan split koma untuk: " + ids);
+        }
+    }
+
+    @Nested
+    @DisplayName("Konversi Nilai Field")
+    class ConversionTest {
+        @Test
+        @DisplayName("getInt dan getBoolean membaca field tanpa substring")
+        void testTypedFields() {
+            // WHY: Tahun film dan flag boolean dibaca di setiap load, jadi hasilnya harus sama dengan parse biasa
+            // Act
+            FieldSplitter fields = FieldSplitter.split("550|1999|TRUE|false");
+
+            // Assert
+            assertEquals(1999, fields.getInt(1), "Tahun harus terbaca sebagai angka");
+            assertTrue(fields.getBoolean(2), "Boolean tidak membedakan huruf besar/kecil");
+            assertFalse(fields.getBoolean(3), "Nilai false harus terbaca false");
+            assertThrows(NumberFormatException.class, () -> fields.getInt(2), "Field bukan angka harus ditolak");
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package util;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian FileManager")
+public class FileManagerTest {
+
+    private Path dataFile;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dataFile = Files.createTempFile("filemanager-test", ".txt");
+        FileManager.registerJournal(dataFile.toString(), 2);
+        FileManager.writeLines(dataFile.toString(), Arrays.asList(
+                "Favorit|a@test.com|Private|1,2",
+                "Favorit|b@test.com|Public|3",
+                "Horor|a@test.com|Private|"));
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        Files.deleteIfExists(dataFile);
+        Files.deleteIfExists(Path.of(dataFile + ".journal"));
+    }
+
+    @Nested
+    @DisplayName("Mode Journal")
+    class JournalTest {
+        @Test
+        @DisplayName("Put mengganti record dengan key yang sama tanpa mengubah urutan")
+        void testPutReplacesRecord() {
+            // WHY: Update satu record tidak boleh menggeser posisi record lain yang dipakai sebagai index di UI
+            // Act
+            FileManager.putRecord(dataFile.toString(), "Favorit|a@test.com|Public|1,2,5");
+
+            // Assert
+            List<String> lines = FileManager.readLines(dataFile.toString());
+            assertEquals(Arrays.asList(
+                    "Favorit|a@test.com|Public|1,2,5",
+                    "Favorit|b@test.com|Public|3",
+                    "Horor|a@test.com|Private|"), lines, "Record harus diganti di posisi semula");
+        }
+
+        @Test
+        @DisplayName("Delete dan append diputar ulang di atas snapshot")
+        void testDeleteAndAppendReplay() {
+            // WHY: Pembaca harus melihat hasil gabungan snapshot dan journal seolah file ditulis ulang
+            // Act
+            FileManager.deleteRecord(dataFile.toString(), "Favorit", "b@test.com");
+            FileManager.appendLine(dataFile.toString(), "Baru|c@test.com|Private|7");
+
+            // Assert
+            List<String> lines = FileManager.readLines(dataFile.toString());
+            assertEquals(Arrays.asList(
+                    "Favorit|a@test.com|Private|1,2",
+                    "Horor|a@test.com|Private|",
+                    "Baru|c@test.com|Private|7"), lines, "Record terhapus hilang dan record baru ada di akhir");
+        }
+
+        @Test
+        @DisplayName("Compaction melipat journal ke snapshot")
+        void testCompaction() throws IOException {
+            // WHY: Journal tidak boleh tumbuh tanpa batas; hasil compaction harus identik dengan hasil replay
+            // Arrange
+            FileManager.putRecord(dataFile.toString(), "Horor|a@test.com|Public|9");
+            List<String> beforeCompaction = FileManager.readLines(dataFile.toString());
+
+            // Act
+            FileManager.compact(dataFile.toString());
+
+            // Assert
+            assertFalse(Files.exists(Path.of(dataFile + ".journal")), "Journal harus kosong setelah compaction");
+            assertEquals(beforeCompaction, FileManager.readLines(dataFile.toString()), "Isi data tidak boleh berubah");
+        }
+
+        @Test
+        @DisplayName("Delta field daftar diterapkan sama oleh readLines, streamLines, dan scanRecords")
+        void testListDeltaReplay() {
+            // WHY: Menambah satu film ke playlist dicatat sebagai delta kecil; semua pembaca harus melihat hasil yang sama
+            // Act
+            FileManager.addToListField(dataFile.toString(), 3, "5", "Favorit", "a@test.com");
+            FileManager.removeFromListField(dataFile.toString(), 3, "1", "Favorit", "a@test.com");
+            FileManager.addToListField(dataFile.toString(), 3, "8", "Horor", "a@test.com");
+            FileManager.appendLine(dataFile.toString(), "Baru|c@test.com|Private|7");
+            FileManager.addToListField(dataFile.toString(), 3, "9", "Baru", "c@test.com");
+            FileManager.addToListField(dataFile.toString(), 3, "4", "Tidak Ada", "x@test.com");
+
+            // Assert
+            List<String> expected = Arrays.asList(
+                    "Favorit|a@test.com|Private|2,5",
+                    "Favorit|b@test.com|Public|3",
+                    "Horor|a@test.com|Private|8",
+                    "Baru|c@test.com|Private|7,9");
+            assertEquals(expected, FileManager.readLines(dataFile.toString()), "Delta diterapkan pada record yang dituju");
+            List<String> streamed;
+            try (Stream<String> lines = FileManager.streamLines(dataFile.toString())) {
+                streamed = lines.collect(Collectors.toList());
+            }
+            assertEquals(expected, streamed, "streamLines harus sama dengan readLines");
+            List<String> scanned = new ArrayList<>();
+            FileManager.scanRecords(dataFile.toString(), view -> scanned.add(view.line()));
+            assertEquals(expected, scanned, "scanRecords harus sama dengan readLines");
+            FileManager.compact(dataFile.toString());
+            assertEquals(expected, FileManager.readLines(dataFile.toString()), "Compaction menghasilkan isi yang sama");
+        }
+
+        @Test
+        @DisplayName("Record journal yang terpotong diabaikan")
+        void testTornRecordIgnored() throws IOException {
+            // WHY: Crash di tengah penulisan journal tidak boleh merusak data yang sudah tersimpan
+            // Arrange
+            FileManager.putRecord(dataFile.toString(), "Horor|a@test.com|Public|9");
+            Files.write(Path.of(dataFile + ".journal"), "D|Favorit|a@te".getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+
+            // Act
+            List<String> lines = FileManager.readLines(dataFile.toString());
+
+            // Assert
+            assertEquals(3, lines.size(), "Delete yang terpotong tidak boleh diterapkan");
+            assertEquals("Horor|a@test.com|Public|9", lines.get(2), "Record lengkap sebelumnya tetap diterapkan");
+        }
+    }
+
+    @Nested
+    @DisplayName("Penulisan Snapshot Atomic")
+    class AtomicWriteTest {
+        @Test
+        @DisplayName("writeLines tidak meninggalkan file sementara")
+        void testNoTempFileLeft() {
+            // WHY: File sementara hanya boleh ada selama penulisan; setelah move atomic harus hilang
+            // Act
+            FileManager.writeLines(dataFile.toString(), Arrays.asList("a|b|c"));
+
+            // Assert
+            assertFalse(Files.exists(Path.of(dataFile + ".tmp")), "File .tmp harus sudah dipindahkan");
+            assertEquals(Arrays.asList("a|b|c"), FileManager.readLines(dataFile.toString()), "Isi file harus baru");
+        }
+
+        @Test
+        @DisplayName("Journal milik snapshot lama tidak diputar ulang")
+        void testStaleJournalIgnored() throws IOException {
+            // WHY: Crash setelah snapshot baru terpasang tetapi sebelum journal dihapus tidak boleh mengembalikan data lama
+            // Arrange
+            Path journal = Path.of(dataFile + ".journal");
+            FileManager.deleteRecord(dataFile.toString(), "Horor", "a@test.com");
+            byte[] staleJournal = Files.readAllBytes(journal);
+            List<String> newSnapshot = Arrays.asList("Horor|a@test.com|Public|4");
+            FileManager.writeLines(dataFile.toString(), newSnapshot);
+
+            // Act
+            Files.write(journal, staleJournal);
+            List<String> lines = FileManager.readLines(dataFile.toString());
+
+            // Assert
+            assertEquals(newSnapshot, lines, "Delete dari journal lama tidak boleh diterapkan ke snapshot baru");
+        }
+    }
+
+    @Nested
+    @DisplayName("Pemindaian Record Memory-Mapped")
+    class ScanRecordsTest {
+        @Test
+        @DisplayName("scanRecords menghasilkan baris yang sama dengan readLines")
+        void testScanMatchesReadLines() {
+            // WHY: Pembaca mmap dengan overlay journal harus konsisten dengan hasil replay biasa
+            // Arrange
+            FileManager.putRecord(dataFile.toString(), "Favorit|b@test.com|Private|3,4");
+            FileManager.deleteRecord(dataFile.toString(), "Horor", "a@test.com");
+            FileManager.putRecord(dataFile.toString(), "Horor|a@test.com|Public|8");
+            FileManager.appendLine(dataFile.toString(), "Baru|c@test.com|Private|7");
+            List<String> scanned = new ArrayList<>();
+
+            // Act
+            FileManager.scanRecords(dataFile.toString(), view -> scanned.add(view.line()));
+
+            // Assert
+            assertEquals(FileManager.readLines(dataFile.toString()), scanned, "Hasil scan harus identik dengan readLines");
+        }
+
+        @Test
+        @DisplayName("RecordView hanya membaca field yang diminta")
+        void testRecordViewFields() {
+            // WHY: Filter berdasarkan satu field (misalnya email pemilik) tidak perlu men-decode seluruh baris
+            // Arrange
+            List<String> owners = new ArrayList<>();
+            List<Integer> counts = new ArrayList<>();
+
+            // Act
+            FileManager.scanRecords(dataFile.toString(), view -> {
+                if (view.fieldEquals(1, "a@test.com")) {
+                    owners.add(view.field(0));
+                    counts.add(view.fieldCount());
+                }
+            });
+
+            // Assert
+            assertEquals(Arrays.asList("Favorit", "Horor"), owners, "Hanya record milik a@test.com yang cocok");
+            assertEquals(Arrays.asList(4, 3), counts, "Field kosong di akhir tidak dihitung seperti String.split");
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming Record")
+    class StreamLinesTest {
+        @Test
+        @DisplayName("streamLines menghasilkan baris yang sama dengan readLines")
+        void testStreamMatchesReadLines() {
+            // WHY: Iterator streaming dipakai untuk hitung dan filter, jadi hasilnya harus sama dengan replay penuh
+            // Arrange
+            FileManager.putRecord(dataFile.toString(), "Favorit|a@test.com|Public|1,2,5");
+            FileManager.deleteRecord(dataFile.toString(), "Favorit", "b@test.com");
+            FileManager.appendLine(dataFile.toString(), "Baru|c@test.com|Private|7");
+
+            // Act
+            List<String> streamed;
+            try (Stream<String> lines = FileManager.streamLines(dataFile.toString())) {
+                streamed = lines.collect(Collectors.toList());
+            }
+
+            // Assert
+            assertEquals(FileManager.readLines(dataFile.toString()), streamed, "Hasil stream harus identik dengan readLines");
+        }
+
+        @Test
+        @DisplayName("streamLines pada file yang tidak ada menghasilkan stream kosong")
+        void testMissingFileIsEmpty() throws IOException {
+            // WHY: Sama seperti readLines, file yang belum dibuat diperlakukan sebagai data kosong
+            // Arrange
+            Files.deleteIfExists(dataFile);
+
+            // Act
+            long count;
+            try (Stream<String> lines = FileManager.streamLines(dataFile.toString())) {
+                count = lines.count();
+            }
+
+            // Assert
+            assertEquals(0, count, "File yang tidak ada tidak boleh menghasilkan record");
+        }
+    }
+}
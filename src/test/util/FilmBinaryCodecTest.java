@@ -0,0 +1,97 @@
+package util;
+
+import model.Film;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian FilmBinaryCodec")
+public class FilmBinaryCodecTest {
+
+    private final List<Film> films = Arrays.asList(
+            new Film("550", "Fight Club", "David Fincher", "Drama", 1999, "Rules | no rules", "/poster.jpg", true),
+            new Film("MANUAL-1", "Film Lokal", "Sutradara", "Horor", 2024, "Sinopsis ~ biasa", null, false));
+
+    @Nested
+    @DisplayName("Encode dan Decode")
+    class RoundTripTest {
+        @Test
+        @DisplayName("Decode mengembalikan film yang sama dengan yang di-encode")
+        void testRoundTrip() throws IOException {
+            // WHY: Format biner tidak memakai escape, jadi pipe dan tilde di sinopsis harus tetap utuh
+            // Arrange
+            byte[] data = FilmBinaryCodec.encode(films);
+            List<Film> decoded = new ArrayList<>();
+
+            // Act
+            int valid = FilmBinaryCodec.decode(data, decoded);
+
+            // Assert
+            assertEquals(data.length, valid, "Seluruh data harus valid");
+            assertEquals(2, decoded.size(), "Jumlah film harus sama");
+            assertEquals("Rules | no rules", decoded.get(0).getSynopsis(), "Pipe di sinopsis harus utuh");
+            assertEquals("Sinopsis ~ biasa", decoded.get(1).getSynopsis(), "Tilde di sinopsis harus utuh");
+            assertEquals(1999, decoded.get(0).getYear(), "Tahun harus sesuai");
+            assertEquals("", decoded.get(1).getPosterPath(), "Poster null disimpan sebagai String kosong");
+            assertFalse(decoded.get(1).isVisible(), "Status visibility harus sesuai");
+        }
+
+        @Test
+        @DisplayName("Record yang ditambahkan di akhir ikut terbaca")
+        void testAppendedRecord() throws IOException {
+            // WHY: Repository menambah film dengan append satu record tanpa menulis ulang file
+            // Arrange
+            byte[] head = FilmBinaryCodec.encode(films.subList(0, 1));
+            byte[] record = FilmBinaryCodec.encodeRecord(films.get(1));
+            byte[] data = Arrays.copyOf(head, head.length + record.length);
+            System.arraycopy(record, 0, data, head.length, record.length);
+            List<Film> decoded = new ArrayList<>();
+
+            // Act
+            FilmBinaryCodec.decode(data, decoded);
+
+            // Assert
+            assertEquals(Arrays.asList("550", "MANUAL-1"), Arrays.asList(decoded.get(0).getId(), decoded.get(1).getId()),
+                    "Record append harus terbaca setelah record lama");
+        }
+    }
+
+    @Nested
+    @DisplayName("Data Rusak")
+    class CorruptDataTest {
+        @Test
+        @DisplayName("Record terakhir yang terpotong diabaikan")
+        void testTruncatedRecord() throws IOException {
+            // WHY: Crash saat append tidak boleh membuat seluruh katalog gagal dibaca
+            // Arrange
+            byte[] data = FilmBinaryCodec.encode(films);
+            byte[] truncated = Arrays.copyOf(data, data.length - 3);
+            List<Film> decoded = new ArrayList<>();
+
+            // Act
+            int valid = FilmBinaryCodec.decode(truncated, decoded);
+
+            // Assert
+            assertEquals(1, decoded.size(), "Hanya record utuh yang dibaca");
+            assertTrue(valid < truncated.length, "Panjang valid harus menunjukkan ada data terpotong");
+        }
+
+        @Test
+        @DisplayName("Versi schema yang tidak dikenal ditolak")
+        void testUnknownVersion() {
+            // WHY: Pembaca lama tidak boleh salah menafsirkan file dari versi schema yang lebih baru
+            // Arrange
+            byte[] data = FilmBinaryCodec.encode(films);
+            data[4] = (byte) (FilmBinaryCodec.SCHEMA_VERSION + 1);
+
+            // Act & Assert
+            assertThrows(IOException.class, () -> FilmBinaryCodec.decode(data, new ArrayList<>()),
+                    "Versi schema baru harus ditolak");
+        }
+    }
+}
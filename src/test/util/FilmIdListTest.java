@@ -0,0 +1,89 @@
+package util;
+
+import model.Playlist;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian FilmIdList")
+public class FilmIdListTest {
+
+    @Nested
+    @DisplayName("Kontrak List<String>")
+    class ContractTest {
+        @Test
+        @DisplayName("Isi sama dengan ArrayList setelah operasi acak")
+        void testMatchesArrayList() {
+            // WHY: Representasi ringkas dipakai di balik getFilmIds sehingga perilakunya harus sama persis
+            // Arrange
+            Random random = new Random(42);
+            List<String> expected = new ArrayList<>();
+            FilmIdList actual = new FilmIdList();
+            String[] pool = {"550", "680", "0", "007", "MANUAL-1", "MANUAL-2", "2147483648", "155"};
+
+            // Act
+            for (int i = 0; i < 2000; i++) {
+                String filmId = pool[random.nextInt(pool.length)];
+                int op = random.nextInt(4);
+                if (op == 0 && !expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.remove(index), actual.remove(index), "Hasil remove(index) harus sama");
+                } else if (op == 1) {
+                    assertEquals(expected.remove(filmId), actual.remove(filmId), "Hasil remove(Object) harus sama");
+                } else if (op == 2) {
+                    int index = random.nextInt(expected.size() + 1);
+                    expected.add(index, filmId);
+                    actual.add(index, filmId);
+                } else {
+                    expected.add(filmId);
+                    actual.add(filmId);
+                }
+                assertEquals(expected.contains(filmId), actual.contains(filmId), "Hasil contains harus sama");
+            }
+
+            // Assert
+            assertEquals(expected, actual, "Isi dan urutan harus sama");
+            assertEquals(expected.hashCode(), actual.hashCode(), "hashCode harus sama dengan List biasa");
+        }
+
+        @Test
+        @DisplayName("ID yang bukan angka kanonik kembali persis sama")
+        void testNonNumericRoundTrip() {
+            // WHY: ID seperti "007" atau MANUAL-... tidak boleh berubah saat disimpan sebagai int
+            // Arrange
+            List<String> ids = Arrays.asList("007", "MANUAL-abc", "999999999", "1234567890");
+
+            // Act
+            FilmIdList list = new FilmIdList(ids);
+
+            // Assert
+            assertEquals(ids, list, "Semua ID harus kembali seperti aslinya");
+            assertEquals(-1, list.indexOf("7"), "\"7\" berbeda dengan \"007\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("Parsing Field")
+    class ParseTest {
+        @Test
+        @DisplayName("Hasil parse sama dengan FieldSplitter.getList")
+        void testParseMatchesSplitter() {
+            // WHY: Playlist yang dimuat dalam mode ringkas harus berisi ID yang sama dengan mode biasa
+            for (String line : Arrays.asList("P|a@test.com|Private|550,680,155", "P|a@test.com|Private|1,,MANUAL-x,",
+                    "P|a@test.com|Private|")) {
+                // Act
+                Playlist compact = Playlist.fromFileLine(line, true);
+                Playlist plain = Playlist.fromFileLine(line);
+
+                // Assert
+                assertEquals(plain.getFilmIds(), compact.getFilmIds(), "ID film harus sama untuk: " + line);
+                assertEquals(plain.toFileLine(), compact.toFileLine(), "Serialisasi harus sama untuk: " + line);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package util;
+
+import model.Film;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian FilmRepository")
+public class FilmRepositoryTest {
+
+    private Path dir;
+    private Path dataFile;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dir = Files.createTempDirectory("film-repository-test");
+        dataFile = dir.resolve("films.bin");
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Nested
+    @DisplayName("File Biner Rusak")
+    class CorruptBinaryTest {
+        @Test
+        @DisplayName("Menambah film tidak menimpa file biner yang gagal dibaca")
+        void testCorruptHeaderPreserved() throws IOException {
+            // WHY: Gagal decode bukan berarti katalog kosong; penulisan berikutnya tidak boleh menghapus seluruh katalog
+            // Arrange
+            List<Film> films = Arrays.asList(
+                    new Film("550", "Fight Club", "David Fincher", "Drama", 1999, "Sinopsis", "/poster.jpg", true),
+                    new Film("551", "Film Lain", "Sutradara", "Horor", 2024, "Sinopsis", "/poster.jpg", true));
+            byte[] original = FilmBinaryCodec.encode(films);
+            original[0] ^= 0x7F;
+            Files.write(dataFile, original);
+            FilmRepository repository = new FilmRepository(dataFile.toString());
+
+            // Act
+            repository.add(new Film("600", "Film Baru", "Sutradara", "Drama", 2025, "Sinopsis", "/poster.jpg", true));
+
+            // Assert
+            Path quarantined = dir.resolve("films.bin.corrupt");
+            assertArrayEquals(original, Files.readAllBytes(quarantined), "Isi file lama tetap utuh di disk");
+            assertEquals(1, new FilmRepository(dataFile.toString()).count(), "File baru hanya berisi film yang ditambahkan");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package util;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian FuzzyTitleIndex")
+public class FuzzyTitleIndexTest {
+
+    private final List<String> titles = Arrays.asList(
+            "Interstellar", "Inception", "The Dark Knight", "Dark City", "Pengabdi Setan", "Up");
+    private FuzzyTitleIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new FuzzyTitleIndex();
+        for (int i = 0; i < titles.size(); i++) {
+            index.add(i, titles.get(i));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pencarian dengan Salah Ketik")
+    class SearchTest {
+        @ParameterizedTest
+        @CsvSource({
+                "intersteller, 0",
+                "Incepton, 1",
+                "dark knihgt, 2",
+                "pengabdi setn, 4"
+        })
+        @DisplayName("Judul salah ketik tetap ditemukan")
+        void testTypos(String query, int expected) {
+            // WHY: User sering salah ketik judul; pencarian substring biasa tidak menemukan apa pun
+            // Act
+            int[] actual = index.search(query, 2);
+
+            // Assert
+            assertArrayEquals(new int[]{expected}, actual, "Judul yang dimaksud harus ditemukan untuk: " + query);
+        }
+
+        @Test
+        @DisplayName("Hasil yang lebih mirip diurutkan lebih dulu")
+        void testRanking() {
+            // WHY: "dark" cocok persis dengan kedua judul, tetapi "city" berjarak 1 edit dari "Kity"
+            // Arrange
+            index.add(6, "Dark Kity");
+
+            // Act
+            int[] actual = index.search("dark city", 2);
+
+            // Assert
+            assertArrayEquals(new int[]{3, 6}, actual, "Dark City (0 edit) sebelum Dark Kity (1 edit)");
+        }
+
+        @Test
+        @DisplayName("Kata pendek harus cocok persis dan batas edit dihormati")
+        void testEditLimits() {
+            // WHY: Tanpa batas, kata pendek seperti "up" akan cocok dengan hampir semua kata dua huruf
+            // Act & Assert
+            assertEquals(0, index.search("ap", 2).length, "Kata dua huruf tidak boleh fuzzy");
+            assertEquals(0, index.search("intersteller", 0).length, "maxEdits 0 berarti harus sama persis");
+            assertEquals(0, index.search("inxerstexler", 1).length, "Dua edit melebihi batas 1");
+        }
+    }
+
+    @Nested
+    @DisplayName("Perubahan Inkremental")
+    class IncrementalTest {
+        @Test
+        @DisplayName("Judul yang dihapus tidak muncul lagi")
+        void testRemove() {
+            // WHY: Film yang dihapus harus langsung hilang dari hasil pencarian fuzzy
+            // Act
+            index.remove(2);
+
+            // Assert
+            assertArrayEquals(new int[]{3}, index.search("darc", 2), "Hanya Dark City yang tersisa");
+        }
+    }
+
+    @Test
+    @DisplayName("Edit distance Levenshtein")
+    void testDistance() {
+        // WHY: Jarak dipakai untuk pruning BK-tree sehingga harus tepat
+        // Act & Assert
+        assertEquals(3, FuzzyTitleIndex.distance("kitten", "sitting"), "kitten -> sitting butuh 3 edit");
+        assertEquals(0, FuzzyTitleIndex.distance("dark", "dark"), "Kata yang sama berjarak 0");
+        assertEquals(4, FuzzyTitleIndex.distance("", "dark"), "Dari string kosong butuh 4 sisipan");
+    }
+
+    @Test
+    @DisplayName("Edit distance terbatas sama dengan jarak penuh dalam batas")
+    void testBoundedDistance() {
+        // WHY: Pita diagonal dan berhenti dini tidak boleh mengubah jarak yang masih dalam batas pruning
+        // Arrange
+        String[] words = {"", "a", "dark", "drak", "darkness", "knight", "night", "kitten", "sitting", "matrix", "metrics"};
+
+        // Act & Assert
+        for (String a : words) {
+            for (String b : words) {
+                int full = FuzzyTitleIndex.distance(a, b);
+                for (int limit = 0; limit <= 4; limit++) {
+                    int expected = full <= limit ? full : limit + 1;
+                    assertEquals(expected, FuzzyTitleIndex.distance(a, b, limit), a + " -> " + b + " dengan batas " + limit);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian LoginRateLimiter")
+public class LoginRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private final AtomicLong now = new AtomicLong(0);
+
+    @Nested
+    @DisplayName("Batas per Email")
+    class PerEmailTest {
+        @Test
+        @DisplayName("Email terdaftar dibatasi burst lalu terisi kembali seiring waktu")
+        void testBurstAndRefill() {
+            // WHY: Brute-force ke satu akun harus tertahan tanpa mengunci akun lain
+            // Arrange: 6 per menit (1 token per 10 detik), burst 3
+            LoginRateLimiter limiter = new LoginRateLimiter(1000, 1000, 6, 3, now::get);
+
+            // Act & Assert
+            for (int i = 0; i < 3; i++) {
+                assertTrue(limiter.tryAcquire("a@test.com", true), "Percobaan dalam burst diterima");
+            }
+            assertFalse(limiter.tryAcquire("a@test.com", true), "Percobaan setelah burst ditolak");
+            assertTrue(limiter.tryAcquire("b@test.com", true), "Email lain tidak terpengaruh");
+
+            now.addAndGet(10 * SECOND);
+            assertTrue(limiter.tryAcquire("a@test.com", true), "Satu token terisi setelah 10 detik");
+            assertFalse(limiter.tryAcquire("a@test.com", true), "Token berikutnya belum terisi");
+        }
+
+        @Test
+        @DisplayName("Email tak terdaftar dihitung dengan sketch per menit")
+        void testUnknownEmails() {
+            // WHY: Email acak tidak boleh membuat bucket baru, tetapi tetap dibatasi
+            // Arrange
+            LoginRateLimiter limiter = new LoginRateLimiter(1000, 1000, 6, 3, now::get);
+
+            // Act & Assert
+            for (int i = 0; i < 3; i++) {
+                assertTrue(limiter.tryAcquire("ghost@test.com", false), "Percobaan dalam batas diterima");
+            }
+            assertFalse(limiter.tryAcquire("ghost@test.com", false), "Percobaan keempat dalam semenit ditolak");
+
+            now.addAndGet(60 * SECOND);
+            assertTrue(limiter.tryAcquire("ghost@test.com", false), "Jendela baru dimulai setelah satu menit");
+            assertEquals(0L, limiter.getMetrics().get("trackedEmails"), "Email tak terdaftar tidak menyimpan bucket");
+        }
+    }
+
+    @Nested
+    @DisplayName("Batas Jumlah Bucket")
+    class BucketCapTest {
+        @Test
+        @DisplayName("Jumlah bucket tidak melewati batas dan bucket yang penuh kembali dibuang bertahap")
+        void testBucketCap() {
+            // WHY: Mencoba banyak email terdaftar tidak boleh menumbuhkan map atau memicu pemindaian seluruh bucket
+            // Arrange: 6 per menit, burst 2, maksimal 4 bucket
+            LoginRateLimiter limiter = new LoginRateLimiter(1000, 1000, 6, 2, 4, now::get);
+
+            // Act
+            for (int i = 0; i < 10; i++) {
+                limiter.tryAcquire("user" + i + "@test.com", true);
+            }
+
+            // Assert
+            assertEquals(4L, limiter.getMetrics().get("trackedEmails"), "Bucket tidak melewati batas");
+            assertTrue(limiter.tryAcquire("user9@test.com", true), "Email tanpa bucket dihitung di sketch");
+            assertFalse(limiter.tryAcquire("user9@test.com", true), "Email tanpa bucket tetap dibatasi");
+
+            // Act
+            now.addAndGet(60 * SECOND);
+            boolean fresh = limiter.tryAcquire("new@test.com", true);
+
+            // Assert
+            assertTrue(fresh, "Percobaan email baru diterima");
+            assertEquals(1L, limiter.getMetrics().get("trackedEmails"), "Bucket yang penuh kembali dibuang dan diganti bucket baru");
+        }
+    }
+
+    @Nested
+    @DisplayName("Batas Global dan Metrik")
+    class GlobalTest {
+        @Test
+        @DisplayName("Batas global berlaku untuk semua email dan penolakan tercatat di metrik")
+        void testGlobalLimitAndMetrics() {
+            // WHY: Serangan tersebar ke banyak email tetap dibatasi oleh bucket global
+            // Arrange: global 2 per detik, burst 2
+            LoginRateLimiter limiter = new LoginRateLimiter(2, 2, 60, 10, now::get);
+
+            // Act
+            boolean first = limiter.tryAcquire("a@test.com", true);
+            boolean second = limiter.tryAcquire("b@test.com", true);
+            boolean third = limiter.tryAcquire("c@test.com", true);
+            Map<String, Long> metrics = limiter.getMetrics();
+
+            // Assert
+            assertTrue(first && second, "Dua percobaan pertama diterima");
+            assertFalse(third, "Percobaan ketiga dalam detik yang sama ditolak");
+            assertEquals(2L, metrics.get("allowed"), "Dua percobaan diterima");
+            assertEquals(1L, metrics.get("rejected.global"), "Satu penolakan global");
+            assertEquals(0L, metrics.get("rejected.email"), "Tidak ada penolakan per email");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package util;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian PasswordHasher")
+public class PasswordHasherTest {
+
+    // Iterasi kecil agar pengujian cepat; format dan logika verifikasinya sama
+    private final PasswordHasher hasher = new PasswordHasher(1000, 60_000);
+
+    @Nested
+    @DisplayName("Hash dan Verifikasi")
+    class VerifyTest {
+        @Test
+        @DisplayName("Hash memakai format pbkdf2 dengan salt acak")
+        void testHashFormat() {
+            // WHY: Format tersimpan harus memuat iterasi dan salt agar bisa diverifikasi setelah konfigurasi berubah
+            // Act
+            String first = hasher.hash("Rahasia123");
+            String second = hasher.hash("Rahasia123");
+
+            // Assert
+            assertTrue(first.startsWith("pbkdf2$1000$"), "Prefix dan iterasi harus tercatat");
+            assertEquals(4, first.split("\\$").length, "Format pbkdf2$iterasi$salt$hash");
+            assertNotEquals(first, second, "Salt acak membuat hash berbeda untuk password yang sama");
+            assertTrue(hasher.verify("a@test.com", "Rahasia123", first), "Password benar harus cocok");
+            assertFalse(hasher.verify("b@test.com", "rahasia123", first), "Password salah harus ditolak");
+        }
+
+        @Test
+        @DisplayName("Password plaintext lama tetap bisa diverifikasi dan ditandai untuk di-hash ulang")
+        void testLegacyPlaintext() {
+            // WHY: File user lama berisi password plaintext yang dimigrasi saat login berhasil
+            // Act & Assert
+            assertTrue(hasher.verify("a@test.com", "password", "password"), "Plaintext lama harus cocok");
+            assertFalse(hasher.verify("a@test.com", "salah", "password"), "Plaintext salah harus ditolak");
+            assertTrue(hasher.needsRehash("password"), "Plaintext harus di-hash ulang");
+            assertTrue(hasher.needsRehash(new PasswordHasher(500, 0).hash("x")), "Iterasi lebih kecil harus di-hash ulang");
+            assertFalse(hasher.needsRehash(hasher.hash("x")), "Hash dengan iterasi terkini tidak perlu di-hash ulang");
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache Verifikasi")
+    class CacheTest {
+        @Test
+        @DisplayName("Cache tidak menerima password lain atau hash tersimpan lain")
+        void testCacheIsKeyedByCredential() {
+            // WHY: Cache hanya boleh mempercepat validasi ulang kredensial yang sama, bukan melewati verifikasi
+            // Arrange
+            String stored = hasher.hash("Rahasia123");
+            String other = hasher.hash("Lainnya456");
+            assertTrue(hasher.verify("a@test.com", "Rahasia123", stored), "Verifikasi pertama mengisi cache");
+
+            // Act & Assert
+            assertTrue(hasher.verify("a@test.com", "Rahasia123", stored), "Validasi ulang memakai cache");
+            assertFalse(hasher.verify("a@test.com", "Salah999", stored), "Password lain tetap ditolak");
+            assertFalse(hasher.verify("a@test.com", "Rahasia123", other), "Hash tersimpan yang berubah tidak memakai cache");
+        }
+
+        @Test
+        @DisplayName("Nilai tersimpan yang rusak ditolak")
+        void testMalformed() {
+            // WHY: Baris user yang korup tidak boleh membuat login melempar exception
+            // Act & Assert
+            assertFalse(hasher.verify("a@test.com", "x", "pbkdf2$abc$!!$??"), "Format rusak harus ditolak");
+            assertFalse(hasher.verify("a@test.com", "x", "pbkdf2$1000$only"), "Bagian yang kurang harus ditolak");
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package util;
+
+import model.Playlist;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian PlaylistRepository")
+public class PlaylistRepositoryTest {
+
+    private Path dataFile;
+    private PlaylistRepository repository;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dataFile = Files.createTempFile("playlist-repository-test", ".txt");
+        FileManager.registerJournal(dataFile.toString(), 2);
+        FileManager.writeLines(dataFile.toString(), Arrays.asList(
+                "Favorit|a@test.com|Private|1,2",
+                "Favorit|b@test.com|Public|2,3",
+                "Horor|a@test.com|Private|2"));
+        repository = new PlaylistRepository(dataFile.toString());
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        Files.deleteIfExists(dataFile);
+        Files.deleteIfExists(Path.of(dataFile + ".journal"));
+    }
+
+    @Nested
+    @DisplayName("Index Film ke Playlist")
+    class ReverseIndexTest {
+        @Test
+        @DisplayName("Jumlah playlist per film sesuai isi file")
+        void testCountContaining() {
+            // WHY: Kolom "Playlists" di tabel film dibaca dari index, bukan dari pemindaian file
+            // Act & Assert
+            assertEquals(3, repository.countContaining("2"), "Film 2 ada di tiga playlist");
+            assertEquals(1, repository.countContaining("3"), "Film 3 ada di satu playlist");
+            assertEquals(0, repository.countContaining("99"), "Film yang tidak dipakai bernilai 0");
+        }
+
+        @Test
+        @DisplayName("Index ikut berubah saat playlist diperbarui dan dihapus")
+        void testIndexMaintained() {
+            // WHY: Index dipelihara secara inkremental pada setiap operasi tulis
+            // Act
+            repository.update(new Playlist("Favorit", "a@test.com", "Private", new ArrayList<>(Arrays.asList("1", "4"))));
+            repository.delete("Horor", "a@test.com");
+
+            // Assert
+            assertEquals(1, repository.countContaining("2"), "Film 2 hanya tersisa di playlist b@test.com");
+            assertEquals(1, repository.countContaining("4"), "Film 4 baru masuk index");
+        }
+
+        @Test
+        @DisplayName("Perubahan objek hasil query tidak merusak index")
+        void testReturnsCopies() {
+            // WHY: UI mengubah list film playlist sebelum memanggil update
+            // Act
+            repository.findByOwner("a@test.com").get(0).getFilmIds().clear();
+
+            // Assert
+            assertEquals(3, repository.countContaining("2"), "Index tidak berubah tanpa update");
+        }
+    }
+
+    @Nested
+    @DisplayName("Index Pemilik")
+    class OwnerIndexTest {
+        @Test
+        @DisplayName("Playlist user diambil sesuai urutan file dan tetap di posisinya setelah update")
+        void testFindByOwner() {
+            // WHY: Tabel My Playlist memakai urutan baris, jadi update tidak boleh memindahkan playlist ke akhir
+            // Act
+            repository.update(new Playlist("Favorit", "a@test.com", "Public", new ArrayList<>(Arrays.asList("7"))));
+            List<Playlist> owned = repository.findByOwner("a@test.com");
+
+            // Assert
+            assertEquals(2, owned.size(), "User a@test.com punya dua playlist");
+            assertEquals("Favorit", owned.get(0).getName(), "Playlist yang diupdate tetap di urutan pertama");
+            assertEquals("Public", owned.get(0).getVisibility(), "Isi playlist sudah diperbarui");
+            assertEquals("Horor", owned.get(1).getName(), "Urutan playlist lain tidak berubah");
+        }
+
+        @Test
+        @DisplayName("Playlist yang dihapus hilang dari index pemilik")
+        void testDeleteFromOwnerIndex() {
+            // WHY: Index pemilik dipelihara write-through, tanpa memuat ulang file
+            // Act
+            repository.delete("Favorit", "b@test.com");
+
+            // Assert
+            assertTrue(repository.findByOwner("b@test.com").isEmpty(), "User b@test.com tidak punya playlist lagi");
+            assertEquals(2, repository.count(), "Dua playlist tersisa");
+        }
+    }
+
+    @Nested
+    @DisplayName("Perubahan Film per Playlist")
+    class MutationTest {
+        @Test
+        @DisplayName("Film ditambahkan sekali dan duplikat ditolak")
+        void testAddFilmTo() {
+            // WHY: Menambah film ke playlist tidak boleh membuat ID film ganda
+            // Act
+            boolean added = repository.addFilmTo("Favorit", "a@test.com", "5");
+            boolean duplicate = repository.addFilmTo("Favorit", "a@test.com", "2");
+
+            // Assert
+            assertTrue(added, "Film baru harus ditambahkan");
+            assertFalse(duplicate, "Film yang sudah ada harus ditolak");
+            assertEquals(Arrays.asList("1", "2", "5"), repository.findByOwner("a@test.com").get(0).getFilmIds(), "Film baru di akhir playlist");
+            assertEquals(1, repository.countContaining("5"), "Index terbalik ikut diperbarui");
+        }
+
+        @Test
+        @DisplayName("Hapus dan urut ulang film tersimpan ke file")
+        void testRemoveAndReorderPersisted() {
+            // WHY: Perubahan kecil harus tetap terbaca setelah data dimuat ulang dari file
+            // Act
+            repository.addFilmTo("Favorit", "b@test.com", "4");
+            repository.removeFilmFrom("Favorit", "b@test.com", "2");
+            repository.reorder("Favorit", "b@test.com", 1, 0);
+            PlaylistRepository reloaded = new PlaylistRepository(dataFile.toString());
+
+            // Assert
+            assertEquals(Arrays.asList("4", "3"), reloaded.findByOwner("b@test.com").get(0).getFilmIds(), "Urutan akhir harus tersimpan");
+            assertFalse(repository.removeFilmFrom("Favorit", "b@test.com", "2"), "Film yang tidak ada tidak bisa dihapus lagi");
+            assertFalse(repository.reorder("Favorit", "b@test.com", 0, 5), "Posisi di luar batas ditolak");
+        }
+    }
+
+    @Nested
+    @DisplayName("Pembersihan dan Popularitas")
+    class CascadeTest {
+        @Test
+        @DisplayName("Film yang dihapus dikeluarkan dari semua playlist dan file")
+        void testRemoveFilm() {
+            // WHY: Menghapus film tidak boleh meninggalkan ID yang menggantung di playlist
+            // Act
+            int updated = repository.removeFilm("2");
+
+            // Assert
+            assertEquals(3, updated, "Tiga playlist berubah");
+            assertEquals(0, repository.countContaining("2"), "Film 2 tidak ada lagi di index");
+            List<String> lines = FileManager.readLines(dataFile.toString());
+            assertEquals(Arrays.asList(
+                    "Favorit|a@test.com|Private|1",
+                    "Favorit|b@test.com|Public|3",
+                    "Horor|a@test.com|Private|"), lines, "File ikut diperbarui");
+        }
+
+        @Test
+        @DisplayName("Film terpopuler diurutkan berdasarkan jumlah playlist")
+        void testMostPopular() {
+            // WHY: Peringkat dihitung dari index dengan heap berukuran limit
+            // Act
+            Map<String, Integer> popular = repository.findMostPopular(2);
+
+            // Assert
+            assertEquals(Arrays.asList("2", "1"), new ArrayList<>(popular.keySet()), "Film 2 lalu film 1 (seri diurutkan ID)");
+            assertEquals(Integer.valueOf(3), popular.get("2"), "Film 2 ada di tiga playlist");
+        }
+    }
+}
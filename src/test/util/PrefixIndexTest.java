@@ -0,0 +1,95 @@
+package util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian PrefixIndex")
+public class PrefixIndexTest {
+
+    private final List<String> titles = Arrays.asList(
+            "The Dark Knight", "The Matrix", "Dark City", "The Dark Knight Rises", "Darkest Hour", "Up");
+    private final int[] years = {2008, 1999, 1998, 2012, 2017, 2009};
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new PrefixIndex();
+        for (int i = 0; i < titles.size(); i++) {
+            index.add(i, titles.get(i), years[i]);
+        }
+    }
+
+    @Nested
+    @DisplayName("Autocomplete Top-k")
+    class CompleteTest {
+        @Test
+        @DisplayName("Hasil diurutkan berdasarkan skor tertinggi")
+        void testRankedByScore() {
+            // WHY: Saran yang paling relevan (film terbaru) harus muncul paling atas
+            // Act
+            int[] results = index.complete("the dark", 10);
+
+            // Assert
+            assertArrayEquals(new int[]{3, 0}, results, "The Dark Knight Rises (2012) sebelum The Dark Knight (2008)");
+        }
+
+        @Test
+        @DisplayName("Jumlah hasil dibatasi dan tidak membedakan huruf besar/kecil")
+        void testLimitAndCase() {
+            // WHY: UI hanya menampilkan beberapa saran teratas saat user mengetik
+            // Act
+            int[] results = index.complete("DARK", 1);
+
+            // Assert
+            assertArrayEquals(new int[]{4}, results, "Hanya Darkest Hour (skor tertinggi) yang dikembalikan");
+        }
+    }
+
+    @Nested
+    @DisplayName("Perubahan Inkremental")
+    class IncrementalTest {
+        @Test
+        @DisplayName("Penambahan dan penghapusan setelah build langsung terlihat")
+        void testAddAndRemoveAfterBuild() {
+            // WHY: Film baru dan film yang dihapus admin harus langsung tercermin di saran
+            // Arrange
+            for (int i = 0; i < 2000; i++) {
+                index.add(100 + i, "Filler " + i, 0);
+            }
+            index.complete("filler", 1); // memicu build array terurut
+
+            // Act
+            index.add(5000, "The Darkness", 2020);
+            index.remove(3);
+
+            // Assert
+            assertArrayEquals(new int[]{5000, 0}, index.complete("the dark", 10), "Film baru masuk, film terhapus hilang");
+        }
+
+        @Test
+        @DisplayName("Penambahan bertahap melewati beberapa merge tetap terurut")
+        void testManyAdditionsAcrossMerges() {
+            // WHY: Buffer penambahan digabung berkali-kali saat admin terus menambah film; urutan hasil tidak boleh rusak
+            // Arrange
+            index.complete("the", 1);
+            for (int i = 0; i < 1000; i++) {
+                index.add(100 + i, "Sequel " + i, i);
+                if (i % 100 == 0) {
+                    index.complete("sequel", 1);
+                }
+            }
+            index.remove(100 + 999);
+
+            // Act
+            int[] results = index.complete("sequel", 3);
+
+            // Assert
+            assertArrayEquals(new int[]{100 + 998, 100 + 997, 100 + 996}, results, "Skor tertinggi dari semua merge, tanpa yang terhapus");
+            assertArrayEquals(new int[]{3, 0}, index.complete("the dark", 10), "Teks lama tetap ditemukan setelah merge");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package util;
+
+import model.User;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian SessionManager")
+public class SessionManagerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private SessionManager sessions;
+
+    @BeforeEach
+    void setup() {
+        // Idle 10 detik dengan resolusi 1 detik; waktu dikendalikan manual
+        sessions = new SessionManager(10_000, 1_000, now::get);
+    }
+
+    @Nested
+    @DisplayName("Banyak Session")
+    class MultiSessionTest {
+        @Test
+        @DisplayName("Setiap token mengarah ke user-nya sendiri")
+        void testIndependentSessions() {
+            // WHY: Deployment kiosk/server melayani beberapa user sekaligus dalam satu JVM
+            // Arrange
+            String alice = sessions.create(new User("a@test.com", "pa", "Alice", "USER"));
+            String bob = sessions.create(new User("b@test.com", "pb", "Bob", "ADMIN"));
+
+            // Act
+            sessions.invalidate(alice);
+
+            // Assert
+            assertNotEquals(alice, bob, "Token harus unik");
+            assertNull(sessions.get(alice), "Session yang diakhiri tidak bisa dipakai");
+            assertEquals("b@test.com", sessions.get(bob).getEmail(), "Session lain tidak terpengaruh");
+            assertNull(sessions.get("token-palsu"), "Token tidak dikenal ditolak");
+        }
+    }
+
+    @Nested
+    @DisplayName("Batas Idle")
+    class ExpiryTest {
+        @Test
+        @DisplayName("Session idle dibuang oleh timer wheel, session aktif dipertahankan")
+        void testIdleEviction() {
+            // WHY: Session yang ditinggalkan harus hilang dari memori tanpa memindai semua session
+            // Arrange
+            String idle = sessions.create(new User("a@test.com", "pa", "Alice", "USER"));
+            String active = sessions.create(new User("b@test.com", "pb", "Bob", "USER"));
+
+            // Act
+            now.addAndGet(8_000);
+            sessions.get(active);
+            now.addAndGet(4_000);
+            int expired = sessions.expireIdle();
+
+            // Assert
+            assertEquals(1, expired, "Hanya session idle yang dibuang");
+            assertEquals(1, sessions.size(), "Session aktif tetap tersimpan");
+            assertNotNull(sessions.get(active), "Akses memperpanjang tenggat session");
+
+            // Act
+            now.addAndGet(60_000);
+            sessions.expireIdle();
+
+            // Assert
+            assertEquals(0, sessions.size(), "Setelah jeda panjang semua session idle dibuang");
+            assertNull(sessions.get(idle), "Session yang dibuang tidak bisa dipakai");
+        }
+
+        @Test
+        @DisplayName("Session kedaluwarsa ditolak walaupun slotnya belum diperiksa")
+        void testLazyExpiry() {
+            // WHY: Resolusi tick tidak boleh memberi waktu tambahan bagi session yang sudah lewat tenggat
+            // Arrange
+            String token = sessions.create(new User("a@test.com", "pa", "Alice", "USER"));
+
+            // Act
+            now.addAndGet(10_000);
+
+            // Assert
+            assertNull(sessions.get(token), "Session tepat di tenggat idle sudah tidak berlaku");
+        }
+
+        @Test
+        @DisplayName("Batas idle 0 membuat session tidak pernah kedaluwarsa")
+        void testNoIdleLimit() {
+            // WHY: Aplikasi desktop tidak boleh mengeluarkan user di tengah pemakaian
+            // Arrange
+            SessionManager desktop = new SessionManager(0, 1_000, now::get);
+            String token = desktop.create(new User("a@test.com", "pa", "Alice", "USER"));
+
+            // Act
+            now.addAndGet(24 * 60 * 60 * 1_000L);
+
+            // Assert
+            assertEquals(0, desktop.expireIdle(), "Tidak ada session yang dibuang");
+            assertNotNull(desktop.get(token), "Session tetap berlaku setelah lama tidak dipakai");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian TrigramIndex")
+public class TrigramIndexTest {
+
+    private final List<String> titles = Arrays.asList(
+            "Fight Club", "The Dark Knight", "Dark City", "Knight and Day", "Inception", "Interstellar", "Up");
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new TrigramIndex();
+        for (int i = 0; i < titles.size(); i++) {
+            index.add(i, titles.get(i));
+        }
+    }
+
+    /**
+     * Hasil pencarian linear sebagai pembanding.
+     */
+    private int[] naiveSearch(String query) {
+        List<Integer> results = new ArrayList<>();
+        for (int i = 0; i < titles.size(); i++) {
+            if (titles.get(i).toLowerCase().contains(query.toLowerCase())) {
+                results.add(i);
+            }
+        }
+        return results.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Nested
+    @DisplayName("Pencarian Substring")
+    class SearchTest {
+        @Test
+        @DisplayName("Hasil sama dengan pencarian contains linear")
+        void testMatchesNaiveSearch() {
+            // WHY: Index hanya mempercepat pencarian; hasilnya harus identik dengan perilaku lama
+            for (String query : new String[]{"dark", "KNIGHT", "ight", "in", "u", "", "stellar", "zzz", "ark kni"}) {
+                // Act
+                int[] actual = index.search(query);
+
+                // Assert
+                assertArrayEquals(naiveSearch(query), actual, "Hasil harus sama untuk query: " + query);
+            }
+        }
+
+        @Test
+        @DisplayName("Trigram yang tidak berurutan tidak menghasilkan false positive")
+        void testCandidatesVerified() {
+            // WHY: Semua trigram "club fight" ada di index, tetapi tidak sebagai substring yang berurutan
+            // Act
+            int[] actual = index.search("ight cl");
+
+            // Assert
+            assertArrayEquals(new int[]{0}, actual, "Hanya Fight Club yang mengandung substring tersebut");
+            assertEquals(0, index.search("club fight").length, "Urutan kata yang berbeda tidak boleh cocok");
+        }
+    }
+
+    @Nested
+    @DisplayName("Perubahan Inkremental")
+    class IncrementalTest {
+        @Test
+        @DisplayName("Dokumen yang dihapus tidak muncul lagi")
+        void testRemove() {
+            // WHY: Film yang dihapus harus langsung hilang dari hasil pencarian tanpa membangun ulang index
+            // Act
+            index.remove(1);
+
+            // Assert
+            assertArrayEquals(new int[]{2}, index.search("dark"), "The Dark Knight sudah dihapus");
+            assertEquals(titles.size() - 1, index.size(), "Jumlah dokumen berkurang satu");
+        }
+
+        @Test
+        @DisplayName("Dokumen baru langsung bisa dicari")
+        void testAdd() {
+            // WHY: Film yang ditambahkan admin harus langsung muncul di pencarian
+            // Act
+            index.add(titles.size(), "Dark Waters");
+
+            // Assert
+            assertArrayEquals(new int[]{1, 2, titles.size()}, index.search("dark"), "Film baru ikut ditemukan");
+        }
+    }
+}
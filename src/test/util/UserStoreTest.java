@@ -0,0 +1,149 @@
+package util;
+
+import model.User;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Pengujian UserStore")
+public class UserStoreTest {
+
+    private Path dataFile;
+    private UserStore store;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dataFile = Files.createTempFile("user-store-test", ".txt");
+        FileManager.registerJournal(dataFile.toString(), 1);
+        FileManager.writeLines(dataFile.toString(), Arrays.asList(
+                "a@test.com|pa|Alice|USER|N/A|false",
+                "b@test.com|pb|Bob|ADMIN|N/A|true"));
+        store = new UserStore(dataFile.toString());
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        Files.deleteIfExists(dataFile);
+        Files.deleteIfExists(Path.of(dataFile + ".journal"));
+    }
+
+    @Nested
+    @DisplayName("Index Email dan Username")
+    class LookupTest {
+        @Test
+        @DisplayName("Email dicocokkan persis, username tanpa membedakan huruf")
+        void testLookups() {
+            // WHY: Login membandingkan email dengan equals, sedangkan pencarian username bersifat case-insensitive
+            // Act & Assert
+            assertEquals("Alice", store.findByEmail("a@test.com").getUsername(), "Email terdaftar ditemukan");
+            assertNull(store.findByEmail("A@test.com"), "Email tetap case-sensitive");
+            assertEquals("b@test.com", store.findByUsername("bOB").getEmail(), "Username tidak membedakan huruf");
+            assertNull(store.findByUsername("Carol"), "Username yang tidak ada bernilai null");
+        }
+
+        @Test
+        @DisplayName("Index ikut berubah saat user ditambah, diubah, dan dihapus")
+        void testIndexMaintained() {
+            // WHY: Index dipelihara write-through tanpa memuat ulang file
+            // Act
+            store.add(new User("c@test.com", "pc", "Carol", "USER"));
+            store.set(0, new User("a@test.com", "pa", "Alicia", "USER"));
+            store.remove(1);
+
+            // Assert
+            assertTrue(store.containsEmail("c@test.com"), "User baru masuk index email");
+            assertNull(store.findByUsername("alice"), "Username lama hilang dari index");
+            assertNotNull(store.findByUsername("ALICIA"), "Username baru masuk index");
+            assertFalse(store.containsEmail("b@test.com"), "User yang dihapus hilang dari index");
+            assertEquals(2, new UserStore(dataFile.toString()).count(), "Perubahan tersimpan ke file");
+        }
+    }
+
+    @Nested
+    @DisplayName("Penulisan ke File")
+    class PersistenceTest {
+        @Test
+        @DisplayName("Update mengganti record dengan email yang sama")
+        void testUpdate() {
+            // WHY: Perubahan profil harus tersimpan tanpa menulis ulang seluruh file
+            // Act
+            boolean updated = store.update(new User("b@test.com", "pb", "Bob", "ADMIN", "N/A", false));
+            boolean missing = store.update(new User("x@test.com", "px", "X", "USER"));
+
+            // Assert
+            assertTrue(updated, "User yang ada harus diperbarui");
+            assertFalse(missing, "User yang tidak ada tidak diperbarui");
+            assertFalse(new UserStore(dataFile.toString()).findByEmail("b@test.com").isPremium(), "Status premium tersimpan");
+        }
+
+        @Test
+        @DisplayName("Mengubah objek hasil query tidak merusak store")
+        void testReturnsCopies() {
+            // WHY: UI mengubah objek user sebelum memanggil update
+            // Act
+            store.findByEmail("a@test.com").setUsername("Changed");
+
+            // Assert
+            assertNotNull(store.findByUsername("Alice"), "Data di store tidak berubah tanpa update");
+        }
+
+        @Test
+        @DisplayName("Mengganti password tidak menimpa perubahan field lain")
+        void testReplacePasswordKeepsOtherFields() {
+            // WHY: Rehash saat login memakai salinan user dari sebelum verifikasi; perubahan premium di antaranya tidak boleh hilang
+            // Arrange
+            User readForLogin = store.findByEmail("a@test.com");
+            store.setPremium("a@test.com", true);
+
+            // Act
+            boolean replaced = store.replacePassword("a@test.com", readForLogin.getPassword(), "hashed");
+            boolean stale = store.replacePassword("a@test.com", "pa", "other");
+
+            // Assert
+            assertTrue(replaced, "Password dengan hash yang cocok diganti");
+            assertFalse(stale, "Hash lama yang sudah berubah tidak diganti");
+            User reloaded = new UserStore(dataFile.toString()).findByEmail("a@test.com");
+            assertEquals("hashed", reloaded.getPassword(), "Password baru tersimpan");
+            assertTrue(reloaded.isPremium(), "Status premium yang diubah bersamaan tetap tersimpan");
+        }
+    }
+
+    @Nested
+    @DisplayName("Agregat User Premium")
+    class AggregateTest {
+        @Test
+        @DisplayName("Jumlah dan daftar premium mengikuti setiap perubahan")
+        void testPremiumMaintained() {
+            // WHY: Dashboard admin membaca agregat ini tanpa menghitung ulang semua user
+            // Act
+            store.add(new User("c@test.com", "pc", "Carol", "USER", "N/A", true));
+            store.setPremium("a@test.com", true);
+            store.remove(1);
+
+            // Assert
+            assertEquals(2, store.count(), "Dua user tersisa");
+            assertEquals(2, store.countPremium(), "Alice dan Carol premium");
+            assertEquals("a@test.com", store.findPremium().get(0).getEmail(), "Urutan premium sesuai urutan di file");
+            assertEquals("c@test.com", store.findPremium().get(1).getEmail(), "User baru di akhir");
+        }
+
+        @Test
+        @DisplayName("Mengubah status premium hanya menulis satu record")
+        void testSetPremiumPersisted() {
+            // WHY: Toggle premium di AdminPanel tidak boleh menulis ulang seluruh file user
+            // Act
+            boolean updated = store.setPremium("b@test.com", false);
+
+            // Assert
+            assertTrue(updated, "User yang ada harus diperbarui");
+            assertEquals(0, store.countPremium(), "Tidak ada user premium lagi");
+            assertFalse(store.setPremium("x@test.com", true), "User yang tidak ada tidak diperbarui");
+            assertEquals(0, new UserStore(dataFile.toString()).countPremium(), "Perubahan tersimpan ke file");
+        }
+    }
+}
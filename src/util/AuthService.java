@@ -1,8 +1,16 @@
 package util;
 
 import model.User;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,13 +18,50 @@ import org.slf4j.LoggerFactory;
  * Service untuk mengelola autentikasi dan autorisasi pengguna.
  * Menangani proses login, logout, register, dan manajemen session pengguna.
  * Menyediakan method untuk pengecekan role dan akses pengguna.
+ * Data user dibaca dari {@link UserStore} sehingga login dan register mencari email lewat index, bukan memindai file.
+ *
+ * <p>Setiap login membuat session sendiri di {@link SessionManager}, sehingga beberapa user bisa login
+ * bersamaan dalam satu JVM. Thread yang melayani user tertentu mengikat token session-nya dengan
+ * {@link #bindSession(String)}; method seperti {@link #getCurrentUser()} memakai session yang terikat
+ * ke thread tersebut. Thread yang belum terikat tidak punya user, kecuali pada mode satu user
+ * ({@link #setSingleUserMode(boolean)}, diaktifkan aplikasi desktop) yang memakai session login terakhir.</p>
+ *
+ * <p>Password disimpan sebagai hash PBKDF2 ({@link PasswordHasher}); password plaintext lama di-hash ulang
+ * otomatis saat login berhasil. Karena verifikasi PBKDF2 mahal, UI memakai {@link #loginAsync(String, String)}
+ * dan {@link #registerAsync(String, String, String)} yang berjalan di pool worker berukuran tetap dengan
+ * antrean terbatas, sehingga Event Dispatch Thread tidak pernah menunggu hash.</p>
+ *
+ * <p>Percobaan login dibatasi {@link LoginRateLimiter} per email dan secara global sebelum password
+ * diverifikasi, sehingga serangan brute-force tidak bisa memaksa verifikasi PBKDF2 tanpa batas.</p>
  *
  * @author lisvindanu
  * @version 2.0
  */
 public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
-    private static User currentUser = null;
+    private static final UserStore users = UserStore.getDefault();
+    private static final long SESSION_IDLE_MILLIS = TimeUnit.MINUTES.toMillis(
+            Long.parseLong(ConfigManager.getProperty("auth.session.idleTimeoutMinutes", "0")));
+    private static final SessionManager sessions = new SessionManager(
+            SESSION_IDLE_MILLIS, Math.max(1000, SESSION_IDLE_MILLIS / 60), System::currentTimeMillis).start();
+    private static final PasswordHasher passwords = new PasswordHasher(
+            Integer.parseInt(ConfigManager.getProperty("auth.password.iterations", "210000")),
+            TimeUnit.SECONDS.toMillis(Long.parseLong(ConfigManager.getProperty("auth.password.cacheSeconds", "60"))));
+    private static final int HASH_THREADS = Math.max(1, Integer.parseInt(ConfigManager.getProperty("auth.hash.threads",
+            String.valueOf(Math.min(4, Runtime.getRuntime().availableProcessors())))));
+    private static final int HASH_QUEUE_SIZE = 64;
+    private static final LoginRateLimiter rateLimiter = new LoginRateLimiter(
+            Integer.parseInt(ConfigManager.getProperty("auth.rateLimit.globalPerSecond", "100")),
+            Integer.parseInt(ConfigManager.getProperty("auth.rateLimit.globalBurst", "200")),
+            Integer.parseInt(ConfigManager.getProperty("auth.rateLimit.perEmailPerMinute", "10")),
+            Integer.parseInt(ConfigManager.getProperty("auth.rateLimit.perEmailBurst", "10")),
+            System::nanoTime);
+    private static final ExecutorService hashPool = createHashPool();
+    // Token session yang terikat ke thread saat ini
+    private static final ThreadLocal<String> boundToken = new ThreadLocal<>();
+    // Session login terakhir, dipakai thread yang belum terikat hanya pada mode satu user
+    private static volatile String defaultToken = null;
+    private static volatile boolean singleUserMode = false;
     private static final String DEFAULT_ADMIN_EMAIL = "anaphygon@protonmail.com";
     private static final String DEFAULT_ADMIN_PASSWORD = "password";
 
@@ -24,40 +69,116 @@ public class AuthService {
         initializeDefaultAdmin();
     }
 
+    /**
+     * Membuat pool worker untuk verifikasi dan pembuatan hash password.
+     * Antrean dibatasi agar lonjakan login tidak menumpuk pekerjaan tanpa batas; pekerjaan yang
+     * tidak muat ditolak dan future-nya gagal dengan {@link RejectedExecutionException}.
+     */
+    private static ExecutorService createHashPool() {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(HASH_THREADS, HASH_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(HASH_QUEUE_SIZE), r -> {
+                    Thread thread = new Thread(r, "auth-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
     /**
      * Menginisialisasi akun admin default jika belum ada.
      * Dipanggil secara otomatis saat class dimuat.
      */
     private static void initializeDefaultAdmin() {
-        List<String> users = FileManager.readLines(FileManager.USERS_FILE);
-        boolean adminExists = users.stream().anyMatch(line -> line.startsWith(DEFAULT_ADMIN_EMAIL));
-
-        if (!adminExists) {
-            User admin = new User(DEFAULT_ADMIN_EMAIL, DEFAULT_ADMIN_PASSWORD, "Admin", "ADMIN");
-            FileManager.appendLine(FileManager.USERS_FILE, admin.toFileLine());
+        if (!users.containsEmail(DEFAULT_ADMIN_EMAIL)) {
+            users.add(new User(DEFAULT_ADMIN_EMAIL, passwords.hash(DEFAULT_ADMIN_PASSWORD), "Admin", "ADMIN"));
         }
     }
 
     /**
      * Melakukan login pengguna berdasarkan email dan password.
-     * Jika berhasil, user tersebut akan disimpan sebagai current user.
+     * Jika berhasil, session baru dibuat dan diikat ke thread pemanggil, serta menjadi session default pada mode satu user.
+     * Password yang masih plaintext atau hash dengan iterasi lama di-hash ulang dan disimpan.
+     * Percobaan yang melewati batas laju langsung ditolak tanpa memverifikasi password.
+     * Method ini melakukan verifikasi PBKDF2 di thread pemanggil; UI sebaiknya memakai {@link #loginAsync(String, String)}.
      *
      * @param email email pengguna
      * @param password password pengguna
-     * @return objek User jika login berhasil, null jika gagal
+     * @return objek User jika login berhasil, null jika email atau password salah
+     * @throws LoginThrottledException jika percobaan ditolak karena melewati batas laju
      */
     public static User login(String email, String password) {
         logger.info("Attempting login for email: {}", email);
-        List<String> users = FileManager.readLines(FileManager.USERS_FILE);
+        List<User> candidates = users.findAllByEmail(email);
+        if (!rateLimiter.tryAcquire(email, !candidates.isEmpty())) {
+            logger.warn("Login rejected by rate limiter for email: {}", email);
+            throw new LoginThrottledException(email);
+        }
+        User user = null;
+        for (User candidate : candidates) {
+            if (passwords.verify(email, password, candidate.getPassword())) {
+                user = candidate;
+                break;
+            }
+        }
+        if (user != null) {
+            if (passwords.needsRehash(user.getPassword())) {
+                // Only the hash is written back; other fields may have changed since the user was read
+                String upgraded = passwords.hash(password);
+                if (users.replacePassword(email, user.getPassword(), upgraded)) {
+                    user.setPassword(upgraded);
+                    logger.info("Upgraded password hash for user: {}", email);
+                }
+            }
+            String token = sessions.create(user);
+            boundToken.set(token);
+            if (singleUserMode) {
+                defaultToken = token;
+            }
+        }
+        return user;
+    }
 
-        for (String line : users) {
-            User user = User.fromFileLine(line);
-            if (user != null && user.getEmail().equals(email) && user.getPassword().equals(password)) {
-                currentUser = user;
-                return user;
+    /**
+     * Melakukan login di pool worker hash sehingga pemanggil (misalnya Event Dispatch Thread) tidak menunggu
+     * verifikasi PBKDF2. Session yang dibuat tidak diikat ke thread worker; pada mode satu user session tersebut
+     * menjadi session default, sedangkan deployment banyak user sebaiknya memanggil {@link #login(String, String)}
+     * di thread request agar session langsung terikat.
+     *
+     * @param email email pengguna
+     * @param password password pengguna
+     * @return future berisi User jika login berhasil atau null jika gagal; gagal dengan
+     *         {@link RejectedExecutionException} jika antrean worker penuh, atau dengan
+     *         {@link LoginThrottledException} jika percobaan melewati batas laju
+     */
+    public static CompletableFuture<User> loginAsync(String email, String password) {
+        return submitToHashPool(() -> {
+            try {
+                return login(email, password);
+            } finally {
+                boundToken.remove();
             }
+        });
+    }
+
+    /**
+     * Mendaftarkan pengguna baru di pool worker hash.
+     *
+     * @param email email pengguna baru
+     * @param password password pengguna baru
+     * @param username username pengguna baru
+     * @return future berisi true jika registrasi berhasil, false jika email sudah ada
+     */
+    public static CompletableFuture<Boolean> registerAsync(String email, String password, String username) {
+        return submitToHashPool(() -> register(email, password, username));
+    }
+
+    private static <T> CompletableFuture<T> submitToHashPool(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, hashPool);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing queue is full, rejecting request");
+            return CompletableFuture.failedFuture(e);
         }
-        return null;
     }
     
     /**
@@ -74,39 +195,111 @@ public class AuthService {
     public static boolean register(String email, String password, String username) {
         logger.info("Attempting registration for email: {}", email);
         // Check if email already exists
-        List<String> users = FileManager.readLines(FileManager.USERS_FILE);
-        for (String line : users) {
-            if (line.startsWith(email + "|")) {
-                logger.warn("Registration failed. Email already exists: {}", email);
-                return false; // Email already exists
-            }
+        if (users.containsEmail(email)) {
+            logger.warn("Registration failed. Email already exists: {}", email);
+            return false; // Email already exists
         }
 
         // Create new user with USER role
-        User newUser = new User(email, password, username, "USER");
-        FileManager.appendLine(FileManager.USERS_FILE, newUser.toFileLine());
+        users.add(new User(email, passwords.hash(password), username, "USER"));
         logger.info("Registration successful for user: {}", email);
         return true;
     }
 
     /**
      * Melakukan logout pengguna yang sedang login.
-     * Menghapus current user dari session.
+     * Mengakhiri session milik thread ini (atau session default) dan melepas ikatannya.
      */
     public static void logout() {
-        if (currentUser != null) {
-            logger.info("User logged out: {}", currentUser.getEmail());
+        logout(getSessionToken());
+    }
+
+    /**
+     * Mengakhiri session tertentu.
+     *
+     * @param token token session yang diakhiri
+     */
+    public static void logout(String token) {
+        User user = sessions.get(token);
+        if (user != null) {
+            logger.info("User logged out: {}", user.getEmail());
+            passwords.forget(user.getEmail());
+        }
+        sessions.invalidate(token);
+        if (token != null && token.equals(boundToken.get())) {
+            boundToken.remove();
+        }
+        if (token != null && token.equals(defaultToken)) {
+            defaultToken = null;
         }
-        currentUser = null;
     }
 
     /**
-     * Mendapatkan objek user yang sedang login.
+     * Mengaktifkan atau mematikan mode satu user. Pada mode ini thread yang belum terikat ke session
+     * (misalnya Event Dispatch Thread) memakai session login terakhir. Hanya untuk aplikasi desktop;
+     * pada deployment banyak user mode ini harus mati agar thread tanpa session tidak bertindak sebagai user lain.
      *
-     * @return objek User yang sedang login, atau null jika belum login
+     * @param enabled true untuk mengaktifkan mode satu user
+     */
+    public static void setSingleUserMode(boolean enabled) {
+        singleUserMode = enabled;
+        if (!enabled) {
+            defaultToken = null;
+        }
+    }
+
+    /**
+     * Mendapatkan token session milik thread ini, atau token session default jika thread belum terikat
+     * dan mode satu user aktif.
+     *
+     * @return token session, atau null jika belum login atau thread tidak terikat ke session
+     */
+    public static String getSessionToken() {
+        String token = boundToken.get();
+        if (token != null) {
+            return token;
+        }
+        return singleUserMode ? defaultToken : null;
+    }
+
+    /**
+     * Mengikat thread ini ke session tertentu, misalnya di awal request pada deployment server.
+     *
+     * @param token token session
+     * @return user pemilik session, atau null jika session tidak valid (thread tidak diikat)
+     */
+    public static User bindSession(String token) {
+        User user = sessions.get(token);
+        if (user != null) {
+            boundToken.set(token);
+        }
+        return user;
+    }
+
+    /**
+     * Melepas ikatan session dari thread ini tanpa mengakhiri session-nya.
+     */
+    public static void unbindSession() {
+        boundToken.remove();
+    }
+
+    /**
+     * Mendapatkan user pemilik session dalam O(1).
+     *
+     * @param token token session
+     * @return user pemilik session, atau null jika session tidak ada atau sudah kedaluwarsa
+     */
+    public static User getSessionUser(String token) {
+        return sessions.get(token);
+    }
+
+    /**
+     * Mendapatkan objek user yang sedang login di thread ini.
+     *
+     * @return objek User yang sedang login, atau null jika belum login atau session sudah kedaluwarsa
      */
     public static User getCurrentUser() {
-        return currentUser;
+        return sessions.get(getSessionToken());
     }
 
     /**
@@ -115,7 +308,7 @@ public class AuthService {
      * @return true jika ada user yang login, false jika belum
      */
     public static boolean isLoggedIn() {
-        return currentUser != null;
+        return getCurrentUser() != null;
     }
 
     /**
@@ -124,25 +317,26 @@ public class AuthService {
      * @return true jika user adalah admin, false jika bukan atau belum login
      */
     public static boolean isAdmin() {
+        User currentUser = getCurrentUser();
         return currentUser != null && currentUser.isAdmin();
     }
 
+    /**
+     * Mendapatkan metrik pembatas laju login: jumlah percobaan yang diterima dan ditolak per alasan.
+     *
+     * @return map nama metrik ke nilainya
+     */
+    public static Map<String, Long> getLoginRateMetrics() {
+        return rateLimiter.getMetrics();
+    }
+
     /**
      * Mendapatkan semua pengguna yang terdaftar dalam sistem.
      *
      * @return list semua user
      */
     public static List<User> getAllUsers() {
-        List<User> userList = new ArrayList<>();
-        List<String> lines = FileManager.readLines(FileManager.USERS_FILE);
-
-        for (String line : lines) {
-            User user = User.fromFileLine(line);
-            if (user != null) {
-                userList.add(user);
-            }
-        }
-        return userList;
+        return users.findAll();
     }
 
     /**
@@ -152,18 +346,7 @@ public class AuthService {
      * @param user objek User dengan data baru
      */
     public static void updateUser(User user) {
-        List<String> lines = FileManager.readLines(FileManager.USERS_FILE);
-        List<String> updatedLines = new ArrayList<>();
-
-        for (String line : lines) {
-            User u = User.fromFileLine(line);
-            if (u != null && u.getEmail().equals(user.getEmail())) {
-                updatedLines.add(user.toFileLine());
-            } else {
-                updatedLines.add(line);
-            }
-        }
-
-        FileManager.writeLines(FileManager.USERS_FILE, updatedLines);
+        // Only the changed record is written, not the whole users file
+        users.update(user);
     }
 }
@@ -0,0 +1,516 @@
+package util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Bitmap terkompresi bergaya Roaring untuk himpunan ordinal int non-negatif.
+ *
+ * <p>Ruang nilai dibagi menjadi chunk 65536 nilai berdasarkan 16 bit atas. Setiap chunk yang berisi
+ * nilai disimpan sebagai array terurut (jika isinya sedikit, maksimal 4096 nilai) atau bitmap 8 KB
+ * (jika padat). Chunk kosong tidak disimpan sama sekali, sehingga iterasi melompati rentang kosong
+ * tanpa biaya, dan jumlah anggota disimpan terpisah sehingga {@link #cardinality()} O(1).</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class CompactBitmap {
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+    private int cardinality;
+
+    /**
+     * Menambahkan nilai ke bitmap.
+     *
+     * @param value nilai non-negatif
+     * @return true jika nilai sebelumnya belum ada
+     */
+    public boolean add(int value) {
+        char key = (char) (value >>> 16);
+        int index = indexOf(key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add((char) value);
+        boolean added = containers[index].cardinality() > before;
+        if (added) {
+            cardinality++;
+        }
+        return added;
+    }
+
+    /**
+     * Menghapus nilai dari bitmap.
+     *
+     * @param value nilai non-negatif
+     * @return true jika nilai sebelumnya ada
+     */
+    public boolean remove(int value) {
+        int index = indexOf((char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.remove((char) value);
+        if (containers[index].cardinality() == before) {
+            return false;
+        }
+        cardinality--;
+        if (containers[index].cardinality() == 0) {
+            removeContainer(index);
+        }
+        return true;
+    }
+
+    /**
+     * Mengecek apakah nilai ada di bitmap.
+     *
+     * @param value nilai non-negatif
+     * @return true jika nilai ada
+     */
+    public boolean contains(int value) {
+        int index = indexOf((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Mendapatkan jumlah nilai di bitmap dalam O(1).
+     *
+     * @return jumlah nilai
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Mengecek apakah bitmap kosong.
+     *
+     * @return true jika tidak ada nilai
+     */
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Mengosongkan bitmap.
+     */
+    public void clear() {
+        keys = new char[4];
+        containers = new Container[4];
+        size = 0;
+        cardinality = 0;
+    }
+
+    /**
+     * Mencari nilai terkecil yang lebih besar atau sama dengan from, seperti {@link java.util.BitSet#nextSetBit(int)}.
+     *
+     * @param from nilai awal pencarian
+     * @return nilai berikutnya di bitmap, atau -1 jika tidak ada
+     */
+    public int nextSetBit(int from) {
+        if (from < 0) {
+            from = 0;
+        }
+        char key = (char) (from >>> 16);
+        int index = indexOf(key);
+        if (index >= 0) {
+            int low = containers[index].next(from & 0xFFFF);
+            if (low >= 0) {
+                return (key << 16) | low;
+            }
+            index++;
+        } else {
+            index = -index - 1;
+        }
+        // Chunks without values are not stored, so empty ranges are skipped here
+        return index < size ? (keys[index] << 16) | containers[index].next(0) : -1;
+    }
+
+    /**
+     * Memanggil action untuk setiap nilai secara terurut naik.
+     *
+     * @param action callback yang menerima setiap nilai
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            int high = keys[i] << 16;
+            Container container = containers[i];
+            for (int low = container.next(0); low >= 0; low = low < 0xFFFF ? container.next(low + 1) : -1) {
+                action.accept(high | low);
+            }
+        }
+    }
+
+    /**
+     * Mendapatkan seluruh nilai sebagai array terurut.
+     *
+     * @return array nilai
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int[] position = {0};
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Membuat salinan bitmap.
+     *
+     * @return bitmap baru dengan isi yang sama
+     */
+    public CompactBitmap copy() {
+        CompactBitmap copy = new CompactBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(4, size));
+        copy.containers = new Container[copy.keys.length];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        copy.cardinality = cardinality;
+        return copy;
+    }
+
+    /**
+     * Mengubah bitmap ini menjadi gabungan (OR) dengan bitmap lain.
+     *
+     * @param other bitmap lain
+     */
+    public void or(CompactBitmap other) {
+        CompactBitmap result = new CompactBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i++].copy());
+            } else if (i >= size || other.keys[j] < keys[i]) {
+                result.append(other.keys[j], other.containers[j++].copy());
+            } else {
+                result.append(keys[i], containers[i++].or(other.containers[j++]));
+            }
+        }
+        replaceWith(result);
+    }
+
+    /**
+     * Mengubah bitmap ini menjadi irisan (AND) dengan bitmap lain.
+     *
+     * @param other bitmap lain
+     */
+    public void and(CompactBitmap other) {
+        CompactBitmap result = new CompactBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (other.keys[j] < keys[i]) {
+                j++;
+            } else {
+                Container container = containers[i++].and(other.containers[j++]);
+                if (container.cardinality() > 0) {
+                    result.append(keys[i - 1], container);
+                }
+            }
+        }
+        replaceWith(result);
+    }
+
+    private void append(char key, Container container) {
+        insertContainer(size, key, container);
+        cardinality += container.cardinality();
+    }
+
+    private void replaceWith(CompactBitmap other) {
+        keys = other.keys;
+        containers = other.containers;
+        size = other.size;
+        cardinality = other.cardinality;
+    }
+
+    private int indexOf(char key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else if (keys[mid] > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void insertContainer(int index, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    /**
+     * Isi satu chunk 65536 nilai. Operasi yang mengubah isi mengembalikan container yang berlaku
+     * (bisa berganti jenis antara array dan bitmap).
+     */
+    private abstract static class Container {
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        /** Nilai terkecil yang lebih besar atau sama dengan from, atau -1. */
+        abstract int next(int from);
+
+        abstract Container copy();
+
+        abstract long[] toWords();
+
+        Container or(Container other) {
+            if (this instanceof ArrayContainer && other instanceof ArrayContainer
+                    && cardinality() + other.cardinality() <= ARRAY_MAX) {
+                return ((ArrayContainer) this).merge((ArrayContainer) other);
+            }
+            long[] words = toWords();
+            long[] otherWords = other.toWords();
+            for (int i = 0; i < WORDS; i++) {
+                words[i] |= otherWords[i];
+            }
+            return BitmapContainer.normalize(words);
+        }
+
+        Container and(Container other) {
+            if (this instanceof ArrayContainer || other instanceof ArrayContainer) {
+                ArrayContainer small = this instanceof ArrayContainer ? (ArrayContainer) this : (ArrayContainer) other;
+                Container large = small == this ? other : this;
+                ArrayContainer result = new ArrayContainer();
+                for (int i = 0; i < small.size; i++) {
+                    if (large.contains(small.values[i])) {
+                        result.values = result.size == result.values.length ? Arrays.copyOf(result.values, result.size * 2) : result.values;
+                        result.values[result.size++] = small.values[i];
+                    }
+                }
+                return result;
+            }
+            long[] words = toWords();
+            long[] otherWords = other.toWords();
+            for (int i = 0; i < WORDS; i++) {
+                words[i] &= otherWords[i];
+            }
+            return BitmapContainer.normalize(words);
+        }
+    }
+
+    /**
+     * Chunk jarang: nilai 16 bit bawah disimpan dalam array terurut.
+     */
+    private static class ArrayContainer extends Container {
+        private char[] values = new char[4];
+        private int size;
+
+        @Override
+        Container add(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (size == ARRAY_MAX) {
+                return BitmapContainer.fromArray(this).add(value);
+            }
+            index = -index - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        int next(int from) {
+            int index = Arrays.binarySearch(values, 0, size, (char) from);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < size ? values[index] : -1;
+        }
+
+        /** Menggabungkan dua array terurut tanpa duplikat. */
+        ArrayContainer merge(ArrayContainer other) {
+            ArrayContainer result = new ArrayContainer();
+            result.values = new char[Math.max(4, size + other.size)];
+            int i = 0;
+            int j = 0;
+            while (i < size || j < other.size) {
+                char next;
+                if (j >= other.size || (i < size && values[i] < other.values[j])) {
+                    next = values[i++];
+                } else if (i >= size || other.values[j] < values[i]) {
+                    next = other.values[j++];
+                } else {
+                    next = values[i++];
+                    j++;
+                }
+                result.values[result.size++] = next;
+            }
+            return result;
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer copy = new ArrayContainer();
+            copy.values = Arrays.copyOf(values, Math.max(4, size));
+            copy.size = size;
+            return copy;
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < size; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+    }
+
+    /**
+     * Chunk padat: 65536 bit dalam 1024 long.
+     */
+    private static class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static BitmapContainer fromArray(ArrayContainer array) {
+            return new BitmapContainer(array.toWords(), array.size);
+        }
+
+        /** Membuat container dari word bitmap, memakai array jika isinya cukup sedikit. */
+        static Container normalize(long[] words) {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            if (count > ARRAY_MAX) {
+                return new BitmapContainer(words, count);
+            }
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[Math.max(4, count)];
+            for (int i = 0; i < WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    array.values[array.size++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                }
+            }
+            return array;
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+                if (cardinality <= ARRAY_MAX / 2) {
+                    // Convert back well below the limit so add/remove around it does not flip every time
+                    return normalize(words);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        int next(int from) {
+            int index = from >>> 6;
+            if (index >= WORDS) {
+                return -1;
+            }
+            long word = words[index] & (-1L << from);
+            while (word == 0) {
+                if (++index == WORDS) {
+                    return -1;
+                }
+                word = words[index];
+            }
+            return (index << 6) | Long.numberOfTrailingZeros(word);
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Utility class untuk mengelola konfigurasi aplikasi.
  * Memuat properti dari file config.properties.
+ * System property dengan nama yang sama (-Dkey=value) mengambil prioritas di atas isi file.
  */
 public class ConfigManager {
     private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
@@ -30,10 +31,17 @@ public class ConfigManager {
     }
 
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return getProperty(key, null);
     }
 
     public static String getProperty(String key, String defaultValue) {
+        // -Dkey=value on the command line overrides config.properties (used by benchmarks and tools)
+        if (key != null && !key.isEmpty()) {
+            String override = System.getProperty(key);
+            if (override != null) {
+                return override;
+            }
+        }
         return properties.getProperty(key, defaultValue);
     }
 }
@@ -0,0 +1,105 @@
+package util;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketch untuk menghitung frekuensi key secara perkiraan dengan memori tetap.
+ *
+ * <p>Sketch terdiri dari beberapa baris counter; setiap key dipetakan ke satu counter per baris
+ * dengan fungsi hash berbeda. Perkiraan frekuensi adalah nilai counter terkecil, sehingga hasilnya
+ * tidak pernah kurang dari frekuensi sebenarnya dan hanya bisa lebih besar jika key lain bertabrakan
+ * di semua baris. Counter disimpan di {@link AtomicIntegerArray} sehingga penambahan aman dipanggil
+ * dari banyak thread tanpa lock.</p>
+ *
+ * <p>Posisi di baris ke-i adalah {@code h1 + i * h2}, dengan h1 dan h2 dua hash 64-bit independen atas
+ * seluruh karakter key yang diberi seed acak per sketch. Key dengan {@link String#hashCode()} sama tidak
+ * otomatis bertabrakan, dan tanpa mengetahui seed penyerang tidak bisa menyusun key yang berbagi counter
+ * dengan key lain di semua baris.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class CountMinSketch {
+    private static final int MAX_DEPTH = 16;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int depth;
+    private final int mask;
+    private final long seed1;
+    private final long seed2;
+    private final AtomicIntegerArray counters;
+
+    /**
+     * Konstruktor CountMinSketch.
+     *
+     * @param depth jumlah baris (fungsi hash), antara 1 dan 16
+     * @param width jumlah counter per baris, dibulatkan ke atas menjadi pangkat dua
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > MAX_DEPTH || width < 1) {
+            throw new IllegalArgumentException("Invalid sketch size: " + depth + "x" + width);
+        }
+        int roundedWidth = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = roundedWidth - 1;
+        this.seed1 = RANDOM.nextLong();
+        this.seed2 = RANDOM.nextLong();
+        this.counters = new AtomicIntegerArray(depth * roundedWidth);
+    }
+
+    /**
+     * Menambah frekuensi key sebanyak satu.
+     *
+     * @param key key yang dihitung
+     * @return perkiraan frekuensi key setelah ditambah
+     */
+    public int add(String key) {
+        long h1 = hash(key, seed1);
+        // An odd step is never a multiple of the width, so the rows cannot collapse onto one column
+        long h2 = hash(key, seed2) | 1L;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Mendapatkan perkiraan frekuensi key.
+     *
+     * @param key key yang dicari
+     * @return perkiraan frekuensi, tidak pernah lebih kecil dari frekuensi sebenarnya
+     */
+    public int estimate(String key) {
+        long h1 = hash(key, seed1);
+        long h2 = hash(key, seed2) | 1L;
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    private int index(int row, long h1, long h2) {
+        return row * (mask + 1) + (int) ((h1 + row * h2) & mask);
+    }
+
+    /**
+     * Hash 64-bit ber-seed atas seluruh karakter key, memakai langkah campur dan finalizer MurmurHash3.
+     */
+    private static long hash(String key, long seed) {
+        long h = seed ^ key.length();
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x87C37B91114253D5L;
+            h = Long.rotateLeft(h, 31);
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
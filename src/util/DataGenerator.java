@@ -0,0 +1,313 @@
+package util;
+
+import model.Film;
+import model.Playlist;
+import model.User;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Generator dataset sintetis berskala besar untuk users.txt, films.txt, dan playlists.txt.
+ * Setiap baris ditulis lewat {@code toFileLine()} milik model sehingga formatnya identik dengan
+ * data yang ditulis aplikasi, termasuk escape pipe (|) di sinopsis film.
+ *
+ * <p>Distribusi dibuat menyerupai data nyata: ukuran playlist mengikuti distribusi Pareto
+ * (banyak playlist kecil, sedikit yang sangat besar), sebagian kecil user memiliki banyak playlist,
+ * dan film populer lebih sering muncul di playlist. Email, password, dan ID film diturunkan dari
+ * nomor urut sehingga dapat ditebak oleh benchmark ({@link #emailOf}, {@link #passwordOf}, {@link #filmIdOf}).
+ * Password ditulis sebagai hash PBKDF2 seperti data aplikasi, dengan salt yang diturunkan dari seed dan
+ * jumlah iterasi yang bisa diatur; login dengan {@code auth.password.iterations} yang sama tidak perlu
+ * meng-hash ulang dan menulis ke file user.</p>
+ *
+ * <p>Penggunaan: {@code java -cp ... util.DataGenerator [--out dir] [--users n] [--films n]
+ * [--playlists n] [--seed n] [--synopsis-words n] [--password-iterations n]}</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class DataGenerator {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DataGenerator.class);
+
+    // Iterasi PBKDF2 default untuk dataset: cukup kecil agar jutaan user bisa dibuat dalam hitungan menit
+    public static final int DEFAULT_PASSWORD_ITERATIONS = 1000;
+
+    private static final String[] FIRST_NAMES = {"andi", "budi", "citra", "dewi", "eka", "fajar", "gita", "hadi",
+            "indah", "joko", "kartika", "lisa", "maya", "nanda", "omar", "putri", "rizky", "sari", "tono", "wulan"};
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "protonmail.com", "student.ac.id"};
+    private static final String[] TITLE_WORDS = {"Star", "Night", "Dark", "Love", "City", "Lost", "Last", "Red",
+            "River", "King", "Ghost", "Summer", "Storm", "Silent", "Golden", "Wild", "Empire", "Dream", "Shadow",
+            "Journey", "Return", "Secret", "Kingdom", "Ocean", "Fire", "Winter", "Broken", "Hidden", "Legend", "Road"};
+    private static final String[] GENRES = {"Action", "Adventure", "Animation", "Comedy", "Crime", "Documentary",
+            "Drama", "Family", "Fantasy", "History", "Horror", "Music", "Mystery", "Romance", "Science Fiction",
+            "Thriller", "War", "Western"};
+    private static final String[] SYNOPSIS_WORDS = {"a", "the", "young", "old", "detective", "family", "journey",
+            "discovers", "secret", "world", "must", "save", "city", "love", "war", "against", "time", "friend",
+            "betrayal", "power", "hidden", "truth", "survive", "night", "small", "town", "mysterious", "stranger",
+            "returns", "home", "after", "years", "dangerous", "mission", "heart", "legend", "between", "two", "worlds"};
+    private static final String[] PLAYLIST_NAMES = {"Favorit", "Watchlist", "Nonton Nanti", "Weekend", "Horor Malam",
+            "Klasik", "Rekomendasi", "Marathon", "Keluarga", "Top Picks"};
+
+    private static final int MAX_PLAYLIST_SIZE = 500;
+    private static final double PLAYLIST_SIZE_ALPHA = 1.2;
+    private static final int MANUAL_FILM_EVERY = 50;
+    private static final int HASH_BATCH = 10_000;
+
+    private final long seed;
+    private final Random random;
+    private int synopsisWords = 120;
+    private int passwordIterations = DEFAULT_PASSWORD_ITERATIONS;
+
+    /**
+     * Konstruktor DataGenerator.
+     *
+     * @param seed seed random agar dataset yang sama dapat dibuat ulang
+     */
+    public DataGenerator(long seed) {
+        this.seed = seed;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Mengatur jumlah kata maksimum sinopsis film.
+     *
+     * @param synopsisWords jumlah kata maksimum
+     */
+    public void setSynopsisWords(int synopsisWords) {
+        this.synopsisWords = Math.max(1, synopsisWords);
+    }
+
+    /**
+     * Mengatur jumlah iterasi PBKDF2 untuk password user.
+     *
+     * @param passwordIterations jumlah iterasi, minimal 1
+     */
+    public void setPasswordIterations(int passwordIterations) {
+        this.passwordIterations = Math.max(1, passwordIterations);
+    }
+
+    /**
+     * Mendapatkan email user ke-i.
+     *
+     * @param i nomor urut user (0-based)
+     * @return email unik user
+     */
+    public static String emailOf(int i) {
+        return FIRST_NAMES[i % FIRST_NAMES.length] + "." + i + "@" + DOMAINS[(i / FIRST_NAMES.length) % DOMAINS.length];
+    }
+
+    /**
+     * Mendapatkan password plaintext user ke-i; file user hanya menyimpan hash-nya.
+     *
+     * @param i nomor urut user (0-based)
+     * @return password user
+     */
+    public static String passwordOf(int i) {
+        return "Passw0rd" + i;
+    }
+
+    /**
+     * Mendapatkan ID film ke-i. Sebagian film memakai ID manual seperti film yang ditambahkan admin.
+     *
+     * @param i nomor urut film (0-based)
+     * @return ID film
+     */
+    public static String filmIdOf(int i) {
+        return i % MANUAL_FILM_EVERY == MANUAL_FILM_EVERY - 1 ? "MANUAL-" + i : String.valueOf(100000 + i);
+    }
+
+    /**
+     * Menulis ketiga file data ke sebuah direktori.
+     * Journal lama di direktori tersebut dihapus karena tidak lagi sesuai dengan snapshot baru.
+     *
+     * @param dir direktori tujuan
+     * @param users jumlah user
+     * @param films jumlah film
+     * @param playlists jumlah playlist
+     * @throws IOException jika file gagal ditulis
+     */
+    public void generate(Path dir, int users, int films, int playlists) throws IOException {
+        Files.createDirectories(dir);
+        writeUsers(dir.resolve("users.txt"), users);
+        writeFilms(dir.resolve("films.txt"), films);
+        writePlaylists(dir.resolve("playlists.txt"), playlists, users, films);
+        for (String name : new String[]{"users.txt", "films.txt", "playlists.txt"}) {
+            Files.deleteIfExists(dir.resolve(name + ".journal"));
+        }
+        logger.info("Generated {} users, {} films and {} playlists in {}", users, films, playlists, dir);
+    }
+
+    /**
+     * Menulis file user. User pertama adalah admin, sekitar 20% user premium.
+     * Hash password dihitung paralel per batch karena PBKDF2 mendominasi waktu pembuatan file user.
+     *
+     * @param path file tujuan
+     * @param count jumlah user
+     * @throws IOException jika file gagal ditulis
+     */
+    public void writeUsers(Path path, int count) throws IOException {
+        PasswordHasher hasher = new PasswordHasher(passwordIterations, 0);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, Charset.defaultCharset())) {
+            for (int start = 0; start < count; start += HASH_BATCH) {
+                int end = Math.min(count, start + HASH_BATCH);
+                String[] hashes = IntStream.range(start, end).parallel()
+                        .mapToObj(i -> hasher.hash(passwordOf(i), seed * 31 + i))
+                        .toArray(String[]::new);
+                for (int i = start; i < end; i++) {
+                    String role = i == 0 ? "ADMIN" : "USER";
+                    String gender = random.nextBoolean() ? "Laki-laki" : "Perempuan";
+                    String username = FIRST_NAMES[i % FIRST_NAMES.length] + i;
+                    User user = new User(emailOf(i), hashes[i - start], username, role, gender, random.nextInt(5) == 0);
+                    writeLine(writer, user.toFileLine());
+                }
+            }
+        }
+    }
+
+    /**
+     * Menulis file film dengan sinopsis panjang yang sesekali berisi karakter pipe.
+     *
+     * @param path file tujuan
+     * @param count jumlah film
+     * @throws IOException jika file gagal ditulis
+     */
+    public void writeFilms(Path path, int count) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, Charset.defaultCharset())) {
+            for (int i = 0; i < count; i++) {
+                String title = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " "
+                        + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + (random.nextInt(4) == 0 ? " " + (2 + random.nextInt(4)) : "");
+                String director = capitalize(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]) + " "
+                        + capitalize(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]) + "son";
+                String genre = GENRES[random.nextInt(GENRES.length)];
+                // Recent years are more common than old ones
+                int year = 2025 - (int) (75 * Math.pow(random.nextDouble(), 2));
+                String posterPath = filmIdOf(i).startsWith("MANUAL-") ? "" : "/p" + Integer.toString(i, 36) + ".jpg";
+                Film film = new Film(filmIdOf(i), title, director, genre, year, synopsis(), posterPath, random.nextInt(10) != 0);
+                writeLine(writer, film.toFileLine());
+            }
+        }
+    }
+
+    /**
+     * Menulis file playlist dengan ukuran dan pemilik yang terdistribusi miring.
+     *
+     * @param path file tujuan
+     * @param count jumlah playlist
+     * @param userCount jumlah user yang bisa menjadi pemilik
+     * @param filmCount jumlah film yang bisa dimasukkan ke playlist
+     * @throws IOException jika file gagal ditulis
+     */
+    public void writePlaylists(Path path, int count, int userCount, int filmCount) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, Charset.defaultCharset())) {
+            for (int i = 0; i < count; i++) {
+                int owner = skewed(Math.max(1, userCount), 2);
+                String name = PLAYLIST_NAMES[random.nextInt(PLAYLIST_NAMES.length)] + " " + i;
+                String visibility = random.nextInt(3) == 0 ? "Public" : "Private";
+                Playlist playlist = new Playlist(name, emailOf(owner), visibility, filmIds(filmCount));
+                writeLine(writer, playlist.toFileLine());
+            }
+        }
+    }
+
+    /**
+     * Memilih ID film untuk satu playlist tanpa duplikat; film dengan nomor kecil lebih populer.
+     *
+     * @param filmCount jumlah film yang tersedia
+     * @return list ID film
+     */
+    private List<String> filmIds(int filmCount) {
+        if (filmCount == 0) {
+            return new ArrayList<>();
+        }
+        // Pareto-distributed size: most playlists are small, a few are very large
+        double size = 1 / Math.pow(1 - random.nextDouble(), 1 / PLAYLIST_SIZE_ALPHA);
+        int target = (int) Math.min(Math.min(MAX_PLAYLIST_SIZE, filmCount), size);
+        Set<String> ids = new LinkedHashSet<>();
+        for (int attempt = 0; ids.size() < target && attempt < target * 4; attempt++) {
+            ids.add(filmIdOf(skewed(filmCount, 3)));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Memilih index acak dengan bias ke index kecil.
+     *
+     * @param bound batas atas (eksklusif)
+     * @param exponent makin besar makin miring
+     * @return index di antara 0 dan bound - 1
+     */
+    private int skewed(int bound, double exponent) {
+        return Math.min(bound - 1, (int) (bound * Math.pow(random.nextDouble(), exponent)));
+    }
+
+    /**
+     * Membuat sinopsis acak; sebagian berisi pipe agar escape di toFileLine ikut teruji.
+     *
+     * @return sinopsis film
+     */
+    private String synopsis() {
+        int words = synopsisWords / 4 + random.nextInt(synopsisWords - synopsisWords / 4 + 1);
+        StringBuilder builder = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                builder.append(random.nextInt(40) == 0 ? " | " : " ");
+            }
+            builder.append(SYNOPSIS_WORDS[random.nextInt(SYNOPSIS_WORDS.length)]);
+        }
+        builder.setCharAt(0, Character.toUpperCase(builder.charAt(0)));
+        return builder.append('.').toString();
+    }
+
+    private static String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static void writeLine(BufferedWriter writer, String line) throws IOException {
+        writer.write(line);
+        writer.newLine();
+    }
+
+    /**
+     * Entry point generator dari command line.
+     *
+     * @param args argumen command line
+     * @throws IOException jika file gagal ditulis
+     */
+    public static void main(String[] args) throws IOException {
+        Path out = Paths.get("generated-data");
+        int users = 1000;
+        int films = 1000;
+        int playlists = 1000;
+        long seed = 42;
+        int synopsisWords = 120;
+        int passwordIterations = DEFAULT_PASSWORD_ITERATIONS;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--out": out = Paths.get(value); break;
+                case "--users": users = Integer.parseInt(value); break;
+                case "--films": films = Integer.parseInt(value); break;
+                case "--playlists": playlists = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--synopsis-words": synopsisWords = Integer.parseInt(value); break;
+                case "--password-iterations": passwordIterations = Integer.parseInt(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        DataGenerator generator = new DataGenerator(seed);
+        generator.setSynopsisWords(synopsisWords);
+        generator.setPasswordIterations(passwordIterations);
+        generator.generate(out, users, films, playlists);
+        System.out.println("Generated data in " + out.toAbsolutePath());
+    }
+}
@@ -0,0 +1,306 @@
+package util;
+
+import model.Film;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Index sekunder (faceted) untuk filter film berdasarkan genre, tahun, dan sutradara.
+ * Film diidentifikasi dengan ordinal stabil yang sama seperti index judul di {@link FilmRepository}.
+ *
+ * <ul>
+ *   <li>genre: bitmap terkompresi ({@link CompactBitmap}) ordinal film per genre</li>
+ *   <li>tahun: {@link TreeMap} tahun ke bitmap, sehingga rentang tahun diambil dengan {@code subMap}</li>
+ *   <li>sutradara: posting list ordinal terurut per sutradara</li>
+ * </ul>
+ *
+ * <p>Nilai facet per ordinal juga disimpan sehingga jumlah film per nilai facet dihitung dengan
+ * mengunjungi film yang cocok saja (O(jumlah hasil)), bukan seluruh katalog.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class FacetIndex {
+    private final Map<String, CompactBitmap> byGenre = new HashMap<>();
+    private final NavigableMap<Integer, CompactBitmap> byYear = new TreeMap<>();
+    private final Map<String, int[]> byDirector = new HashMap<>();
+    private final CompactBitmap all = new CompactBitmap();
+
+    // Nilai facet per ordinal untuk perhitungan jumlah
+    private String[] genreOf = new String[16];
+    private int[] yearOf = new int[16];
+    private String[] directorOf = new String[16];
+
+    /**
+     * Menambahkan film ke semua facet.
+     *
+     * @param ordinal ordinal film
+     * @param film film yang diindex
+     */
+    public void add(int ordinal, Film film) {
+        ensureCapacity(ordinal);
+        String genre = film.getGenre() != null ? film.getGenre() : "";
+        String director = film.getDirector() != null ? film.getDirector() : "";
+        genreOf[ordinal] = genre;
+        yearOf[ordinal] = film.getYear();
+        directorOf[ordinal] = director;
+        all.add(ordinal);
+        byGenre.computeIfAbsent(genre, k -> new CompactBitmap()).add(ordinal);
+        byYear.computeIfAbsent(film.getYear(), k -> new CompactBitmap()).add(ordinal);
+        byDirector.merge(director, new int[]{1, ordinal}, FacetIndex::addPosting);
+    }
+
+    /**
+     * Menghapus film dari semua facet.
+     *
+     * @param ordinal ordinal film
+     */
+    public void remove(int ordinal) {
+        if (!all.contains(ordinal)) {
+            return;
+        }
+        all.remove(ordinal);
+        clearBit(byGenre, genreOf[ordinal], ordinal);
+        clearBit(byYear, yearOf[ordinal], ordinal);
+        int[] postings = byDirector.get(directorOf[ordinal]);
+        if (postings != null && removePosting(postings, ordinal) == 0) {
+            byDirector.remove(directorOf[ordinal]);
+        }
+        genreOf[ordinal] = null;
+        directorOf[ordinal] = null;
+    }
+
+    /**
+     * Mengosongkan index.
+     */
+    public void clear() {
+        byGenre.clear();
+        byYear.clear();
+        byDirector.clear();
+        all.clear();
+        Arrays.fill(genreOf, null);
+        Arrays.fill(directorOf, null);
+    }
+
+    /**
+     * Mencari ordinal film yang cocok dengan query.
+     * Di dalam satu facet nilai-nilai digabung dengan OR; antar facet digabung sesuai {@link Query#matchAny()}.
+     *
+     * @param query kondisi filter
+     * @return bitmap ordinal film yang cocok
+     */
+    public CompactBitmap search(Query query) {
+        List<CompactBitmap> facets = new ArrayList<>(3);
+        if (!query.genres.isEmpty()) {
+            CompactBitmap genres = new CompactBitmap();
+            for (String genre : query.genres) {
+                CompactBitmap bits = byGenre.get(genre);
+                if (bits != null) {
+                    genres.or(bits);
+                }
+            }
+            facets.add(genres);
+        }
+        if (query.yearFrom != null || query.yearTo != null) {
+            int from = query.yearFrom != null ? query.yearFrom : Integer.MIN_VALUE;
+            int to = query.yearTo != null ? query.yearTo : Integer.MAX_VALUE;
+            CompactBitmap years = new CompactBitmap();
+            if (from <= to) {
+                for (CompactBitmap bits : byYear.subMap(from, true, to, true).values()) {
+                    years.or(bits);
+                }
+            }
+            facets.add(years);
+        }
+        if (!query.directors.isEmpty()) {
+            CompactBitmap directors = new CompactBitmap();
+            for (String director : query.directors) {
+                int[] postings = byDirector.get(director);
+                if (postings != null) {
+                    for (int i = 1; i <= postings[0]; i++) {
+                        directors.add(postings[i]);
+                    }
+                }
+            }
+            facets.add(directors);
+        }
+
+        if (facets.isEmpty()) {
+            return all.copy();
+        }
+        CompactBitmap result = facets.get(0);
+        for (int i = 1; i < facets.size(); i++) {
+            if (query.any) {
+                result.or(facets.get(i));
+            } else {
+                result.and(facets.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Menghitung jumlah film per nilai facet di antara film yang cocok.
+     *
+     * @param matches bitmap hasil {@link #search(Query)}
+     * @return jumlah per genre, tahun, dan sutradara
+     */
+    public Counts count(CompactBitmap matches) {
+        Counts counts = new Counts();
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            counts.genres.merge(genreOf[ordinal], 1, Integer::sum);
+            counts.years.merge(yearOf[ordinal], 1, Integer::sum);
+            counts.directors.merge(directorOf[ordinal], 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal >= genreOf.length) {
+            int capacity = Math.max(ordinal + 1, genreOf.length * 2);
+            genreOf = Arrays.copyOf(genreOf, capacity);
+            yearOf = Arrays.copyOf(yearOf, capacity);
+            directorOf = Arrays.copyOf(directorOf, capacity);
+        }
+    }
+
+    private static <K> void clearBit(Map<K, CompactBitmap> index, K key, int ordinal) {
+        CompactBitmap bits = index.get(key);
+        if (bits != null) {
+            bits.remove(ordinal);
+            if (bits.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Menambahkan ordinal ke posting list. Elemen 0 menyimpan jumlah isi, ordinal mulai dari elemen 1.
+     */
+    private static int[] addPosting(int[] postings, int[] single) {
+        int ordinal = single[1];
+        int size = postings[0];
+        if (size + 1 == postings.length) {
+            postings = Arrays.copyOf(postings, postings.length * 2);
+        }
+        int position = Arrays.binarySearch(postings, 1, size + 1, ordinal);
+        if (position >= 0) {
+            return postings;
+        }
+        position = -position - 1;
+        System.arraycopy(postings, position, postings, position + 1, size + 1 - position);
+        postings[position] = ordinal;
+        postings[0] = size + 1;
+        return postings;
+    }
+
+    /**
+     * Menghapus ordinal dari posting list.
+     *
+     * @return jumlah isi posting list setelah penghapusan
+     */
+    private static int removePosting(int[] postings, int ordinal) {
+        int size = postings[0];
+        int position = Arrays.binarySearch(postings, 1, size + 1, ordinal);
+        if (position >= 0) {
+            System.arraycopy(postings, position + 1, postings, position, size - position);
+            postings[0] = --size;
+        }
+        return size;
+    }
+
+    /**
+     * Kondisi filter facet. Facet yang tidak diisi tidak membatasi hasil.
+     */
+    public static class Query {
+        private final Set<String> genres = new LinkedHashSet<>();
+        private final Set<String> directors = new LinkedHashSet<>();
+        private Integer yearFrom;
+        private Integer yearTo;
+        private boolean any;
+
+        /**
+         * Membatasi hasil ke salah satu genre yang diberikan.
+         *
+         * @param values genre yang diterima
+         * @return query ini
+         */
+        public Query genres(String... values) {
+            Collections.addAll(genres, values);
+            return this;
+        }
+
+        /**
+         * Membatasi hasil ke rentang tahun (inklusif). Null berarti tidak dibatasi di sisi tersebut.
+         *
+         * @param from tahun awal
+         * @param to tahun akhir
+         * @return query ini
+         */
+        public Query years(Integer from, Integer to) {
+            this.yearFrom = from;
+            this.yearTo = to;
+            return this;
+        }
+
+        /**
+         * Membatasi hasil ke salah satu sutradara yang diberikan.
+         *
+         * @param values nama sutradara yang diterima
+         * @return query ini
+         */
+        public Query directors(String... values) {
+            Collections.addAll(directors, values);
+            return this;
+        }
+
+        /**
+         * Menggabungkan facet dengan OR (film cukup cocok dengan salah satu facet) alih-alih AND.
+         *
+         * @return query ini
+         */
+        public Query matchAny() {
+            this.any = true;
+            return this;
+        }
+    }
+
+    /**
+     * Jumlah film per nilai facet.
+     */
+    public static class Counts {
+        private final Map<String, Integer> genres = new TreeMap<>();
+        private final Map<Integer, Integer> years = new TreeMap<>();
+        private final Map<String, Integer> directors = new TreeMap<>();
+
+        /**
+         * Mendapatkan jumlah film per genre.
+         *
+         * @return map genre ke jumlah film, terurut berdasarkan nama genre
+         */
+        public Map<String, Integer> getGenres() { return genres; }
+
+        /**
+         * Mendapatkan jumlah film per tahun rilis.
+         *
+         * @return map tahun ke jumlah film, terurut naik
+         */
+        public Map<Integer, Integer> getYears() { return years; }
+
+        /**
+         * Mendapatkan jumlah film per sutradara.
+         *
+         * @return map sutradara ke jumlah film, terurut berdasarkan nama
+         */
+        public Map<String, Integer> getDirectors() { return directors; }
+    }
+}
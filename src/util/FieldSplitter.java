@@ -0,0 +1,174 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tokenizer baris data yang dipisah karakter pipe (|) tanpa regex.
+ * Baris dipindai satu kali dengan {@link String#indexOf(int, int)} dan hanya posisi awal/akhir
+ * setiap field yang dicatat di array offset yang dipakai ulang, sehingga parsing tidak membuat
+ * array String dan field yang tidak dibutuhkan tidak pernah di-substring.
+ *
+ * <p>Hasilnya mengikuti aturan {@code line.split("\\|")}: field kosong di bagian akhir tidak dihitung.
+ * Instance yang dikembalikan {@link #split(String)} adalah milik thread pemanggil dan dipakai ulang
+ * pada pemanggilan berikutnya, jadi ambil nilai field sebelum memecah baris lain.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class FieldSplitter {
+    private static final char SEPARATOR = '|';
+    private static final ThreadLocal<FieldSplitter> LOCAL = ThreadLocal.withInitial(FieldSplitter::new);
+
+    private String line;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int count;
+
+    /**
+     * Memecah baris menggunakan instance milik thread saat ini.
+     *
+     * @param line baris data
+     * @return splitter yang sudah diarahkan ke baris tersebut
+     */
+    public static FieldSplitter split(String line) {
+        return LOCAL.get().reset(line);
+    }
+
+    /**
+     * Mengarahkan splitter ke baris baru dan mencatat batas setiap field.
+     *
+     * @param line baris data
+     * @return splitter ini
+     */
+    public FieldSplitter reset(String line) {
+        this.line = line;
+        int fields = 0;
+        int lastNonEmpty = 0;
+        int fieldStart = 0;
+        int separator = line.indexOf(SEPARATOR);
+        boolean hasSeparator = separator >= 0;
+        while (true) {
+            int fieldEnd = separator >= 0 ? separator : line.length();
+            if (fields == starts.length) {
+                starts = Arrays.copyOf(starts, fields * 2);
+                ends = Arrays.copyOf(ends, fields * 2);
+            }
+            starts[fields] = fieldStart;
+            ends[fields] = fieldEnd;
+            fields++;
+            if (fieldEnd > fieldStart) {
+                lastNonEmpty = fields;
+            }
+            if (separator < 0) {
+                break;
+            }
+            fieldStart = separator + 1;
+            separator = line.indexOf(SEPARATOR, fieldStart);
+        }
+        // split() drops trailing empty fields, but a line without separators is always one field
+        count = hasSeparator ? lastNonEmpty : 1;
+        return this;
+    }
+
+    /**
+     * Mendapatkan jumlah field pada baris.
+     *
+     * @return jumlah field, sama dengan panjang array hasil {@code split("\\|")}
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Mengambil nilai field sebagai String.
+     *
+     * @param index index field (0-based)
+     * @return nilai field
+     * @throws IndexOutOfBoundsException jika index di luar jumlah field
+     */
+    public String get(int index) {
+        checkIndex(index);
+        return line.substring(starts[index], ends[index]);
+    }
+
+    /**
+     * Mengecek apakah field kosong tanpa membuat substring.
+     *
+     * @param index index field (0-based)
+     * @return true jika field tidak berisi karakter apa pun
+     */
+    public boolean isEmpty(int index) {
+        checkIndex(index);
+        return starts[index] == ends[index];
+    }
+
+    /**
+     * Mengambil nilai field sebagai int tanpa membuat substring.
+     *
+     * @param index index field (0-based)
+     * @return nilai field sebagai int
+     * @throws NumberFormatException jika field bukan angka
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        return Integer.parseInt(line, starts[index], ends[index], 10);
+    }
+
+    /**
+     * Mengambil nilai field sebagai boolean dengan aturan yang sama seperti {@link Boolean#parseBoolean(String)}.
+     *
+     * @param index index field (0-based)
+     * @return true jika field berisi "true" (tanpa membedakan huruf besar/kecil)
+     */
+    public boolean getBoolean(int index) {
+        checkIndex(index);
+        int length = ends[index] - starts[index];
+        return length == 4 && line.regionMatches(true, starts[index], "true", 0, 4);
+    }
+
+    /**
+     * Memecah satu field menjadi list berdasarkan pemisah lain (misalnya koma),
+     * dengan aturan yang sama seperti {@code field.split(",")}.
+     *
+     * @param index index field (0-based)
+     * @param separator karakter pemisah di dalam field
+     * @return list baru berisi bagian-bagian field
+     */
+    public List<String> getList(int index, char separator) {
+        checkIndex(index);
+        int start = starts[index];
+        int end = ends[index];
+        List<String> values = new ArrayList<>();
+        int valueStart = start;
+        int lastNonEmpty = 0;
+        while (true) {
+            int next = line.indexOf(separator, valueStart);
+            int valueEnd = next >= 0 && next < end ? next : end;
+            values.add(line.substring(valueStart, valueEnd));
+            if (valueEnd > valueStart) {
+                lastNonEmpty = values.size();
+            }
+            if (valueEnd == end) {
+                break;
+            }
+            valueStart = valueEnd + 1;
+        }
+        if (values.size() > 1) {
+            values.subList(lastNonEmpty, values.size()).clear();
+        }
+        return values;
+    }
+
+    /**
+     * Memastikan index field valid.
+     *
+     * @param index index field yang diminta
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Field " + index + " out of " + count);
+        }
+    }
+}
@@ -1,14 +1,38 @@
 package util;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Utility class untuk mengelola operasi file I/O.
  * Menangani pembacaan dan penulisan data ke file teks.
  * Menyediakan method untuk operasi file seperti read, write, append, dan pengecekan eksistensi file.
  *
+ * <p>File data utama (users, films, playlists) dapat berjalan dalam mode journal (log-structured):
+ * setiap perubahan satu record ditambahkan sebagai record put/delete ke file {@code <nama>.journal},
+ * pembaca memutar ulang journal di atas snapshot terakhir, dan thread background melipat journal
+ * ke snapshot baru (compaction) setelah jumlah record melewati batas tertentu.</p>
+ *
+ * <p>Snapshot selalu ditulis secara atomic: isi ditulis ke file sementara, di-fsync, lalu
+ * dipindahkan menimpa file asli dengan {@code ATOMIC_MOVE}, sehingga crash di tengah penulisan
+ * tidak pernah meninggalkan file yang terpotong. Dengan {@code storage.groupCommit.millis} lebih dari 0,
+ * penulisan dalam jendela waktu tersebut digabung menjadi satu kali fsync.</p>
+ *
  * @author lisvindanu
  * @version 2.0
  */
@@ -19,9 +43,65 @@ public class FileManager {
     public static final String USERS_FILE = DATA_DIR + "users.txt";
     public static final String FILMS_FILE = DATA_DIR + "films.txt";
     public static final String PLAYLISTS_FILE = DATA_DIR + "playlists.txt";
+    public static final String FILMS_BINARY_FILE = DATA_DIR + "films.bin";
+    // Jumlah shard yang dipakai file playlist di disk, agar perubahan storage.playlists.shards terdeteksi
+    public static final String PLAYLIST_SHARDS_FILE = DATA_DIR + "playlists.shards";
+
+    // Format penyimpanan film: "text" (films.txt) atau "binary" (films.bin)
+    private static final String FILMS_FORMAT = ConfigManager.getProperty("storage.films.format", "text");
+    // Jumlah shard file playlist; 1 berarti semua playlist tetap di playlists.txt
+    private static final int PLAYLIST_SHARDS =
+            Math.max(1, Integer.parseInt(ConfigManager.getProperty("storage.playlists.shards", "1")));
+
+    // Counter perubahan per file, dipakai cache in-memory untuk mendeteksi data yang sudah usang
+    private static final Map<String, AtomicLong> fileVersions = new ConcurrentHashMap<>();
+
+    // Journal configuration
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String JOURNAL_HEADER = "S|";
+    private static final char OP_APPEND = 'A';
+    private static final char OP_PUT = 'P';
+    private static final char OP_DELETE = 'D';
+    // Delta pada field daftar (dipisah koma): payload berupa <key>|<nomor field>|<nilai>
+    private static final char OP_LIST_ADD = 'L';
+    private static final char OP_LIST_REMOVE = 'R';
+    private static final boolean JOURNAL_ENABLED =
+            Boolean.parseBoolean(ConfigManager.getProperty("storage.journal.enabled", "true"));
+    private static final int COMPACT_THRESHOLD =
+            Integer.parseInt(ConfigManager.getProperty("storage.journal.compactThreshold", "1000"));
+    private static final long GROUP_COMMIT_MS =
+            Long.parseLong(ConfigManager.getProperty("storage.groupCommit.millis", "0"));
+    // Windows tidak bisa mengganti file yang sedang dipetakan, jadi mmap default mati di sana
+    private static final boolean MMAP_ENABLED = Boolean.parseBoolean(ConfigManager.getProperty("storage.mmap.enabled",
+            String.valueOf(!System.getProperty("os.name", "").startsWith("Windows"))));
+
+    // Jumlah field awal yang membentuk key record untuk setiap file yang memakai journal
+    private static final Map<String, Integer> journalKeyFields = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> journalRecordCounts = new ConcurrentHashMap<>();
+    private static final Map<String, Object> fileLocks = new ConcurrentHashMap<>();
+    private static final Set<String> pendingCompactions = ConcurrentHashMap.newKeySet();
+    // Identitas snapshot yang menjadi dasar journal aktif; journal dengan identitas berbeda sudah usang
+    private static final Map<String, String> journalIdentities = new ConcurrentHashMap<>();
+
+    // Group commit: snapshot yang belum ditulis dan journal yang belum di-fsync
+    private static final Map<String, List<String>> pendingSnapshots = new ConcurrentHashMap<>();
+    private static final Set<String> pendingSyncs = ConcurrentHashMap.newKeySet();
+    private static final ScheduledExecutorService ioExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "filemanager-io");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     static {
         initializeDataDirectory();
+        registerJournal(USERS_FILE, 1);     // email
+        registerJournal(FILMS_FILE, 1);     // id
+        registerJournal(PLAYLISTS_FILE, 2); // name|ownerEmail
+        for (int shard = 0; shard < PLAYLIST_SHARDS; shard++) {
+            registerJournal(getPlaylistsFile(shard), 2);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(FileManager::flush, "filemanager-flush"));
     }
 
     /**
@@ -60,11 +140,32 @@ public class FileManager {
 
     /**
      * Membaca semua baris dari file.
+     * Jika file memakai journal, record journal diputar ulang di atas snapshot.
      *
      * @param filePath path file yang akan dibaca
      * @return list berisi semua baris dalam file
      */
     public static List<String> readLines(String filePath) {
+        synchronized (lockFor(filePath)) {
+            List<String> pending = pendingSnapshots.get(filePath);
+            if (pending != null) {
+                return new ArrayList<>(pending);
+            }
+            List<String> lines = readSnapshot(filePath);
+            if (isJournaled(filePath)) {
+                replayJournal(filePath, lines);
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Membaca semua baris dari file snapshot tanpa memperhatikan journal.
+     *
+     * @param filePath path file yang akan dibaca
+     * @return list berisi semua baris dalam file
+     */
+    private static List<String> readSnapshot(String filePath) {
         List<String> lines = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
             String line;
@@ -79,34 +180,341 @@ public class FileManager {
 
     /**
      * Menulis list of lines ke file (overwrite).
-     * File yang sudah ada akan ditimpa dengan data baru.
+     * File yang sudah ada akan ditimpa dengan data baru secara atomic.
+     * Jika file memakai journal, journal ikut dikosongkan karena isinya sudah tercakup di snapshot baru.
+     * Jika group commit aktif, penulisan ditunda sampai akhir jendela group commit.
      *
      * @param filePath path file tujuan
      * @param lines list baris yang akan ditulis
      */
     public static void writeLines(String filePath, List<String> lines) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
+        synchronized (lockFor(filePath)) {
+            try {
+                if (GROUP_COMMIT_MS > 0) {
+                    if (pendingSnapshots.put(filePath, new ArrayList<>(lines)) == null) {
+                        ioExecutor.schedule(() -> flush(filePath), GROUP_COMMIT_MS, TimeUnit.MILLISECONDS);
+                    }
+                } else {
+                    commitSnapshot(filePath, lines);
+                }
+            } catch (IOException e) {
+                logger.error("Error writing data to file: " + filePath + ". Data point may be lost. Check disk space and permissions.", e);
+            } finally {
+                markModified(filePath);
+            }
+        }
+    }
+
+    /**
+     * Menulis snapshot baru dan membuang journal yang isinya sudah tercakup di snapshot tersebut.
+     *
+     * @param filePath path file tujuan
+     * @param lines list baris yang akan ditulis
+     * @throws IOException jika terjadi error saat menulis file
+     */
+    private static void commitSnapshot(String filePath, List<String> lines) throws IOException {
+        writeSnapshot(filePath, lines);
+        if (isJournaled(filePath)) {
+            clearJournal(filePath);
+        }
+    }
+
+    /**
+     * Menulis seluruh baris ke file snapshot secara atomic.
+     * Data ditulis ke file sementara, di-fsync dengan {@link FileChannel#force(boolean)}, lalu
+     * dipindahkan menimpa file asli, sehingga pembaca hanya melihat file lama atau file baru yang utuh.
+     *
+     * @param filePath path file tujuan
+     * @param lines list baris yang akan ditulis
+     * @throws IOException jika terjadi error saat menulis file
+     */
+    private static void writeSnapshot(String filePath, List<String> lines) throws IOException {
+        Path target = Paths.get(filePath);
+        Path temp = Paths.get(filePath + TEMP_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(temp.toFile());
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()))) {
             for (String line : lines) {
                 writer.write(line);
                 writer.newLine();
             }
-        } catch (IOException e) {
-            logger.error("Error writing data to file: " + filePath + ". Data point may be lost. Check disk space and permissions.", e);
+            writer.flush();
+            out.getChannel().force(true);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            logger.warn("Atomic move not supported for {}, falling back to a plain replace", filePath);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
     /**
      * Menambahkan satu baris ke akhir file (append mode).
+     * Jika file memakai journal, baris dicatat sebagai record append di journal.
      *
      * @param filePath path file tujuan
      * @param line baris yang akan ditambahkan
      */
     public static void appendLine(String filePath, String line) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
-            writer.write(line);
-            writer.newLine();
-        } catch (IOException e) {
-            logger.error("Error appending data to file: " + filePath + ". Record update failed.", e);
+        if (isJournaled(filePath)) {
+            appendJournal(filePath, OP_APPEND, line);
+            return;
+        }
+        synchronized (lockFor(filePath)) {
+            List<String> pending = pendingSnapshots.get(filePath);
+            if (pending != null) {
+                pending.add(line);
+                markModified(filePath);
+                return;
+            }
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                logger.error("Error appending data to file: " + filePath + ". Record update failed.", e);
+            } finally {
+                markModified(filePath);
+            }
+        }
+    }
+
+    /**
+     * Menyimpan satu record: mengganti semua baris dengan key yang sama, atau menambahkannya
+     * di akhir jika key belum ada. Key diambil dari field awal baris sesuai registrasi journal.
+     * Pada file tanpa journal, operasi ini menulis ulang seluruh file.
+     *
+     * @param filePath path file tujuan
+     * @param line baris record lengkap
+     */
+    public static void putRecord(String filePath, String line) {
+        if (isJournaled(filePath)) {
+            appendJournal(filePath, OP_PUT, line);
+            return;
+        }
+        synchronized (lockFor(filePath)) {
+            List<String> lines = readLines(filePath);
+            applyRecord(lines, OP_PUT, line, keyFieldsOf(filePath));
+            writeLines(filePath, lines);
+        }
+    }
+
+    /**
+     * Menghapus semua baris dengan key tertentu.
+     * Pada file tanpa journal, operasi ini menulis ulang seluruh file.
+     *
+     * @param filePath path file tujuan
+     * @param keyFields nilai field-field key, misalnya email atau nama playlist dan email pemilik
+     */
+    public static void deleteRecord(String filePath, String... keyFields) {
+        String key = String.join("|", keyFields);
+        if (isJournaled(filePath)) {
+            appendJournal(filePath, OP_DELETE, key);
+            return;
+        }
+        synchronized (lockFor(filePath)) {
+            List<String> lines = readLines(filePath);
+            applyRecord(lines, OP_DELETE, key, keyFieldsOf(filePath));
+            writeLines(filePath, lines);
+        }
+    }
+
+    /**
+     * Menambahkan satu nilai di akhir field daftar (nilai dipisah koma) pada record dengan key tertentu,
+     * misalnya satu ID film ke playlist. Pada file dengan journal hanya delta kecil yang dicatat,
+     * bukan seluruh baris record. Record yang tidak ada tidak berubah.
+     *
+     * @param filePath path file tujuan
+     * @param field nomor field daftar (0-based)
+     * @param value nilai yang ditambahkan; tidak boleh mengandung '|', ',' atau baris baru
+     * @param keyFields nilai field-field key record
+     */
+    public static void addToListField(String filePath, int field, String value, String... keyFields) {
+        writeListDelta(filePath, OP_LIST_ADD, field, value, keyFields);
+    }
+
+    /**
+     * Menghapus semua kemunculan nilai dari field daftar pada record dengan key tertentu.
+     * Pada file dengan journal hanya delta kecil yang dicatat.
+     *
+     * @param filePath path file tujuan
+     * @param field nomor field daftar (0-based)
+     * @param value nilai yang dihapus
+     * @param keyFields nilai field-field key record
+     */
+    public static void removeFromListField(String filePath, int field, String value, String... keyFields) {
+        writeListDelta(filePath, OP_LIST_REMOVE, field, value, keyFields);
+    }
+
+    private static void writeListDelta(String filePath, char op, int field, String value, String... keyFields) {
+        String payload = String.join("|", keyFields) + "|" + field + "|" + value;
+        if (isJournaled(filePath)) {
+            appendJournal(filePath, op, payload);
+            return;
+        }
+        synchronized (lockFor(filePath)) {
+            List<String> lines = readLines(filePath);
+            applyRecord(lines, op, payload, keyFieldsOf(filePath));
+            writeLines(filePath, lines);
+        }
+    }
+
+    /**
+     * Menerapkan delta field daftar ke satu baris record.
+     *
+     * @param line baris record saat ini
+     * @param op {@link #OP_LIST_ADD} atau {@link #OP_LIST_REMOVE}
+     * @param payload payload delta {@code <key>|<nomor field>|<nilai>}
+     * @param keyFields jumlah field awal yang membentuk key
+     * @return baris record setelah delta diterapkan
+     */
+    private static String applyListDelta(String line, char op, String payload, int keyFields) {
+        String[] delta = payload.substring(keyOf(payload, keyFields).length() + 1).split("\\|", 2);
+        int field = Integer.parseInt(delta[0]);
+        String value = delta.length > 1 ? delta[1] : "";
+        List<String> fields = new ArrayList<>(Arrays.asList(line.split("\\|", -1)));
+        while (fields.size() <= field) {
+            fields.add("");
+        }
+        String list = fields.get(field);
+        if (op == OP_LIST_ADD) {
+            fields.set(field, list.isEmpty() ? value : list + "," + value);
+        } else {
+            List<String> values = new ArrayList<>(Arrays.asList(list.split(",")));
+            values.removeIf(existing -> existing.isEmpty() || existing.equals(value));
+            fields.set(field, String.join(",", values));
+        }
+        return String.join("|", fields);
+    }
+
+    /**
+     * Membuka stream baris file yang dibaca secara bertahap (lazy), sehingga operasi count,
+     * filter, dan search berjalan dengan memori konstan berapa pun ukuran file.
+     * Record journal diterapkan dengan aturan yang sama seperti {@link #readLines(String)}.
+     * Stream memegang file yang terbuka dan wajib ditutup, misalnya dengan try-with-resources.
+     *
+     * @param filePath path file yang akan dibaca
+     * @return stream baris file; stream kosong jika file gagal dibuka
+     */
+    public static Stream<String> streamLines(String filePath) {
+        Charset charset = Charset.defaultCharset();
+        synchronized (lockFor(filePath)) {
+            List<String> pending = pendingSnapshots.get(filePath);
+            if (pending != null) {
+                return new ArrayList<>(pending).stream();
+            }
+            FileChannel channel = null;
+            try {
+                // The open channel keeps reading the same snapshot even if it is replaced meanwhile
+                channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+                List<String> records = isJournaled(filePath) ? readJournalRecords(filePath) : Collections.emptyList();
+                JournalOverlay overlay = null;
+                if (!records.isEmpty()) {
+                    int keyFields = keyFieldsOf(filePath);
+                    JournalOverlay journalOverlay = new JournalOverlay(records, keyFields);
+                    BufferedReader keyReader = new BufferedReader(Channels.newReader(channel, charset.newDecoder(), -1));
+                    String line;
+                    while ((line = keyReader.readLine()) != null) {
+                        journalOverlay.visitSnapshotLine(keyOf(line, keyFields), line);
+                    }
+                    journalOverlay.resolve();
+                    channel.position(0);
+                    overlay = journalOverlay;
+                }
+
+                BufferedReader reader = new BufferedReader(Channels.newReader(channel, charset.newDecoder(), -1));
+                Stream<String> lines = reader.lines().onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        logger.warn("Error closing stream for file: {}", filePath, e);
+                    }
+                });
+                if (overlay == null) {
+                    return lines;
+                }
+                JournalOverlay finalOverlay = overlay;
+                int keyFields = keyFieldsOf(filePath);
+                Stream<String> snapshotLines = lines
+                        .map(line -> {
+                            String key = keyOf(line, keyFields);
+                            if (!finalOverlay.touches(key)) {
+                                return line;
+                            }
+                            String replacement = finalOverlay.snapshotLine(key);
+                            return replacement == JournalOverlay.ORIGINAL ? line : replacement;
+                        })
+                        .filter(Objects::nonNull);
+                return Stream.concat(snapshotLines, finalOverlay.appendedLines().stream());
+            } catch (IOException e) {
+                logger.error("Error reading data from file: " + filePath + ". Please ensure the file exists and is readable.", e);
+                if (channel != null) {
+                    try {
+                        channel.close();
+                    } catch (IOException closeError) {
+                        e.addSuppressed(closeError);
+                    }
+                }
+                return Stream.empty();
+            }
+        }
+    }
+
+    /**
+     * Memindai setiap record file tanpa membangun list baris di memori.
+     * Snapshot dipetakan ke memori ({@link MappedRecordReader}) dan record journal diterapkan
+     * sebagai overlay, sehingga hasilnya sama dengan {@link #readLines(String)} tetapi field
+     * hanya di-decode saat diakses. Jika pemetaan tidak tersedia, baris dibaca biasa lalu dibungkus view.
+     *
+     * <p>View hanya valid selama callback berjalan, dan callback tidak boleh menulis ke file yang sama.</p>
+     *
+     * @param filePath path file yang dipindai
+     * @param visitor callback yang menerima view setiap record
+     */
+    public static void scanRecords(String filePath, Consumer<RecordView> visitor) {
+        Charset charset = Charset.defaultCharset();
+        synchronized (lockFor(filePath)) {
+            Path path = Paths.get(filePath);
+            List<String> pending = pendingSnapshots.get(filePath);
+            if (pending != null || !MMAP_ENABLED || !MappedRecordReader.canMap(path.toFile().length())) {
+                for (String line : readLines(filePath)) {
+                    visitor.accept(RecordView.of(line, charset));
+                }
+                return;
+            }
+            try {
+                List<String> records = isJournaled(filePath) ? readJournalRecords(filePath) : Collections.emptyList();
+                if (records.isEmpty()) {
+                    MappedRecordReader.scan(path, charset, visitor);
+                    return;
+                }
+
+                // Journal present: find which journal keys exist in the snapshot, then overlay the records
+                int keyFields = keyFieldsOf(filePath);
+                JournalOverlay overlay = new JournalOverlay(records, keyFields);
+                MappedRecordReader.scan(path, charset, view -> {
+                    String key = view.key(keyFields);
+                    if (overlay.touches(key)) {
+                        overlay.visitSnapshotLine(key, overlay.needsLine(key) ? view.line() : null);
+                    }
+                });
+                overlay.resolve();
+                MappedRecordReader.scan(path, charset, view -> {
+                    String key = view.key(keyFields);
+                    if (!overlay.touches(key)) {
+                        visitor.accept(view);
+                        return;
+                    }
+                    String replacement = overlay.snapshotLine(key);
+                    if (replacement != null) {
+                        visitor.accept(replacement == JournalOverlay.ORIGINAL ? view : RecordView.of(replacement, charset));
+                    }
+                });
+                for (String line : overlay.appendedLines()) {
+                    visitor.accept(RecordView.of(line, charset));
+                }
+            } catch (IOException e) {
+                logger.error("Error reading data from file: " + filePath + ". Please ensure the file exists and is readable.", e);
+            }
         }
     }
 
@@ -119,4 +527,823 @@ public class FileManager {
     public static boolean fileExists(String filePath) {
         return Files.exists(Paths.get(filePath));
     }
+
+    /**
+     * Menghapus file beserta journal-nya, termasuk snapshot yang masih menunggu group commit.
+     *
+     * @param filePath path file yang akan dihapus
+     */
+    public static void deleteFile(String filePath) {
+        synchronized (lockFor(filePath)) {
+            pendingSnapshots.remove(filePath);
+            try {
+                Files.deleteIfExists(Paths.get(filePath));
+                clearJournal(filePath);
+            } catch (IOException e) {
+                logger.error("Error deleting file: " + filePath + ". Check file permissions.", e);
+            } finally {
+                markModified(filePath);
+            }
+        }
+    }
+
+    /**
+     * Memindahkan file ke path lain tanpa menimpa file tujuan yang sudah ada.
+     *
+     * @param source path file asal
+     * @param target path file tujuan
+     * @return true jika file berhasil dipindahkan
+     */
+    public static boolean moveFile(String source, String target) {
+        synchronized (lockFor(source)) {
+            try {
+                Files.move(Paths.get(source), Paths.get(target));
+                return true;
+            } catch (IOException e) {
+                logger.error("Error moving file " + source + " to " + target + ". Check file permissions.", e);
+                return false;
+            } finally {
+                markModified(source);
+                markModified(target);
+            }
+        }
+    }
+
+    /**
+     * Mencari file di direktori data yang namanya cocok dengan pola glob.
+     *
+     * @param glob pola nama file, misalnya {@code playlists*.reshard*}
+     * @return path file yang cocok, dengan format yang sama seperti konstanta path di class ini
+     */
+    public static List<String> listDataFiles(String glob) {
+        List<String> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(DATA_DIR), glob)) {
+            for (Path path : stream) {
+                files.add(DATA_DIR + path.getFileName());
+            }
+        } catch (IOException e) {
+            logger.error("Error listing data files matching " + glob + " in " + DATA_DIR, e);
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Mendapatkan path file film sesuai format yang dipilih lewat konfigurasi {@code storage.films.format}.
+     *
+     * @return {@link #FILMS_BINARY_FILE} jika format binary dipilih, selain itu {@link #FILMS_FILE}
+     */
+    public static String getFilmsFile() {
+        return "binary".equalsIgnoreCase(FILMS_FORMAT) ? FILMS_BINARY_FILE : FILMS_FILE;
+    }
+
+    /**
+     * Mendapatkan jumlah shard file playlist sesuai konfigurasi {@code storage.playlists.shards}.
+     *
+     * @return jumlah shard, minimal 1
+     */
+    public static int getPlaylistShardCount() {
+        return PLAYLIST_SHARDS;
+    }
+
+    /**
+     * Mendapatkan path file untuk satu shard playlist.
+     *
+     * @param shard nomor shard, dari 0 sampai {@link #getPlaylistShardCount()} - 1
+     * @return {@link #PLAYLISTS_FILE} jika hanya ada satu shard, selain itu {@code playlists-<shard>.txt}
+     */
+    public static String getPlaylistsFile(int shard) {
+        return getPlaylistsFile(shard, PLAYLIST_SHARDS);
+    }
+
+    /**
+     * Mendapatkan path file untuk satu shard playlist pada jumlah shard tertentu,
+     * dipakai saat memindahkan playlist dari susunan shard lama ke susunan baru.
+     *
+     * @param shard nomor shard, dari 0 sampai shardCount - 1
+     * @param shardCount jumlah shard
+     * @return {@link #PLAYLISTS_FILE} jika hanya ada satu shard, selain itu {@code playlists-<shard>.txt}
+     */
+    public static String getPlaylistsFile(int shard, int shardCount) {
+        return shardCount == 1 ? PLAYLISTS_FILE : DATA_DIR + "playlists-" + shard + ".txt";
+    }
+
+    /**
+     * Membaca seluruh isi file biner.
+     *
+     * @param filePath path file yang akan dibaca
+     * @return isi file, atau array kosong jika file tidak ada atau gagal dibaca
+     */
+    public static byte[] readBytes(String filePath) {
+        synchronized (lockFor(filePath)) {
+            Path path = Paths.get(filePath);
+            if (!Files.exists(path)) {
+                return new byte[0];
+            }
+            try {
+                return Files.readAllBytes(path);
+            } catch (IOException e) {
+                logger.error("Error reading data from file: " + filePath + ". Please ensure the file exists and is readable.", e);
+                return new byte[0];
+            }
+        }
+    }
+
+    /**
+     * Menulis seluruh isi file biner secara atomic dengan cara yang sama seperti snapshot teks:
+     * file sementara, fsync, lalu move menimpa file asli.
+     *
+     * @param filePath path file tujuan
+     * @param data isi file baru
+     */
+    public static void writeBytes(String filePath, byte[] data) {
+        synchronized (lockFor(filePath)) {
+            Path target = Paths.get(filePath);
+            Path temp = Paths.get(filePath + TEMP_SUFFIX);
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(data);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(true);
+                }
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    logger.warn("Atomic move not supported for {}, falling back to a plain replace", filePath);
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                logger.error("Error writing data to file: " + filePath + ". Data point may be lost. Check disk space and permissions.", e);
+            } finally {
+                markModified(filePath);
+            }
+        }
+    }
+
+    /**
+     * Menambahkan byte ke akhir file biner lalu melakukan fsync.
+     *
+     * @param filePath path file tujuan
+     * @param data byte yang akan ditambahkan
+     */
+    public static void appendBytes(String filePath, byte[] data) {
+        synchronized (lockFor(filePath)) {
+            try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                logger.error("Error appending data to file: " + filePath + ". Record update failed.", e);
+            } finally {
+                markModified(filePath);
+            }
+        }
+    }
+
+    /**
+     * Mendaftarkan file agar perubahan per record dicatat di journal.
+     * Tidak berpengaruh jika mode journal dimatikan lewat konfigurasi {@code storage.journal.enabled}.
+     *
+     * @param filePath path file snapshot
+     * @param keyFields jumlah field awal yang membentuk key unik record
+     */
+    public static void registerJournal(String filePath, int keyFields) {
+        journalKeyFields.put(filePath, keyFields);
+    }
+
+    /**
+     * Mengecek apakah file sedang memakai mode journal.
+     *
+     * @param filePath path file yang dicek
+     * @return true jika perubahan file dicatat di journal
+     */
+    public static boolean isJournaled(String filePath) {
+        return JOURNAL_ENABLED && journalKeyFields.containsKey(filePath);
+    }
+
+    /**
+     * Melipat isi journal ke snapshot baru lalu mengosongkan journal.
+     * Aman diulang: semua record journal bersifat idempotent terhadap snapshot hasil compaction.
+     *
+     * @param filePath path file snapshot
+     */
+    public static void compact(String filePath) {
+        if (!isJournaled(filePath)) {
+            return;
+        }
+        synchronized (lockFor(filePath)) {
+            if (pendingSnapshots.containsKey(filePath)) {
+                return; // The pending group commit will replace the snapshot and the journal anyway
+            }
+            try {
+                List<String> lines = readSnapshot(filePath);
+                if (replayJournal(filePath, lines) == 0) {
+                    return;
+                }
+                commitSnapshot(filePath, lines);
+                logger.info("Compacted journal into snapshot: {} ({} records)", filePath, lines.size());
+            } catch (IOException e) {
+                logger.error("Error compacting journal for file: " + filePath + ". Journal is kept and will be replayed on next read.", e);
+            }
+        }
+    }
+
+    /**
+     * Menulis semua snapshot yang masih tertunda oleh group commit dan melakukan fsync journal.
+     * Dipanggil otomatis saat aplikasi ditutup.
+     */
+    public static void flush() {
+        for (String filePath : new ArrayList<>(pendingSnapshots.keySet())) {
+            flush(filePath);
+        }
+        for (String filePath : new ArrayList<>(pendingSyncs)) {
+            syncJournal(filePath);
+        }
+    }
+
+    /**
+     * Menulis snapshot tertunda milik satu file dalam satu kali penulisan atomic.
+     *
+     * @param filePath path file snapshot
+     */
+    private static void flush(String filePath) {
+        synchronized (lockFor(filePath)) {
+            List<String> pending = pendingSnapshots.remove(filePath);
+            if (pending == null) {
+                return;
+            }
+            try {
+                commitSnapshot(filePath, pending);
+            } catch (IOException e) {
+                logger.error("Error writing data to file: " + filePath + ". Data point may be lost. Check disk space and permissions.", e);
+            }
+        }
+    }
+
+    /**
+     * Melakukan fsync journal yang sudah ditulis selama jendela group commit.
+     *
+     * @param filePath path file snapshot
+     */
+    private static void syncJournal(String filePath) {
+        pendingSyncs.remove(filePath);
+        synchronized (lockFor(filePath)) {
+            try (FileChannel channel = FileChannel.open(journalPath(filePath), StandardOpenOption.WRITE)) {
+                channel.force(false);
+            } catch (NoSuchFileException e) {
+                // Journal sudah dilipat ke snapshot yang di-fsync
+            } catch (IOException e) {
+                logger.error("Error syncing journal for file: " + filePath + ". Recent changes may not survive a crash.", e);
+            }
+        }
+    }
+
+    /**
+     * Menambahkan satu record ke journal dan menjadwalkan compaction jika journal sudah terlalu panjang.
+     *
+     * @param filePath path file snapshot
+     * @param op jenis operasi (append, put, atau delete)
+     * @param payload baris record atau key record
+     */
+    private static void appendJournal(String filePath, char op, String payload) {
+        Path journal = journalPath(filePath);
+        byte[] record = (op + "|" + payload + "\n").getBytes(StandardCharsets.UTF_8);
+        synchronized (lockFor(filePath)) {
+            try {
+                List<String> pending = pendingSnapshots.get(filePath);
+                if (pending != null) {
+                    // A snapshot is already waiting for group commit; fold the record into it
+                    applyRecord(pending, op, payload, keyFieldsOf(filePath));
+                    return;
+                }
+                prepareJournal(filePath, journal);
+                try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    channel.write(ByteBuffer.wrap(record));
+                    if (GROUP_COMMIT_MS <= 0) {
+                        channel.force(false);
+                    }
+                }
+                if (GROUP_COMMIT_MS > 0 && pendingSyncs.add(filePath)) {
+                    ioExecutor.schedule(() -> syncJournal(filePath), GROUP_COMMIT_MS, TimeUnit.MILLISECONDS);
+                }
+            } catch (IOException e) {
+                journalIdentities.remove(filePath); // Re-check the tail before the next append
+                logger.error("Error appending record to journal: " + journal + ". Record update failed.", e);
+                return;
+            } finally {
+                markModified(filePath);
+            }
+        }
+        if (journalCounter(filePath).incrementAndGet() >= COMPACT_THRESHOLD && pendingCompactions.add(filePath)) {
+            ioExecutor.execute(() -> {
+                pendingCompactions.remove(filePath);
+                compact(filePath);
+            });
+        }
+    }
+
+    /**
+     * Memastikan journal siap ditambah record baru.
+     * Journal yang dibuat untuk snapshot lama (misalnya crash setelah snapshot diganti tetapi sebelum
+     * journal dihapus) dibuang, dan journal baru diawali header berisi identitas snapshot saat ini.
+     *
+     * @param filePath path file snapshot
+     * @param journal path file journal
+     * @throws IOException jika journal gagal diperiksa atau dibuat
+     */
+    private static void prepareJournal(String filePath, Path journal) throws IOException {
+        String identity = snapshotIdentity(filePath);
+        if (identity.equals(journalIdentities.get(filePath))) {
+            return;
+        }
+        if (Files.exists(journal)) {
+            String header = readJournalHeader(journal);
+            if (header == null || header.equals(identity)) {
+                repairTornTail(journal);
+                journalIdentities.put(filePath, identity);
+                return;
+            }
+            logger.warn("Discarding stale journal written for an older snapshot: {}", journal);
+            Files.delete(journal);
+        }
+        Files.write(journal, (JOURNAL_HEADER + identity + "\n").getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        journalIdentities.put(filePath, identity);
+        journalCounter(filePath).set(0);
+    }
+
+    /**
+     * Membaca identitas snapshot dari header journal.
+     *
+     * @param journal path file journal
+     * @return identitas snapshot, atau null jika journal tidak memiliki header
+     * @throws IOException jika journal gagal dibaca
+     */
+    private static String readJournalHeader(Path journal) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String first = reader.readLine();
+            if (first != null && first.startsWith(JOURNAL_HEADER)) {
+                return first.substring(JOURNAL_HEADER.length());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Menghitung identitas file snapshot dari inode, ukuran, dan waktu modifikasi.
+     * Snapshot baru selalu dipasang lewat move atomic sehingga identitasnya pasti berubah.
+     *
+     * @param filePath path file snapshot
+     * @return string identitas snapshot
+     */
+    private static String snapshotIdentity(String filePath) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(Paths.get(filePath), BasicFileAttributes.class);
+            Object fileKey = attributes.fileKey();
+            return (fileKey != null ? fileKey.toString() : "-") + ":" + attributes.size()
+                    + ":" + attributes.lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return "missing";
+        }
+    }
+
+    /**
+     * Memutar ulang record journal di atas baris snapshot.
+     * Record terakhir yang tidak diakhiri newline (tulisan terpotong saat crash) diabaikan.
+     *
+     * @param filePath path file snapshot
+     * @param lines baris snapshot yang akan diperbarui
+     * @return jumlah record journal yang diputar ulang
+     */
+    private static int replayJournal(String filePath, List<String> lines) {
+        List<String> records = readJournalRecords(filePath);
+        if (records.isEmpty()) {
+            return 0;
+        }
+        int keyFields = keyFieldsOf(filePath);
+        Map<String, List<Integer>> positions = indexByKey(lines, keyFields);
+        for (String record : records) {
+            applyRecord(lines, positions, record.charAt(0), record.substring(2), keyFields);
+        }
+        lines.removeIf(Objects::isNull);
+        return records.size();
+    }
+
+    /**
+     * Membaca record lengkap dari journal yang masih berlaku untuk snapshot saat ini.
+     * Setiap record berbentuk {@code <op>|<payload>}. Record terakhir yang tidak diakhiri newline
+     * (tulisan terpotong saat crash) dan journal milik snapshot lama diabaikan.
+     *
+     * @param filePath path file snapshot
+     * @return list record journal sesuai urutan penulisan
+     */
+    private static List<String> readJournalRecords(String filePath) {
+        Path journal = journalPath(filePath);
+        List<String> records = new ArrayList<>();
+        if (!Files.exists(journal)) {
+            return records;
+        }
+        String content;
+        try {
+            content = new String(Files.readAllBytes(journal), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.error("Error reading journal: " + journal + ". Recent changes may be missing.", e);
+            return records;
+        }
+
+        int start = 0;
+        int end;
+        if (content.startsWith(JOURNAL_HEADER)) {
+            end = content.indexOf('\n');
+            if (end < 0 || !content.substring(JOURNAL_HEADER.length(), end).equals(snapshotIdentity(filePath))) {
+                logger.warn("Ignoring stale journal written for an older snapshot: {}", journal);
+                return records;
+            }
+            start = end + 1;
+        }
+        while ((end = content.indexOf('\n', start)) >= 0) {
+            if (end - start >= 2 && content.charAt(start + 1) == '|') {
+                records.add(content.substring(start, end));
+            }
+            start = end + 1;
+        }
+        if (start < content.length()) {
+            logger.warn("Ignoring torn record at the end of journal: {}", journal);
+        }
+        journalCounter(filePath).set(records.size());
+        return records;
+    }
+
+    /**
+     * Menerapkan satu operasi record ke list baris tanpa index yang sudah dibangun sebelumnya.
+     *
+     * @param lines baris yang sedang diperbarui
+     * @param op jenis operasi (append, put, atau delete)
+     * @param payload baris record (append/put) atau key record (delete)
+     * @param keyFields jumlah field awal yang membentuk key
+     */
+    private static void applyRecord(List<String> lines, char op, String payload, int keyFields) {
+        applyRecord(lines, indexByKey(lines, keyFields), op, payload, keyFields);
+        lines.removeIf(Objects::isNull);
+    }
+
+    /**
+     * Menerapkan satu operasi record ke list baris.
+     * Baris yang dihapus ditandai null agar posisi baris lain di index tetap valid.
+     *
+     * @param lines baris yang sedang diperbarui
+     * @param positions index key ke posisi baris
+     * @param op jenis operasi (append, put, atau delete)
+     * @param payload baris record (append/put) atau key record (delete)
+     * @param keyFields jumlah field awal yang membentuk key
+     */
+    private static void applyRecord(List<String> lines, Map<String, List<Integer>> positions,
+                                    char op, String payload, int keyFields) {
+        String key = op == OP_DELETE ? payload : keyOf(payload, keyFields);
+        List<Integer> existing = positions.get(key);
+        switch (op) {
+            case OP_APPEND:
+                positions.computeIfAbsent(key, k -> new ArrayList<>()).add(lines.size());
+                lines.add(payload);
+                break;
+            case OP_PUT:
+                if (existing == null || existing.isEmpty()) {
+                    positions.computeIfAbsent(key, k -> new ArrayList<>()).add(lines.size());
+                    lines.add(payload);
+                } else {
+                    for (int position : existing) {
+                        lines.set(position, payload);
+                    }
+                }
+                break;
+            case OP_DELETE:
+                if (existing != null) {
+                    for (int position : existing) {
+                        lines.set(position, null);
+                    }
+                    positions.remove(key);
+                }
+                break;
+            case OP_LIST_ADD:
+            case OP_LIST_REMOVE:
+                // Applied to the first line with the key, then stored like a put so duplicates stay identical
+                if (existing != null && !existing.isEmpty()) {
+                    String edited = applyListDelta(lines.get(existing.get(0)), op, payload, keyFields);
+                    for (int position : existing) {
+                        lines.set(position, edited);
+                    }
+                }
+                break;
+            default:
+                logger.warn("Skipping unknown journal operation: {}", op);
+        }
+    }
+
+    /**
+     * Membangun index dari key record ke posisi baris.
+     *
+     * @param lines baris record
+     * @param keyFields jumlah field awal yang membentuk key
+     * @return map key ke daftar posisi baris
+     */
+    private static Map<String, List<Integer>> indexByKey(List<String> lines, int keyFields) {
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            positions.computeIfAbsent(keyOf(lines.get(i), keyFields), k -> new ArrayList<>()).add(i);
+        }
+        return positions;
+    }
+
+    /**
+     * Mengambil key record, yaitu sejumlah field awal baris (dipisah pipe).
+     *
+     * @param line baris record
+     * @param keyFields jumlah field awal yang membentuk key
+     * @return key record
+     */
+    private static String keyOf(String line, int keyFields) {
+        int end = -1;
+        for (int i = 0; i < keyFields; i++) {
+            end = line.indexOf('|', end + 1);
+            if (end < 0) {
+                return line;
+            }
+        }
+        return line.substring(0, end);
+    }
+
+    /**
+     * Memotong record terakhir journal yang tidak lengkap agar record baru tidak tersambung dengannya.
+     *
+     * @param journal path file journal
+     */
+    private static void repairTornTail(Path journal) {
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long validSize = size;
+            ByteBuffer single = ByteBuffer.allocate(1);
+            while (validSize > 0) {
+                single.clear();
+                channel.read(single, validSize - 1);
+                if (single.get(0) == '\n') {
+                    break;
+                }
+                validSize--;
+            }
+            if (validSize < size) {
+                channel.truncate(validSize);
+                logger.warn("Truncated torn record at the end of journal: {}", journal);
+            }
+        } catch (NoSuchFileException e) {
+            // Journal belum ada, tidak ada yang perlu diperbaiki
+        } catch (IOException e) {
+            logger.error("Error checking journal tail: " + journal, e);
+        }
+    }
+
+    /**
+     * Mendapatkan jumlah field key untuk file yang terdaftar di journal.
+     *
+     * @param filePath path file snapshot
+     * @return jumlah field key (default 1)
+     */
+    private static int keyFieldsOf(String filePath) {
+        return journalKeyFields.getOrDefault(filePath, 1);
+    }
+
+    /**
+     * Menghapus file journal setelah isinya tercakup di snapshot.
+     *
+     * @param filePath path file snapshot
+     * @throws IOException jika journal gagal dihapus
+     */
+    private static void clearJournal(String filePath) throws IOException {
+        Files.deleteIfExists(journalPath(filePath));
+        journalIdentities.remove(filePath);
+        journalCounter(filePath).set(0);
+    }
+
+    /**
+     * Mendapatkan path file journal untuk sebuah file snapshot.
+     *
+     * @param filePath path file snapshot
+     * @return path file journal
+     */
+    private static Path journalPath(String filePath) {
+        return Paths.get(filePath + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Mendapatkan counter jumlah record journal untuk sebuah file.
+     *
+     * @param filePath path file snapshot
+     * @return counter jumlah record journal
+     */
+    private static AtomicInteger journalCounter(String filePath) {
+        return journalRecordCounts.computeIfAbsent(filePath, k -> new AtomicInteger());
+    }
+
+    /**
+     * Mendapatkan objek lock untuk sebuah file agar baca, tulis, dan compaction tidak saling tumpang tindih.
+     *
+     * @param filePath path file
+     * @return objek lock milik file tersebut
+     */
+    private static Object lockFor(String filePath) {
+        return fileLocks.computeIfAbsent(filePath, k -> new Object());
+    }
+
+    /**
+     * Mendapatkan nomor versi file, yaitu jumlah penulisan yang dilakukan melalui FileManager
+     * sejak aplikasi berjalan. Dipakai oleh cache in-memory untuk mengetahui kapan harus memuat ulang
+     * tanpa perlu membaca file dari disk.
+     *
+     * @param filePath path file yang dicek
+     * @return nomor versi file saat ini
+     */
+    public static long getFileVersion(String filePath) {
+        AtomicLong version = fileVersions.get(filePath);
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * Menaikkan nomor versi file setelah terjadi penulisan.
+     *
+     * @param filePath path file yang berubah
+     */
+    private static void markModified(String filePath) {
+        fileVersions.computeIfAbsent(filePath, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Overlay hasil record journal untuk pemindaian snapshot secara streaming.
+     * Menerapkan aturan yang sama dengan {@link #applyRecord}: put mengganti semua baris dengan key
+     * yang sama atau menambah di akhir, delete menghapus semua baris dengan key tersebut.
+     */
+    private static class JournalOverlay {
+        static final String ORIGINAL = new String("original");
+        private static final String DELETED = new String("deleted");
+
+        private final List<String> records;
+        private final int keyFields;
+        private final Set<String> keys = new HashSet<>();
+        private final Set<String> deltaKeys = new HashSet<>();
+        // Key journal yang memiliki baris di snapshot, dan baris pertamanya jika dibutuhkan delta
+        private final Set<String> keysInSnapshot = new HashSet<>();
+        private final Map<String, String> originalLines = new HashMap<>();
+        // Key snapshot -> baris pengganti, DELETED, atau tidak ada (baris asli dipakai)
+        private final Map<String, String> snapshotLines = new HashMap<>();
+        // Baris yang ditambahkan di akhir: pasangan {key, baris}; baris null berarti sudah dihapus
+        private final List<String[]> appended = new ArrayList<>();
+
+        /**
+         * Konstruktor JournalOverlay.
+         *
+         * @param records record journal sesuai urutan penulisan
+         * @param keyFields jumlah field awal yang membentuk key
+         */
+        JournalOverlay(List<String> records, int keyFields) {
+            this.records = records;
+            this.keyFields = keyFields;
+            for (String record : records) {
+                keys.add(keyOfRecord(record));
+                if (record.charAt(0) == OP_LIST_ADD || record.charAt(0) == OP_LIST_REMOVE) {
+                    deltaKeys.add(keyOfRecord(record));
+                }
+            }
+        }
+
+        /**
+         * Mengecek apakah isi baris snapshot dengan key ini dibutuhkan, yaitu jika ada delta field daftar untuknya.
+         *
+         * @param key key record
+         * @return true jika baris asli perlu diberikan ke {@link #visitSnapshotLine(String, String)}
+         */
+        boolean needsLine(String key) {
+            return deltaKeys.contains(key);
+        }
+
+        /**
+         * Mencatat baris snapshot yang key-nya disentuh journal. Dipanggil untuk setiap baris snapshot
+         * sebelum {@link #resolve()}.
+         *
+         * @param key key baris
+         * @param line isi baris; boleh null jika {@link #needsLine(String)} bernilai false
+         */
+        void visitSnapshotLine(String key, String line) {
+            if (keys.contains(key)) {
+                keysInSnapshot.add(key);
+                if (line != null && deltaKeys.contains(key)) {
+                    originalLines.putIfAbsent(key, line);
+                }
+            }
+        }
+
+        /**
+         * Mengecek apakah key disentuh oleh journal.
+         *
+         * @param key key record
+         * @return true jika ada record journal untuk key tersebut
+         */
+        boolean touches(String key) {
+            return keys.contains(key);
+        }
+
+        /**
+         * Memutar ulang record journal setelah semua baris snapshot dikunjungi.
+         */
+        void resolve() {
+            Map<String, List<String[]>> appendedByKey = new HashMap<>();
+            for (String record : records) {
+                char op = record.charAt(0);
+                String payload = record.substring(2);
+                String key = keyOfRecord(record);
+                boolean inSnapshot = keysInSnapshot.contains(key) && snapshotLines.get(key) != DELETED;
+                List<String[]> tail = appendedByKey.computeIfAbsent(key, k -> new ArrayList<>());
+                boolean inTail = tail.stream().anyMatch(entry -> entry[1] != null);
+                if (op == OP_APPEND || (op == OP_PUT && !inSnapshot && !inTail)) {
+                    String[] entry = {key, payload};
+                    appended.add(entry);
+                    tail.add(entry);
+                } else if (op == OP_PUT || op == OP_DELETE) {
+                    String line = op == OP_PUT ? payload : null;
+                    if (inSnapshot) {
+                        snapshotLines.put(key, op == OP_PUT ? payload : DELETED);
+                    }
+                    for (String[] entry : tail) {
+                        if (entry[1] != null) {
+                            entry[1] = line;
+                        }
+                    }
+                } else if (op == OP_LIST_ADD || op == OP_LIST_REMOVE) {
+                    // Same rule as applyRecord: edit the first live line with the key, then put it everywhere
+                    String current = null;
+                    if (inSnapshot) {
+                        current = snapshotLines.containsKey(key) ? snapshotLines.get(key) : originalLines.get(key);
+                    } else if (inTail) {
+                        current = tail.stream().filter(entry -> entry[1] != null).findFirst().get()[1];
+                    }
+                    if (current == null) {
+                        continue;
+                    }
+                    String line = applyListDelta(current, op, payload, keyFields);
+                    if (inSnapshot) {
+                        snapshotLines.put(key, line);
+                    }
+                    for (String[] entry : tail) {
+                        if (entry[1] != null) {
+                            entry[1] = line;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Mendapatkan baris hasil akhir untuk baris snapshot dengan key tertentu.
+         *
+         * @param key key record
+         * @return {@link #ORIGINAL} jika baris asli dipakai, baris pengganti, atau null jika dihapus
+         */
+        String snapshotLine(String key) {
+            String line = snapshotLines.get(key);
+            if (line == null) {
+                return ORIGINAL;
+            }
+            return line == DELETED ? null : line;
+        }
+
+        /**
+         * Mendapatkan baris yang ditambahkan di akhir file dan belum dihapus.
+         *
+         * @return list baris tambahan sesuai urutan
+         */
+        List<String> appendedLines() {
+            List<String> lines = new ArrayList<>();
+            for (String[] entry : appended) {
+                if (entry[1] != null) {
+                    lines.add(entry[1]);
+                }
+            }
+            return lines;
+        }
+
+        /**
+         * Mengambil key dari sebuah record journal.
+         *
+         * @param record record journal berbentuk {@code <op>|<payload>}
+         * @return key record
+         */
+        private String keyOfRecord(String record) {
+            String payload = record.substring(2);
+            return record.charAt(0) == OP_DELETE ? payload : keyOf(payload, keyFields);
+        }
+    }
 }
@@ -0,0 +1,244 @@
+package util;
+
+import model.Film;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encoder dan decoder format biner ringkas untuk data Film.
+ *
+ * <p>Struktur file: header berisi magic {@code FLMB} dan versi schema (varint), diikuti record
+ * berurutan. Setiap record diawali panjang body (varint), lalu field dalam urutan
+ * id, title, director, genre, year, synopsis, posterPath, flags. String disimpan sebagai panjang
+ * (varint) diikuti byte UTF-8, year sebagai varint zigzag, dan flags sebagai satu byte
+ * (bit 0 = visible). Karena setiap field punya panjang sendiri, synopsis boleh berisi pipe (|)
+ * tanpa escape, dan membaca file tidak memerlukan split regex maupun parse angka dari teks.</p>
+ *
+ * <p>Field baru pada versi schema yang sama ditambahkan di akhir body record; pembaca lama
+ * melewatinya berkat panjang body. Record terakhir yang terpotong (crash saat append) diabaikan.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class FilmBinaryCodec {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(FilmBinaryCodec.class);
+
+    private static final byte[] MAGIC = {'F', 'L', 'M', 'B'};
+    public static final int SCHEMA_VERSION = 1;
+    private static final int FLAG_VISIBLE = 1;
+
+    /**
+     * Mengkodekan seluruh film menjadi isi file biner lengkap beserta header.
+     *
+     * @param films list film yang akan dikodekan
+     * @return isi file biner
+     */
+    public static byte[] encode(List<Film> films) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + films.size() * 128);
+        out.write(MAGIC, 0, MAGIC.length);
+        writeVarint(out, SCHEMA_VERSION);
+        for (Film film : films) {
+            writeRecord(out, film);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Mengkodekan satu film sebagai record yang bisa ditambahkan ke akhir file biner.
+     *
+     * @param film film yang akan dikodekan
+     * @return byte record (dengan prefix panjang)
+     */
+    public static byte[] encodeRecord(Film film) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        writeRecord(out, film);
+        return out.toByteArray();
+    }
+
+    /**
+     * Mendekode isi file biner ke dalam list film.
+     *
+     * @param data isi file biner; array kosong dianggap file tanpa film
+     * @param films list tujuan hasil decode
+     * @return jumlah byte yang valid; lebih kecil dari panjang data jika record terakhir terpotong
+     * @throws IOException jika header tidak dikenali atau versi schema tidak didukung
+     */
+    public static int decode(byte[] data, List<Film> films) throws IOException {
+        if (data.length == 0) {
+            return 0;
+        }
+        Reader reader = new Reader(data);
+        for (byte b : MAGIC) {
+            if (reader.remaining() == 0 || data[reader.position++] != b) {
+                throw new IOException("Not a binary film file (bad magic)");
+            }
+        }
+        int version = reader.readVarint();
+        if (version < 1 || version > SCHEMA_VERSION) {
+            throw new IOException("Unsupported film schema version: " + version);
+        }
+
+        int valid = reader.position;
+        while (reader.remaining() > 0) {
+            int recordStart = reader.position;
+            int length = reader.readVarint();
+            if (length < 0 || length > reader.remaining()) {
+                // Torn append: drop the partial record and everything after it
+                logger.warn("Ignoring truncated film record at byte {}", recordStart);
+                return valid;
+            }
+            int recordEnd = reader.position + length;
+            try {
+                String id = reader.readString();
+                String title = reader.readString();
+                String director = reader.readString();
+                String genre = reader.readString();
+                int year = reader.readZigzag();
+                String synopsis = reader.readString();
+                String posterPath = reader.readString();
+                int flags = data[reader.position++];
+                if (reader.position > recordEnd) {
+                    throw new IOException("Film record at byte " + recordStart + " overruns its length");
+                }
+                films.add(new Film(id, title, director, genre, year, synopsis, posterPath, (flags & FLAG_VISIBLE) != 0));
+            } catch (IndexOutOfBoundsException e) {
+                throw new IOException("Corrupt film record at byte " + recordStart, e);
+            }
+            // Skip fields added by later revisions of this schema version
+            reader.position = recordEnd;
+            valid = recordEnd;
+        }
+        return valid;
+    }
+
+    /**
+     * Konversi satu kali dari file film format teks ke format biner.
+     * Baris teks dibaca lewat FileManager sehingga journal ikut diputar ulang.
+     *
+     * @param textPath path file film format teks
+     * @param binaryPath path file biner tujuan
+     * @return jumlah film yang dikonversi
+     */
+    public static int convert(String textPath, String binaryPath) {
+        List<Film> films = new ArrayList<>();
+        for (String line : FileManager.readLines(textPath)) {
+            Film film = Film.fromFileLine(line);
+            if (film != null) {
+                films.add(film);
+            }
+        }
+        FileManager.writeBytes(binaryPath, encode(films));
+        logger.info("Converted {} films from {} to {}", films.size(), textPath, binaryPath);
+        return films.size();
+    }
+
+    /**
+     * Entry point konverter dari command line.
+     * Argumen opsional: path file teks dan path file biner (default films.txt dan films.bin di direktori data).
+     *
+     * @param args argumen command line
+     */
+    public static void main(String[] args) {
+        String textPath = args.length > 0 ? args[0] : FileManager.FILMS_FILE;
+        String binaryPath = args.length > 1 ? args[1] : FileManager.FILMS_BINARY_FILE;
+        int count = convert(textPath, binaryPath);
+        System.out.println("Converted " + count + " films to " + binaryPath);
+    }
+
+    /**
+     * Menulis satu record film dengan prefix panjang body.
+     *
+     * @param out stream tujuan
+     * @param film film yang akan ditulis
+     */
+    private static void writeRecord(ByteArrayOutputStream out, Film film) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(128);
+        writeString(body, film.getId());
+        writeString(body, film.getTitle());
+        writeString(body, film.getDirector());
+        writeString(body, film.getGenre());
+        writeVarint(body, (film.getYear() << 1) ^ (film.getYear() >> 31));
+        writeString(body, film.getSynopsis());
+        writeString(body, film.getPosterPath());
+        body.write(film.isVisible() ? FLAG_VISIBLE : 0);
+        writeVarint(out, body.size());
+        byte[] bytes = body.toByteArray();
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Menulis String sebagai panjang UTF-8 (varint) diikuti byte-nya. Null ditulis sebagai String kosong.
+     *
+     * @param out stream tujuan
+     * @param value nilai yang akan ditulis
+     */
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Menulis bilangan tak bertanda sebagai varint (7 bit per byte, bit tertinggi menandai lanjutan).
+     *
+     * @param out stream tujuan
+     * @param value nilai yang akan ditulis
+     */
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Cursor baca di atas isi file biner.
+     */
+    private static class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int remaining() {
+            return data.length - position;
+        }
+
+        /**
+         * Membaca varint; mengembalikan -1 jika data habis di tengah varint.
+         */
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                if (position >= data.length) {
+                    return -1;
+                }
+                byte b = data[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            return -1;
+        }
+
+        int readZigzag() {
+            int raw = readVarint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        String readString() {
+            int length = readVarint();
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * List ID film yang ringkas untuk playlist, dengan urutan sesuai penambahan.
+ *
+ * <p>ID film TMDB berupa angka, sehingga setiap ID kanonik (digit tanpa nol di depan dan muat di int)
+ * disimpan sebagai satu elemen {@code int[]} (4 byte) alih-alih objek String beserta array karakternya
+ * (sekitar 50-60 byte). ID lain, misalnya {@code MANUAL-...}, disimpan di tabel samping dan diwakili
+ * kode negatif di array yang sama. {@link #get(int)} membuat String baru setiap dipanggil, tetapi isi,
+ * urutan, dan {@code equals}/{@code hashCode} list tetap sama dengan {@code List<String>} biasa.</p>
+ *
+ * <p>Pencarian ({@link #contains(Object)}, {@link #indexOf(Object)}) membandingkan int tanpa membuat
+ * String, dan penghapusan hanya menggeser array int.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class FilmIdList extends AbstractList<String> implements RandomAccess {
+    private static final int[] NO_CODES = new int[0];
+    private static final String[] NO_OTHERS = new String[0];
+    // Panjang maksimum ID yang pasti muat di int tanpa overflow
+    private static final int MAX_DIGITS = 9;
+
+    private int[] codes = NO_CODES;
+    private int size;
+    // ID non-angka; kode -(i + 1) menunjuk others[i]. Entri tidak dibuang saat ID dihapus
+    // agar kode yang sudah ada tetap valid, dan dipakai ulang jika ID yang sama ditambahkan lagi.
+    private String[] others = NO_OTHERS;
+    private int otherCount;
+
+    /**
+     * Konstruktor untuk list kosong.
+     */
+    public FilmIdList() {
+    }
+
+    /**
+     * Konstruktor yang menyalin ID film dari collection lain.
+     *
+     * @param filmIds ID film yang disalin sesuai urutan iterasinya
+     */
+    public FilmIdList(Collection<String> filmIds) {
+        codes = new int[filmIds.size()];
+        for (String filmId : filmIds) {
+            codes[size++] = encode(filmId, 0, filmId.length());
+        }
+    }
+
+    /**
+     * Membuat list dari field ID film yang dipisahkan koma tanpa membuat String untuk ID angka.
+     * Aturan pemisahan sama seperti {@link FieldSplitter#getList(int, char)}: bagian kosong di akhir dibuang.
+     *
+     * @param field isi field, misalnya {@code "550,680,155"}
+     * @return list baru berisi ID film
+     */
+    public static FilmIdList parse(String field) {
+        FilmIdList list = new FilmIdList();
+        int start = 0;
+        while (true) {
+            int next = field.indexOf(',', start);
+            int end = next >= 0 ? next : field.length();
+            list.append(list.encode(field, start, end));
+            if (next < 0) {
+                break;
+            }
+            start = next + 1;
+        }
+        int emptyCode = list.codeOf("");
+        if (list.size > 1 && emptyCode != Integer.MIN_VALUE) {
+            while (list.size > 0 && list.codes[list.size - 1] == emptyCode) {
+                list.size--;
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public String get(int index) {
+        checkIndex(index, size);
+        return decode(codes[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String set(int index, String filmId) {
+        checkIndex(index, size);
+        String previous = decode(codes[index]);
+        codes[index] = encode(filmId, 0, filmId.length());
+        return previous;
+    }
+
+    @Override
+    public boolean add(String filmId) {
+        append(encode(filmId, 0, filmId.length()));
+        return true;
+    }
+
+    @Override
+    public void add(int index, String filmId) {
+        checkIndex(index, size + 1);
+        int code = encode(filmId, 0, filmId.length());
+        grow();
+        System.arraycopy(codes, index, codes, index + 1, size - index);
+        codes[index] = code;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public String remove(int index) {
+        checkIndex(index, size);
+        String removed = decode(codes[index]);
+        System.arraycopy(codes, index + 1, codes, index, size - index - 1);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        otherCount = 0;
+        others = NO_OTHERS;
+        modCount++;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        int code = o instanceof String ? codeOf((String) o) : Integer.MIN_VALUE;
+        if (code == Integer.MIN_VALUE) {
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (codes[i] == code) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        int code = o instanceof String ? codeOf((String) o) : Integer.MIN_VALUE;
+        if (code == Integer.MIN_VALUE) {
+            return -1;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            if (codes[i] == code) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    private void append(int code) {
+        grow();
+        codes[size++] = code;
+        modCount++;
+    }
+
+    private void grow() {
+        if (size == codes.length) {
+            codes = Arrays.copyOf(codes, Math.max(4, size + (size >> 1)));
+        }
+    }
+
+    /**
+     * Mengubah ID menjadi kode: nilai int untuk ID angka kanonik, atau kode negatif di tabel samping.
+     */
+    private int encode(String value, int from, int to) {
+        int numeric = parseNumeric(value, from, to);
+        if (numeric >= 0) {
+            return numeric;
+        }
+        String filmId = value.substring(from, to);
+        int code = codeOf(filmId);
+        if (code != Integer.MIN_VALUE) {
+            return code;
+        }
+        if (otherCount == others.length) {
+            others = Arrays.copyOf(others, Math.max(2, otherCount * 2));
+        }
+        others[otherCount++] = filmId;
+        return -otherCount;
+    }
+
+    /**
+     * Mencari kode ID tanpa menambah tabel samping.
+     *
+     * @return kode ID, atau {@link Integer#MIN_VALUE} jika ID non-angka belum pernah disimpan
+     */
+    private int codeOf(String filmId) {
+        int numeric = parseNumeric(filmId, 0, filmId.length());
+        if (numeric >= 0) {
+            return numeric;
+        }
+        for (int i = 0; i < otherCount; i++) {
+            if (others[i].equals(filmId)) {
+                return -(i + 1);
+            }
+        }
+        return Integer.MIN_VALUE;
+    }
+
+    private String decode(int code) {
+        return code >= 0 ? Integer.toString(code) : others[-code - 1];
+    }
+
+    /**
+     * Membaca ID angka kanonik, yaitu yang kembali persis sama lewat {@link Integer#toString(int)}.
+     *
+     * @return nilai ID, atau -1 jika bukan angka kanonik
+     */
+    private static int parseNumeric(String value, int from, int to) {
+        int length = to - from;
+        if (length == 0 || length > MAX_DIGITS || (length > 1 && value.charAt(from) == '0')) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Limit: " + limit);
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package util;
+
+import model.Film;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Repository in-memory untuk data Film.
+ * Memuat file film satu kali, lalu menyimpan list berurutan (sesuai urutan di file)
+ * dan index HashMap berdasarkan TMDB ID sehingga pencarian ID berjalan O(1) tanpa membaca file.
+ * Setiap perubahan langsung ditulis ke file (write-through) sebagai record put/delete tunggal.
+ * Data dimuat ulang otomatis jika file diubah lewat FileManager dari tempat lain.
+ * File dengan ekstensi {@code .bin} dibaca dan ditulis dengan {@link FilmBinaryCodec}; file biner yang
+ * tidak bisa dibaca dipindahkan ke {@code <file>.corrupt} sebelum ada penulisan agar katalog lama tidak tertimpa.
+ * Judul film juga diindex dengan {@link TrigramIndex} sehingga pencarian substring tidak perlu
+ * memindai seluruh film, dengan {@link PrefixIndex} untuk autocomplete judul, dengan
+ * {@link FuzzyTitleIndex} untuk pencarian judul yang salah ketik, dan dengan
+ * {@link FacetIndex} untuk filter genre, tahun, dan sutradara. Status visibility dicatat di
+ * {@link CompactBitmap} sehingga film visible atau hidden bisa diambil tanpa memeriksa semua film.
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class FilmRepository {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(FilmRepository.class);
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+
+    private final String filePath;
+    private final boolean binary;
+    private final List<Film> films = new ArrayList<>();
+    private final Map<String, Film> filmsById = new HashMap<>();
+    // Ordinal stabil per film untuk index judul; tidak bergeser saat film lain dihapus
+    private final List<Film> filmsByOrdinal = new ArrayList<>();
+    private final Map<Film, Integer> ordinals = new IdentityHashMap<>();
+    private final TrigramIndex titleIndex = new TrigramIndex();
+    private final PrefixIndex titlePrefixes = new PrefixIndex();
+    private final FuzzyTitleIndex titleWords = new FuzzyTitleIndex();
+    private final FacetIndex facets = new FacetIndex();
+    // Ordinal film visible dan hidden, sehingga jumlahnya O(1) dan iterasi melewati film lainnya
+    private final CompactBitmap visible = new CompactBitmap();
+    private final CompactBitmap hidden = new CompactBitmap();
+    private long loadedVersion = -1;
+    // True jika file biner rusak gagal dipindahkan; penulisan ditolak agar file tersebut tidak tertimpa
+    private boolean readOnly;
+
+    /**
+     * Konstruktor FilmRepository.
+     * Data belum dibaca sampai repository pertama kali diakses.
+     *
+     * @param filePath path file penyimpanan film
+     */
+    public FilmRepository(String filePath) {
+        this.filePath = filePath;
+        this.binary = filePath.endsWith(".bin");
+    }
+
+    /**
+     * Memastikan data di memori sesuai dengan versi file terbaru.
+     * Hanya membaca file saat pertama kali diakses atau setelah file diubah dari luar repository.
+     */
+    private void ensureLoaded() {
+        long currentVersion = FileManager.getFileVersion(filePath);
+        if (currentVersion == loadedVersion) {
+            return;
+        }
+
+        films.clear();
+        filmsById.clear();
+        filmsByOrdinal.clear();
+        ordinals.clear();
+        titleIndex.clear();
+        titlePrefixes.clear();
+        titleWords.clear();
+        facets.clear();
+        visible.clear();
+        hidden.clear();
+        readOnly = false;
+        loadedVersion = currentVersion;
+        if (binary) {
+            loadBinary();
+        } else {
+            // Parse records straight from the mapped file instead of materialising every line first
+            FileManager.scanRecords(filePath, record -> {
+                Film film = Film.fromFileLine(record.line());
+                if (film != null) {
+                    films.add(film);
+                }
+            });
+        }
+        for (Film film : films) {
+            filmsById.putIfAbsent(film.getId(), film);
+            indexFilm(film);
+        }
+        logger.debug("Loaded {} films from {}", films.size(), filePath);
+    }
+
+    /**
+     * Memuat film dari file biner. Record terakhir yang terpotong dibuang dan file ditulis ulang
+     * agar append berikutnya tidak ditempatkan setelah data rusak.
+     */
+    private void loadBinary() {
+        byte[] data = FileManager.readBytes(filePath);
+        try {
+            int valid = FilmBinaryCodec.decode(data, films);
+            if (valid < data.length) {
+                logger.warn("Repairing truncated film file {}", filePath);
+                persist();
+            }
+        } catch (IOException e) {
+            logger.error("Error reading binary film file: " + filePath + ". Please ensure the file is a valid film data file.", e);
+            films.clear();
+            quarantine();
+        }
+    }
+
+    /**
+     * Memindahkan file biner yang tidak bisa dibaca ke {@code <file>.corrupt} agar penulisan berikutnya
+     * memulai file baru tanpa menimpa data lama. Jika file gagal dipindahkan, repository menjadi read-only.
+     */
+    private void quarantine() {
+        String target = filePath + CORRUPT_SUFFIX;
+        if (FileManager.fileExists(target)) {
+            // Keep an earlier quarantined copy as well
+            target += "." + System.currentTimeMillis();
+        }
+        if (FileManager.moveFile(filePath, target)) {
+            logger.error("Moved unreadable film file {} to {}; starting with an empty catalog", filePath, target);
+            loadedVersion = FileManager.getFileVersion(filePath);
+        } else {
+            readOnly = true;
+        }
+    }
+
+    /**
+     * Mengecek apakah repository boleh ditulis.
+     *
+     * @return false jika file biner rusak masih berada di tempatnya
+     */
+    private boolean writable() {
+        if (readOnly) {
+            logger.error("Refusing to modify {}: the file could not be read or moved aside", filePath);
+        }
+        return !readOnly;
+    }
+
+    /**
+     * Memberi film ordinal baru dan memasukkannya ke index judul dan facet.
+     *
+     * @param film film yang diindex
+     */
+    private void indexFilm(Film film) {
+        int ordinal = filmsByOrdinal.size();
+        filmsByOrdinal.add(film);
+        ordinals.put(film, ordinal);
+        titleIndex.add(ordinal, film.getTitle());
+        // Newer films rank first among completions
+        titlePrefixes.add(ordinal, film.getTitle(), film.getYear());
+        titleWords.add(ordinal, film.getTitle());
+        facets.add(ordinal, film);
+        (film.isVisible() ? visible : hidden).add(ordinal);
+    }
+
+    /**
+     * Menghapus film dari semua index. Slot ordinalnya dibiarkan kosong sampai data dimuat ulang.
+     *
+     * @param film film yang dihapus
+     */
+    private void unindexFilm(Film film) {
+        Integer ordinal = ordinals.remove(film);
+        if (ordinal != null) {
+            filmsByOrdinal.set(ordinal, null);
+            titleIndex.remove(ordinal);
+            titlePrefixes.remove(ordinal);
+            titleWords.remove(ordinal);
+            facets.remove(ordinal);
+            visible.remove(ordinal);
+            hidden.remove(ordinal);
+        }
+    }
+
+    /**
+     * Menulis seluruh isi repository ke file dan mencatat versi file yang baru.
+     */
+    private void persist() {
+        if (binary) {
+            FileManager.writeBytes(filePath, FilmBinaryCodec.encode(films));
+        } else {
+            List<String> lines = new ArrayList<>(films.size());
+            for (Film film : films) {
+                lines.add(film.toFileLine());
+            }
+            FileManager.writeLines(filePath, lines);
+        }
+        loadedVersion = FileManager.getFileVersion(filePath);
+    }
+
+    /**
+     * Mencari film berdasarkan ID melalui index HashMap.
+     *
+     * @param id ID film yang dicari
+     * @return objek Film jika ditemukan, null jika tidak ada
+     */
+    public synchronized Film findById(String id) {
+        ensureLoaded();
+        return filmsById.get(id);
+    }
+
+    /**
+     * Mencari banyak film sekaligus berdasarkan ID dalam satu kali akses repository.
+     * ID yang tidak ditemukan tidak dimasukkan ke hasil.
+     *
+     * @param ids kumpulan ID film yang dicari
+     * @return map ID ke Film, dengan urutan mengikuti urutan ID pertama kali muncul
+     */
+    public synchronized Map<String, Film> findByIds(Collection<String> ids) {
+        ensureLoaded();
+        Map<String, Film> results = new LinkedHashMap<>();
+        for (String id : ids) {
+            Film film = filmsById.get(id);
+            if (film != null) {
+                results.putIfAbsent(id, film);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Mendapatkan film pada posisi tertentu sesuai urutan di file.
+     *
+     * @param index posisi film (0-based)
+     * @return objek Film jika index valid, null jika tidak
+     */
+    public synchronized Film get(int index) {
+        ensureLoaded();
+        if (index >= 0 && index < films.size()) {
+            return films.get(index);
+        }
+        return null;
+    }
+
+    /**
+     * Mendapatkan salinan list semua film sesuai urutan di file.
+     *
+     * @return list baru berisi semua film
+     */
+    public synchronized List<Film> findAll() {
+        ensureLoaded();
+        return new ArrayList<>(films);
+    }
+
+    /**
+     * Mendapatkan semua film yang memenuhi kondisi tertentu tanpa menyalin seluruh list.
+     *
+     * @param filter kondisi yang harus dipenuhi
+     * @return list film yang lolos filter, sesuai urutan di file
+     */
+    public synchronized List<Film> findAll(Predicate<Film> filter) {
+        ensureLoaded();
+        List<Film> results = new ArrayList<>();
+        for (Film film : films) {
+            if (filter.test(film)) {
+                results.add(film);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Mencari film yang judulnya mengandung keyword (case-insensitive) melalui index trigram.
+     *
+     * @param keyword judul atau bagian dari judul
+     * @return list film yang cocok, sesuai urutan di file
+     */
+    public synchronized List<Film> searchTitle(String keyword) {
+        ensureLoaded();
+        int[] matches = titleIndex.search(keyword);
+        List<Film> results = new ArrayList<>(matches.length);
+        for (int ordinal : matches) {
+            results.add(filmsByOrdinal.get(ordinal));
+        }
+        return results;
+    }
+
+    /**
+     * Mencari film yang judulnya mirip dengan keyword, dengan toleransi salah ketik per kata.
+     *
+     * @param keyword judul atau sebagian kata judul yang dicari
+     * @param maxEdits batas edit distance per kata (0-2)
+     * @return list film yang cocok, yang paling mirip lebih dulu
+     */
+    public synchronized List<Film> searchTitleFuzzy(String keyword, int maxEdits) {
+        ensureLoaded();
+        int[] matches = titleWords.search(keyword, maxEdits);
+        List<Film> results = new ArrayList<>(matches.length);
+        for (int ordinal : matches) {
+            results.add(filmsByOrdinal.get(ordinal));
+        }
+        return results;
+    }
+
+    /**
+     * Mendapatkan film yang judulnya diawali prefix tertentu, diurutkan dari tahun rilis terbaru.
+     *
+     * @param prefix awal judul yang diketik user (case-insensitive)
+     * @param limit jumlah hasil maksimum
+     * @return list film yang cocok
+     */
+    public synchronized List<Film> autocomplete(String prefix, int limit) {
+        ensureLoaded();
+        int[] matches = titlePrefixes.complete(prefix, limit);
+        List<Film> results = new ArrayList<>(matches.length);
+        for (int ordinal : matches) {
+            results.add(filmsByOrdinal.get(ordinal));
+        }
+        return results;
+    }
+
+    /**
+     * Mendapatkan film yang cocok dengan filter facet.
+     *
+     * @param query kondisi filter genre, tahun, dan sutradara
+     * @return list film yang cocok, sesuai urutan di file
+     */
+    public synchronized List<Film> findByFacets(FacetIndex.Query query) {
+        ensureLoaded();
+        return collect(facets.search(query));
+    }
+
+    /**
+     * Menghitung jumlah film per genre, tahun, dan sutradara di antara film yang cocok dengan filter.
+     *
+     * @param query kondisi filter genre, tahun, dan sutradara
+     * @return jumlah film per nilai facet
+     */
+    public synchronized FacetIndex.Counts countFacets(FacetIndex.Query query) {
+        ensureLoaded();
+        return facets.count(facets.search(query));
+    }
+
+    /**
+     * Menghitung jumlah film yang visible untuk user biasa.
+     *
+     * @return jumlah film visible
+     */
+    public synchronized int countVisible() {
+        ensureLoaded();
+        return visible.cardinality();
+    }
+
+    /**
+     * Mendapatkan film yang visible untuk user biasa.
+     *
+     * @return list film visible, sesuai urutan di file
+     */
+    public synchronized List<Film> findVisible() {
+        ensureLoaded();
+        return collect(visible);
+    }
+
+    /**
+     * Mendapatkan film yang disembunyikan dari user biasa.
+     *
+     * @return list film hidden, sesuai urutan di file
+     */
+    public synchronized List<Film> findHidden() {
+        ensureLoaded();
+        return collect(hidden);
+    }
+
+    private List<Film> collect(CompactBitmap matches) {
+        List<Film> results = new ArrayList<>(matches.cardinality());
+        matches.forEach(ordinal -> results.add(filmsByOrdinal.get(ordinal)));
+        return results;
+    }
+
+    /**
+     * Menghitung jumlah film dalam repository.
+     *
+     * @return jumlah film
+     */
+    public synchronized int count() {
+        ensureLoaded();
+        return films.size();
+    }
+
+    /**
+     * Menambahkan film baru jika ID belum terdaftar, lalu menyimpannya ke file.
+     *
+     * @param film objek Film yang akan ditambahkan
+     * @return true jika berhasil ditambahkan, false jika ID sudah ada atau file film rusak tidak bisa ditulis
+     */
+    public synchronized boolean add(Film film) {
+        ensureLoaded();
+        if (!writable() || filmsById.containsKey(film.getId())) {
+            return false;
+        }
+        films.add(film);
+        filmsById.put(film.getId(), film);
+        indexFilm(film);
+        if (!binary) {
+            FileManager.putRecord(filePath, film.toFileLine());
+        } else if (films.size() == 1) {
+            // An empty binary file may not have its header yet
+            persist();
+        } else {
+            FileManager.appendBytes(filePath, FilmBinaryCodec.encodeRecord(film));
+        }
+        loadedVersion = FileManager.getFileVersion(filePath);
+        return true;
+    }
+
+    /**
+     * Menghapus film pada posisi tertentu, lalu menyimpan perubahan ke file.
+     *
+     * @param index posisi film yang akan dihapus (0-based)
+     * @return film yang dihapus, atau null jika index tidak valid atau file film rusak tidak bisa ditulis
+     */
+    public synchronized Film remove(int index) {
+        ensureLoaded();
+        if (!writable() || index < 0 || index >= films.size()) {
+            return null;
+        }
+        Film removed = films.remove(index);
+        filmsById.remove(removed.getId());
+        unindexFilm(removed);
+        // Film lain dengan ID sama (data duplikat lama) mengambil alih slot index
+        for (Film film : films) {
+            if (film.getId().equals(removed.getId())) {
+                filmsById.put(film.getId(), film);
+                break;
+            }
+        }
+        if (binary || filmsById.containsKey(removed.getId())) {
+            // Binary files have no delete record, and a delete record would drop every duplicate,
+            // so rewrite the whole file instead
+            persist();
+        } else {
+            FileManager.deleteRecord(filePath, removed.getId());
+            loadedVersion = FileManager.getFileVersion(filePath);
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,296 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index pencarian fuzzy untuk judul dengan batas edit distance (Levenshtein) per kata.
+ *
+ * <p>Judul dipecah menjadi kata lowercase. Setiap kata unik disimpan sekali di BK-tree dan memiliki
+ * bitmap ({@link CompactBitmap}) berisi ordinal judul yang memuat kata tersebut. Kata di query dicari
+ * di BK-tree sehingga hanya sebagian kecil kosakata yang perlu dihitung jaraknya, lalu bitmap kata-kata
+ * yang cukup mirip digabung dan diiris antar kata query. Jumlah kata unik jauh lebih kecil dari jumlah
+ * judul, sehingga pencarian tetap cepat meskipun katalog berisi jutaan film.</p>
+ *
+ * <p>Batas edit per kata mengikuti panjang kata agar kata pendek tidak cocok dengan hampir semua kata:
+ * kata hingga 2 karakter harus sama persis, kata 3-5 karakter boleh berbeda 1 edit, dan kata yang lebih
+ * panjang boleh berbeda hingga {@code maxEdits}.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class FuzzyTitleIndex {
+    private static final int[] NO_WORDS = new int[0];
+
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<CompactBitmap> postings = new ArrayList<>();
+    // Id kata per ordinal judul, null untuk judul yang sudah dihapus
+    private final List<int[]> titleWords = new ArrayList<>();
+    private Node root;
+
+    /**
+     * Menambahkan judul ke index.
+     *
+     * @param ordinal nomor urut dokumen
+     * @param text judul yang diindex
+     */
+    public void add(int ordinal, String text) {
+        while (titleWords.size() <= ordinal) {
+            titleWords.add(null);
+        }
+        if (titleWords.get(ordinal) != null) {
+            remove(ordinal);
+        }
+        List<String> words = tokenize(text);
+        int[] ids = new int[words.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = wordId(words.get(i));
+            postings.get(ids[i]).add(ordinal);
+        }
+        titleWords.set(ordinal, ids.length > 0 ? ids : NO_WORDS);
+    }
+
+    /**
+     * Menghapus judul dari index. Kata yang tidak lagi dipakai tetap ada di kosakata dengan bitmap kosong.
+     *
+     * @param ordinal nomor urut dokumen
+     */
+    public void remove(int ordinal) {
+        if (ordinal < 0 || ordinal >= titleWords.size() || titleWords.get(ordinal) == null) {
+            return;
+        }
+        for (int id : titleWords.set(ordinal, null)) {
+            postings.get(id).remove(ordinal);
+        }
+    }
+
+    /**
+     * Mengosongkan index.
+     */
+    public void clear() {
+        wordIds.clear();
+        postings.clear();
+        titleWords.clear();
+        root = null;
+    }
+
+    /**
+     * Mencari judul yang setiap kata query-nya cocok dengan salah satu kata judul dalam batas edit.
+     * Hasil diurutkan berdasarkan total edit (yang paling mirip dulu), lalu ordinal.
+     *
+     * @param query teks yang dicari, boleh salah ketik
+     * @param maxEdits batas edit per kata, antara 0 dan 2
+     * @return ordinal dokumen yang cocok
+     */
+    public int[] search(String query, int maxEdits) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || root == null) {
+            return new int[0];
+        }
+
+        // Per query word: titles grouped by the edit distance of their closest word
+        CompactBitmap[][] tiers = new CompactBitmap[tokens.size()][];
+        CompactBitmap matches = null;
+        for (int t = 0; t < tokens.size(); t++) {
+            String token = tokens.get(t);
+            int allowed = Math.min(Math.max(maxEdits, 0), token.length() <= 2 ? 0 : token.length() <= 5 ? 1 : 2);
+            tiers[t] = new CompactBitmap[allowed + 1];
+            CompactBitmap union = new CompactBitmap();
+            for (int d = 0; d <= allowed; d++) {
+                tiers[t][d] = new CompactBitmap();
+            }
+            collect(root, token, allowed, tiers[t]);
+            for (CompactBitmap tier : tiers[t]) {
+                union.or(tier);
+            }
+            if (matches == null) {
+                matches = union;
+            } else {
+                matches.and(union);
+            }
+            if (matches.isEmpty()) {
+                return new int[0];
+            }
+        }
+
+        // Rank by total edits, packed with the ordinal so a primitive sort suffices
+        long[] ranked = new long[matches.cardinality()];
+        int[] position = {0};
+        matches.forEach(ordinal -> {
+            long cost = 0;
+            for (CompactBitmap[] tier : tiers) {
+                int d = 0;
+                while (!tier[d].contains(ordinal)) {
+                    d++;
+                }
+                cost += d;
+            }
+            ranked[position[0]++] = (cost << 32) | ordinal;
+        });
+        Arrays.sort(ranked);
+        int[] results = new int[ranked.length];
+        for (int i = 0; i < ranked.length; i++) {
+            results[i] = (int) ranked[i];
+        }
+        return results;
+    }
+
+    /**
+     * Mengunjungi BK-tree dan menggabungkan bitmap kata yang jaraknya dalam batas ke tier jaraknya.
+     * Anak node hanya dikunjungi jika jaraknya ke node berada di [jarak - batas, jarak + batas]
+     * (ketidaksamaan segitiga). Jarak ke node cukup dihitung hingga batas ditambah jarak anak terjauh;
+     * di atas itu tidak ada anak yang perlu dikunjungi.
+     */
+    private void collect(Node node, String token, int allowed, CompactBitmap[] tiers) {
+        int distance = distance(token, node.word, allowed + node.maxChildDistance);
+        if (distance <= allowed) {
+            tiers[distance].or(postings.get(node.wordId));
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            if (Math.abs(node.childDistances[i] - distance) <= allowed) {
+                collect(node.children[i], token, allowed, tiers);
+            }
+        }
+    }
+
+    /**
+     * Mendapatkan id kata, menambahkannya ke kosakata dan BK-tree jika belum ada.
+     */
+    private int wordId(String word) {
+        Integer id = wordIds.get(word);
+        if (id != null) {
+            return id;
+        }
+        id = postings.size();
+        wordIds.put(word, id);
+        postings.add(new CompactBitmap());
+        Node added = new Node(word, id);
+        if (root == null) {
+            root = added;
+            return id;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word);
+            Node child = node.child(distance);
+            if (child == null) {
+                node.addChild(distance, added);
+                return id;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Memecah teks menjadi kata lowercase berisi huruf dan angka.
+     */
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String lower = text.toLowerCase();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Menghitung edit distance Levenshtein dengan dua baris tabel.
+     */
+    static int distance(String a, String b) {
+        return distance(a, b, Math.max(a.length(), b.length()));
+    }
+
+    /**
+     * Menghitung edit distance Levenshtein yang dibatasi: hanya diagonal selebar {@code limit} di kiri
+     * dan kanan yang dihitung, dan perhitungan berhenti begitu nilai terkecil satu baris melewati batas.
+     *
+     * @return jarak sebenarnya jika tidak melebihi {@code limit}, selain itu {@code limit + 1}
+     */
+    static int distance(String a, String b, int limit) {
+        if (a.equals(b)) {
+            return 0;
+        }
+        limit = Math.min(limit, Math.max(a.length(), b.length()));
+        int over = limit + 1;
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return over;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = Math.min(j, over);
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            // Cells outside the band [i - limit, i + limit] are already over the limit
+            int from = Math.max(1, i - limit);
+            int to = Math.min(b.length(), i + limit);
+            current[from - 1] = from == 1 ? Math.min(i, over) : over;
+            int rowMin = current[from - 1];
+            char c = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(over, Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1));
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < b.length()) {
+                current[to + 1] = over;
+            }
+            if (rowMin > limit) {
+                return over;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Node BK-tree: satu kata beserta anak-anak yang dikelompokkan berdasarkan jarak ke kata ini.
+     */
+    private static class Node {
+        final String word;
+        final int wordId;
+        int[] childDistances = new int[2];
+        Node[] children = new Node[2];
+        int childCount;
+        int maxChildDistance;
+
+        Node(String word, int wordId) {
+            this.word = word;
+            this.wordId = wordId;
+        }
+
+        Node child(int distance) {
+            for (int i = 0; i < childCount; i++) {
+                if (childDistances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        void addChild(int distance, Node child) {
+            if (childCount == children.length) {
+                childDistances = Arrays.copyOf(childDistances, childCount * 2);
+                children = Arrays.copyOf(children, childCount * 2);
+            }
+            childDistances[childCount] = distance;
+            children[childCount++] = child;
+            maxChildDistance = Math.max(maxChildDistance, distance);
+        }
+    }
+}
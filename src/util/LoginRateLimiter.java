@@ -0,0 +1,254 @@
+package util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Pembatas laju percobaan login per email dan global, tanpa lock di jalur utama.
+ *
+ * <p>Setiap token bucket disimpan sebagai satu {@link AtomicLong} berisi waktu kedatangan teoretis
+ * berikutnya (algoritma GCRA, setara token bucket): permintaan diterima jika waktu tersebut tidak
+ * lebih dari kapasitas burst di depan waktu sekarang, lalu dimajukan satu interval dengan CAS.
+ * Email yang terdaftar punya bucket sendiri, dengan jumlah bucket dibatasi ketat. Saat batas tercapai,
+ * bucket baru hanya dibuat setelah sapuan bertahap membebaskan tempat: setiap sapuan memeriksa paling
+ * banyak {@value #SWEEP_BATCH} bucket dan melanjutkan dari posisi sapuan sebelumnya, lalu membuang bucket
+ * yang sudah penuh kembali (sama dengan bucket baru). Email yang tidak terdaftar, dan email terdaftar yang
+ * tidak mendapat bucket karena batas tercapai, dihitung di {@link CountMinSketch} per jendela waktu satu
+ * menit dengan ukuran tetap, sehingga penyerang tidak bisa menghabiskan memori dengan banyak email.</p>
+ *
+ * <p>Jumlah percobaan yang diterima dan ditolak per alasan tersedia lewat {@link #getMetrics()}.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class LoginRateLimiter {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(LoginRateLimiter.class);
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long WINDOW_NANOS = 60 * NANOS_PER_SECOND;
+    private static final int MAX_TRACKED_EMAILS = 100_000;
+    private static final int SWEEP_BATCH = 32;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1 << 14;
+
+    private final long globalInterval;
+    private final long globalTolerance;
+    private final long emailInterval;
+    private final long emailTolerance;
+    private final int unknownPerWindow;
+    private final int maxTrackedEmails;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong globalBucket = new AtomicLong(Long.MIN_VALUE);
+    private final ConcurrentHashMap<String, AtomicLong> emailBuckets = new ConcurrentHashMap<>();
+    // Jumlah bucket email yang sudah dipesan; dinaikkan sebelum bucket dibuat agar batas tidak terlampaui
+    private final AtomicInteger trackedEmails = new AtomicInteger();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    // Posisi sapuan bucket berikutnya; dijaga oleh sweepLock
+    private Iterator<Map.Entry<String, AtomicLong>> sweepCursor;
+    private final AtomicReference<Window> unknownWindow;
+
+    private final AtomicLong allowed = new AtomicLong();
+    private final AtomicLong rejectedGlobal = new AtomicLong();
+    private final AtomicLong rejectedEmail = new AtomicLong();
+    private final AtomicLong rejectedUnknownEmail = new AtomicLong();
+
+    /**
+     * Konstruktor LoginRateLimiter.
+     *
+     * @param globalPerSecond jumlah login per detik untuk seluruh aplikasi
+     * @param globalBurst jumlah login beruntun maksimum untuk seluruh aplikasi
+     * @param emailPerMinute jumlah login per menit untuk satu email
+     * @param emailBurst jumlah login beruntun maksimum untuk satu email, juga batas per menit email tak terdaftar
+     * @param nanoClock sumber waktu monoton dalam nanodetik
+     */
+    public LoginRateLimiter(int globalPerSecond, int globalBurst, int emailPerMinute, int emailBurst, LongSupplier nanoClock) {
+        this(globalPerSecond, globalBurst, emailPerMinute, emailBurst, MAX_TRACKED_EMAILS, nanoClock);
+    }
+
+    /**
+     * Konstruktor LoginRateLimiter dengan batas jumlah bucket email tertentu.
+     *
+     * @param globalPerSecond jumlah login per detik untuk seluruh aplikasi
+     * @param globalBurst jumlah login beruntun maksimum untuk seluruh aplikasi
+     * @param emailPerMinute jumlah login per menit untuk satu email
+     * @param emailBurst jumlah login beruntun maksimum untuk satu email, juga batas per menit email tanpa bucket
+     * @param maxTrackedEmails jumlah maksimum bucket email yang disimpan
+     * @param nanoClock sumber waktu monoton dalam nanodetik
+     */
+    LoginRateLimiter(int globalPerSecond, int globalBurst, int emailPerMinute, int emailBurst, int maxTrackedEmails,
+                     LongSupplier nanoClock) {
+        if (globalPerSecond <= 0 || globalBurst <= 0 || emailPerMinute <= 0 || emailBurst <= 0 || maxTrackedEmails <= 0) {
+            throw new IllegalArgumentException("Rate limits must be positive");
+        }
+        this.globalInterval = NANOS_PER_SECOND / globalPerSecond;
+        this.globalTolerance = globalInterval * (globalBurst - 1);
+        this.emailInterval = WINDOW_NANOS / emailPerMinute;
+        this.emailTolerance = emailInterval * (emailBurst - 1);
+        this.unknownPerWindow = emailBurst;
+        this.maxTrackedEmails = maxTrackedEmails;
+        this.nanoClock = nanoClock;
+        this.unknownWindow = new AtomicReference<>(new Window(nanoClock.getAsLong()));
+    }
+
+    /**
+     * Mencoba mengambil izin untuk satu percobaan login.
+     *
+     * @param email email yang dicoba
+     * @param registered true jika email terdaftar (mendapat bucket sendiri)
+     * @return true jika percobaan boleh dilanjutkan
+     */
+    public boolean tryAcquire(String email, boolean registered) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = registered ? bucketOf(email, now) : null;
+        if (bucket != null) {
+            if (!take(bucket, now, emailInterval, emailTolerance)) {
+                return reject(rejectedEmail, email);
+            }
+        } else if (currentWindow(now).attempts.add(email) > unknownPerWindow) {
+            return reject(registered ? rejectedEmail : rejectedUnknownEmail, email);
+        }
+        if (!take(globalBucket, now, globalInterval, globalTolerance)) {
+            return reject(rejectedGlobal, email);
+        }
+        allowed.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Mendapatkan jumlah percobaan yang diterima dan ditolak per alasan sejak aplikasi berjalan.
+     *
+     * @return map nama metrik ke nilainya
+     */
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("allowed", allowed.get());
+        metrics.put("rejected.global", rejectedGlobal.get());
+        metrics.put("rejected.email", rejectedEmail.get());
+        metrics.put("rejected.unknownEmail", rejectedUnknownEmail.get());
+        metrics.put("trackedEmails", (long) trackedEmails.get());
+        return metrics;
+    }
+
+    private boolean reject(AtomicLong counter, String email) {
+        counter.incrementAndGet();
+        logger.debug("Login attempt throttled for email: {}", email);
+        return false;
+    }
+
+    /**
+     * GCRA: menerima jika waktu kedatangan teoretis tidak lebih dari toleransi di depan sekarang.
+     */
+    private static boolean take(AtomicLong bucket, long now, long interval, long tolerance) {
+        while (true) {
+            long arrival = bucket.get();
+            long base = Math.max(arrival, now);
+            if (base - now > tolerance) {
+                return false;
+            }
+            if (bucket.compareAndSet(arrival, base + interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Mendapatkan bucket email, membuatnya jika masih ada tempat.
+     *
+     * @return bucket email, atau null jika batas jumlah bucket tercapai dan sapuan tidak membebaskan tempat
+     */
+    private AtomicLong bucketOf(String email, long now) {
+        AtomicLong bucket = emailBuckets.get(email);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (!reserveSlot() && !(sweep(now) > 0 && reserveSlot())) {
+            return null;
+        }
+        AtomicLong created = new AtomicLong(Long.MIN_VALUE);
+        AtomicLong existing = emailBuckets.putIfAbsent(email, created);
+        if (existing != null) {
+            trackedEmails.decrementAndGet();
+            return existing;
+        }
+        return created;
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int count = trackedEmails.get();
+            if (count >= maxTrackedEmails) {
+                return false;
+            }
+            if (trackedEmails.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Memeriksa paling banyak {@value #SWEEP_BATCH} bucket mulai dari posisi sapuan sebelumnya dan membuang
+     * bucket yang sudah penuh kembali. Jika thread lain sedang menyapu, langsung kembali tanpa menunggu.
+     *
+     * @return jumlah bucket yang dibuang
+     */
+    private int sweep(long now) {
+        if (!sweepLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int removed = 0;
+            for (int visited = 0; visited < SWEEP_BATCH; visited++) {
+                if (sweepCursor == null || !sweepCursor.hasNext()) {
+                    sweepCursor = emailBuckets.entrySet().iterator();
+                    if (!sweepCursor.hasNext()) {
+                        break;
+                    }
+                }
+                Map.Entry<String, AtomicLong> entry = sweepCursor.next();
+                AtomicLong bucket = entry.getValue();
+                // A bucket whose arrival time has passed is full again, identical to a fresh one
+                if (bucket.get() <= now && emailBuckets.remove(entry.getKey(), bucket)) {
+                    trackedEmails.decrementAndGet();
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    /**
+     * Mendapatkan jendela hitungan email tak terdaftar, menggantinya dengan sketch baru jika sudah lewat satu menit.
+     */
+    private Window currentWindow(long now) {
+        Window window = unknownWindow.get();
+        while (now - window.start >= WINDOW_NANOS) {
+            Window next = new Window(now);
+            if (unknownWindow.compareAndSet(window, next)) {
+                return next;
+            }
+            window = unknownWindow.get();
+        }
+        return window;
+    }
+
+    /**
+     * Hitungan percobaan email tak terdaftar dalam satu jendela waktu.
+     */
+    private static class Window {
+        final long start;
+        final CountMinSketch attempts = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
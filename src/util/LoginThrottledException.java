@@ -0,0 +1,20 @@
+package util;
+
+/**
+ * Dilempar saat percobaan login ditolak {@link LoginRateLimiter} karena terlalu banyak percobaan,
+ * sehingga UI bisa membedakannya dari email atau password yang salah.
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    /**
+     * Konstruktor LoginThrottledException.
+     *
+     * @param email email yang percobaan login-nya ditolak
+     */
+    public LoginThrottledException(String email) {
+        super("Too many login attempts for " + email + ", try again later");
+    }
+}
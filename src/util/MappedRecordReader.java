@@ -0,0 +1,68 @@
+package util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Pembaca file data berbasis {@link MappedByteBuffer}.
+ * File dipetakan ke memori dan dipindai langsung di tempat: setiap baris diberikan sebagai
+ * {@link RecordView} yang sama (dipakai ulang), sehingga tidak ada String atau list baris yang dibuat
+ * kecuali field yang memang diakses oleh pemanggil.
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class MappedRecordReader {
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /**
+     * Mengecek apakah file dengan ukuran tertentu bisa dipetakan dalam satu buffer.
+     *
+     * @param size ukuran file dalam byte
+     * @return true jika ukuran file tidak melebihi batas satu MappedByteBuffer
+     */
+    public static boolean canMap(long size) {
+        return size <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Memetakan file ke memori dan memanggil visitor untuk setiap baris, sama seperti hasil readLines.
+     *
+     * @param path path file yang dipindai
+     * @param charset charset yang dipakai file data
+     * @param visitor callback yang menerima view setiap record
+     * @throws IOException jika file gagal dibuka atau dipetakan
+     */
+    public static void scan(Path path, Charset charset, Consumer<RecordView> visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            RecordView view = new RecordView(charset);
+            int limit = (int) size;
+            int lineStart = 0;
+            for (int i = 0; i <= limit; i++) {
+                if (i == limit || buffer.get(i) == NEWLINE) {
+                    int lineEnd = i;
+                    if (lineEnd > lineStart && buffer.get(lineEnd - 1) == CARRIAGE_RETURN) {
+                        lineEnd--;
+                    }
+                    // BufferedReader.readLine also yields a final line without a trailing newline
+                    if (i < limit || lineEnd > lineStart) {
+                        view.reset(buffer, lineStart, lineEnd);
+                        visitor.accept(view);
+                    }
+                    lineStart = i + 1;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package util;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash password dengan PBKDF2 (HMAC-SHA256) dan salt acak per password.
+ *
+ * <p>Format yang disimpan di file user: {@code pbkdf2$<iterasi>$<salt base64>$<hash base64>}.
+ * Password lama yang masih plaintext (tanpa prefix {@code pbkdf2$}) tetap bisa diverifikasi, dan
+ * {@link #needsRehash(String)} menandai password plaintext atau yang iterasinya di bawah konfigurasi
+ * agar di-hash ulang saat login berhasil.</p>
+ *
+ * <p>Verifikasi yang berhasil dicatat di cache singkat per email: SHA-256 dari salt dan password,
+ * beserta hash tersimpan yang diverifikasi. Validasi ulang dengan password dan hash tersimpan yang sama
+ * dalam masa berlaku cache cukup menghitung satu SHA-256, bukan ratusan ribu iterasi PBKDF2.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class PasswordHasher {
+    private static final String PREFIX = "pbkdf2";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final int MAX_CACHE_ENTRIES = 10_000;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int iterations;
+    private final long cacheTtlMillis;
+    private final Map<String, Verified> verified = new ConcurrentHashMap<>();
+
+    /**
+     * Konstruktor PasswordHasher.
+     *
+     * @param iterations jumlah iterasi PBKDF2 untuk hash baru
+     * @param cacheTtlMillis masa berlaku cache verifikasi; 0 mematikan cache
+     */
+    public PasswordHasher(int iterations, long cacheTtlMillis) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations must be positive");
+        }
+        this.iterations = iterations;
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    /**
+     * Membuat hash baru dengan salt acak.
+     *
+     * @param password password plaintext
+     * @return hash dalam format {@code pbkdf2$iterasi$salt$hash}
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        return hash(password, salt);
+    }
+
+    /**
+     * Membuat hash dengan salt yang diturunkan dari seed, agar dataset sintetis bisa dibuat ulang persis sama.
+     * Hanya untuk {@link DataGenerator}; password asli selalu memakai {@link #hash(String)}.
+     *
+     * @param password password plaintext
+     * @param saltSeed seed untuk salt
+     * @return hash dalam format {@code pbkdf2$iterasi$salt$hash}
+     */
+    String hash(String password, long saltSeed) {
+        byte[] salt = new byte[SALT_BYTES];
+        new Random(saltSeed).nextBytes(salt);
+        return hash(password, salt);
+    }
+
+    private String hash(String password, byte[] salt) {
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(pbkdf2(password, salt, iterations));
+    }
+
+    /**
+     * Memverifikasi password terhadap nilai tersimpan, baik hash PBKDF2 maupun plaintext lama.
+     *
+     * @param email email pemilik password, dipakai sebagai key cache
+     * @param password password yang diinput
+     * @param stored nilai password yang tersimpan
+     * @return true jika password cocok
+     */
+    public boolean verify(String email, String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!stored.startsWith(PREFIX + "$")) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+
+            byte[] digest = cacheTtlMillis > 0 ? sha256(salt, password) : null;
+            long now = System.currentTimeMillis();
+            Verified cached = digest != null ? verified.get(email) : null;
+            if (cached != null && cached.expiresAt > now && cached.stored.equals(stored)
+                    && MessageDigest.isEqual(cached.digest, digest)) {
+                return true;
+            }
+
+            boolean matches = MessageDigest.isEqual(expected, pbkdf2(password, salt, storedIterations));
+            if (matches && digest != null) {
+                remember(email, new Verified(stored, digest, now + cacheTtlMillis), now);
+            }
+            return matches;
+        } catch (IllegalArgumentException e) {
+            // Malformed iteration count or Base64
+            return false;
+        }
+    }
+
+    /**
+     * Mengecek apakah nilai tersimpan perlu di-hash ulang: masih plaintext atau iterasinya di bawah konfigurasi.
+     *
+     * @param stored nilai password yang tersimpan
+     * @return true jika perlu di-hash ulang setelah login berhasil
+     */
+    public boolean needsRehash(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX + "$")) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Menghapus cache verifikasi milik email tertentu, misalnya saat logout atau ganti password.
+     *
+     * @param email email pemilik password
+     */
+    public void forget(String email) {
+        verified.remove(email);
+    }
+
+    private void remember(String email, Verified entry, long now) {
+        if (verified.size() >= MAX_CACHE_ENTRIES) {
+            for (Iterator<Verified> it = verified.values().iterator(); it.hasNext(); ) {
+                if (it.next().expiresAt <= now) {
+                    it.remove();
+                }
+            }
+            if (verified.size() >= MAX_CACHE_ENTRIES) {
+                verified.clear();
+            }
+        }
+        verified.put(email, entry);
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static byte[] sha256(byte[] salt, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(salt);
+            return digest.digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Verifikasi yang baru saja berhasil untuk satu email.
+     */
+    private static class Verified {
+        final String stored;
+        final byte[] digest;
+        final long expiresAt;
+
+        Verified(String stored, byte[] digest, long expiresAt) {
+            this.stored = stored;
+            this.digest = digest;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package util;
+
+import model.Playlist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Repository in-memory untuk data Playlist.
+ * Memuat file playlist satu kali dan menyimpan playlist sesuai urutan di file, ditambah index
+ * terbalik dari ID film ke playlist yang memuatnya. Index ini menjawab "playlist mana saja yang
+ * berisi film X" tanpa memindai file, dipakai untuk membersihkan playlist saat film dihapus,
+ * menampilkan jumlah playlist per film, dan peringkat film terpopuler. Index pemilik (email ke
+ * playlist miliknya) membuat playlist seorang user dimuat sebanding dengan jumlah playlist user itu saja.
+ * Setiap perubahan langsung ditulis ke file (write-through) sebagai record put/delete tunggal,
+ * dan data dimuat ulang otomatis jika file diubah lewat FileManager dari tempat lain.
+ *
+ * <p>Playlist yang disimpan dan dikembalikan selalu berupa salinan, sehingga perubahan objek
+ * di UI sebelum {@link #update(Playlist)} tidak merusak index. Daftar ID film playlist yang disimpan
+ * memakai {@link FilmIdList} (kecuali dimatikan lewat {@code storage.playlists.compactFilmIds}) sehingga
+ * ID angka cukup 4 byte per entri; salinan yang dikembalikan tetap berupa {@code ArrayList<String>}.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class PlaylistRepository {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(PlaylistRepository.class);
+
+    // Posisi field daftar ID film di baris playlist: name|ownerEmail|visibility|filmIds
+    private static final int FILM_IDS_FIELD = 3;
+    private static final boolean COMPACT_FILM_IDS =
+            Boolean.parseBoolean(ConfigManager.getProperty("storage.playlists.compactFilmIds", "true"));
+
+    private final String filePath;
+    // Semua playlist sesuai urutan di file; Playlist tidak meng-override equals sehingga set ini berbasis identitas
+    private final Set<Playlist> playlists = new LinkedHashSet<>();
+    // Index terbalik: ID film ke playlist yang memuatnya (identitas objek, urutan penambahan)
+    private final Map<String, Set<Playlist>> playlistsByFilm = new HashMap<>();
+    // Index pemilik: email ke playlist miliknya, sesuai urutan di file
+    private final Map<String, List<Playlist>> playlistsByOwner = new HashMap<>();
+    private long loadedVersion = -1;
+
+    /**
+     * Konstruktor PlaylistRepository.
+     * Data belum dibaca sampai repository pertama kali diakses.
+     *
+     * @param filePath path file penyimpanan playlist
+     */
+    public PlaylistRepository(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Memastikan data di memori sesuai dengan versi file terbaru.
+     */
+    private void ensureLoaded() {
+        long currentVersion = FileManager.getFileVersion(filePath);
+        if (currentVersion == loadedVersion) {
+            return;
+        }
+
+        playlists.clear();
+        playlistsByFilm.clear();
+        playlistsByOwner.clear();
+        loadedVersion = currentVersion;
+        FileManager.scanRecords(filePath, record -> {
+            Playlist playlist = Playlist.fromFileLine(record.line(), COMPACT_FILM_IDS);
+            if (playlist != null) {
+                store(playlist);
+            }
+        });
+        logger.debug("Loaded {} playlists from {}", playlists.size(), filePath);
+    }
+
+    /**
+     * Menyimpan playlist di akhir urutan dan memasukkannya ke semua index.
+     */
+    private void store(Playlist playlist) {
+        playlists.add(playlist);
+        playlistsByOwner.computeIfAbsent(playlist.getOwnerEmail(), k -> new ArrayList<>()).add(playlist);
+        indexFilms(playlist);
+    }
+
+    private void indexFilms(Playlist playlist) {
+        for (String filmId : playlist.getFilmIds()) {
+            playlistsByFilm.computeIfAbsent(filmId, k -> new LinkedHashSet<>()).add(playlist);
+        }
+    }
+
+    private void unindexFilms(Playlist playlist) {
+        for (String filmId : playlist.getFilmIds()) {
+            Set<Playlist> containing = playlistsByFilm.get(filmId);
+            if (containing != null && containing.remove(playlist) && containing.isEmpty()) {
+                playlistsByFilm.remove(filmId);
+            }
+        }
+    }
+
+    private static Playlist copyOf(Playlist playlist) {
+        return new Playlist(playlist.getName(), playlist.getOwnerEmail(), playlist.getVisibility(),
+                new ArrayList<>(playlist.getFilmIds()));
+    }
+
+    /**
+     * Membuat salinan playlist untuk disimpan di repository dengan representasi daftar ID film yang dikonfigurasi.
+     */
+    private static Playlist storedCopyOf(Playlist playlist) {
+        return new Playlist(playlist.getName(), playlist.getOwnerEmail(), playlist.getVisibility(),
+                storedFilmIds(playlist.getFilmIds()));
+    }
+
+    private static List<String> storedFilmIds(List<String> filmIds) {
+        return COMPACT_FILM_IDS ? new FilmIdList(filmIds) : new ArrayList<>(filmIds);
+    }
+
+    private static List<Playlist> copiesOf(Iterable<Playlist> source) {
+        List<Playlist> copies = new ArrayList<>();
+        for (Playlist playlist : source) {
+            copies.add(copyOf(playlist));
+        }
+        return copies;
+    }
+
+    /**
+     * Mendapatkan salinan semua playlist sesuai urutan di file.
+     *
+     * @return list baru berisi semua playlist
+     */
+    public synchronized List<Playlist> findAll() {
+        ensureLoaded();
+        return copiesOf(playlists);
+    }
+
+    /**
+     * Mendapatkan playlist milik user tertentu melalui index pemilik.
+     *
+     * @param ownerEmail email pemilik playlist
+     * @return list playlist milik user tersebut, sesuai urutan di file
+     */
+    public synchronized List<Playlist> findByOwner(String ownerEmail) {
+        ensureLoaded();
+        return copiesOf(playlistsByOwner.getOrDefault(ownerEmail, Collections.emptyList()));
+    }
+
+    /**
+     * Mendapatkan playlist yang memuat film tertentu melalui index terbalik.
+     *
+     * @param filmId ID film
+     * @return list playlist yang memuat film tersebut
+     */
+    public synchronized List<Playlist> findContaining(String filmId) {
+        ensureLoaded();
+        return copiesOf(playlistsByFilm.getOrDefault(filmId, Collections.emptySet()));
+    }
+
+    /**
+     * Menghitung jumlah playlist yang memuat film tertentu dalam O(1).
+     *
+     * @param filmId ID film
+     * @return jumlah playlist yang memuat film tersebut
+     */
+    public synchronized int countContaining(String filmId) {
+        ensureLoaded();
+        Set<Playlist> containing = playlistsByFilm.get(filmId);
+        return containing != null ? containing.size() : 0;
+    }
+
+    /**
+     * Mendapatkan film yang paling banyak dimasukkan ke playlist.
+     *
+     * @param limit jumlah film maksimum
+     * @return map ID film ke jumlah playlist, terurut dari yang terbanyak lalu ID film
+     */
+    public synchronized Map<String, Integer> findMostPopular(int limit) {
+        return rankByCount(countByFilm(), limit);
+    }
+
+    /**
+     * Mendapatkan jumlah playlist untuk setiap film yang ada di index terbalik.
+     * Dipakai untuk menggabungkan jumlah dari beberapa shard sebelum diperingkat.
+     *
+     * @return map ID film ke jumlah playlist yang memuatnya
+     */
+    public synchronized Map<String, Integer> countByFilm() {
+        ensureLoaded();
+        Map<String, Integer> counts = new HashMap<>();
+        for (Map.Entry<String, Set<Playlist>> entry : playlistsByFilm.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().size());
+        }
+        return counts;
+    }
+
+    /**
+     * Mengambil limit entri dengan jumlah terbesar memakai heap berukuran limit.
+     *
+     * @param counts map ID film ke jumlah playlist
+     * @param limit jumlah entri maksimum
+     * @return map ID film ke jumlah playlist, terurut dari yang terbanyak lalu ID film
+     */
+    public static Map<String, Integer> rankByCount(Map<String, Integer> counts, int limit) {
+        Map<String, Integer> results = new LinkedHashMap<>();
+        if (limit <= 0) {
+            return results;
+        }
+        Comparator<Map.Entry<String, Integer>> weakestFirst = Comparator
+                .comparing((Map.Entry<String, Integer> entry) -> entry.getValue())
+                .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+        // Min-heap of the current top entries: the weakest one is evicted first
+        PriorityQueue<Map.Entry<String, Integer>> top = new PriorityQueue<>(weakestFirst);
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Map.Entry<String, Integer>> ranked = new ArrayList<>(top);
+        ranked.sort(weakestFirst.reversed());
+        for (Map.Entry<String, Integer> entry : ranked) {
+            results.put(entry.getKey(), entry.getValue());
+        }
+        return results;
+    }
+
+    /**
+     * Menghitung jumlah playlist dalam repository.
+     *
+     * @return jumlah playlist
+     */
+    public synchronized int count() {
+        ensureLoaded();
+        return playlists.size();
+    }
+
+    /**
+     * Menambahkan playlist baru di akhir file.
+     *
+     * @param playlist playlist yang ditambahkan
+     */
+    public synchronized void add(Playlist playlist) {
+        ensureLoaded();
+        Playlist stored = storedCopyOf(playlist);
+        store(stored);
+        FileManager.appendLine(filePath, stored.toFileLine());
+        loadedVersion = FileManager.getFileVersion(filePath);
+    }
+
+    /**
+     * Mengganti isi playlist dengan nama dan pemilik yang sama.
+     *
+     * @param playlist playlist dengan data baru
+     * @return true jika playlist ditemukan dan diperbarui
+     */
+    public synchronized boolean update(Playlist playlist) {
+        ensureLoaded();
+        if (!replace(playlist)) {
+            return false;
+        }
+        FileManager.putRecord(filePath, playlist.toFileLine());
+        loadedVersion = FileManager.getFileVersion(filePath);
+        return true;
+    }
+
+    /**
+     * Mengganti isi semua playlist dengan key yang sama di memori, seperti aturan put di FileManager.
+     * Hanya playlist milik pemilik yang sama yang diperiksa, dan posisinya tidak berubah.
+     */
+    private boolean replace(Playlist playlist) {
+        boolean found = false;
+        for (Playlist existing : playlistsByOwner.getOrDefault(playlist.getOwnerEmail(), Collections.emptyList())) {
+            if (existing.getName().equals(playlist.getName())) {
+                unindexFilms(existing);
+                existing.setVisibility(playlist.getVisibility());
+                existing.setFilmIds(storedFilmIds(playlist.getFilmIds()));
+                indexFilms(existing);
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Menghapus playlist berdasarkan nama dan pemilik.
+     *
+     * @param name nama playlist
+     * @param ownerEmail email pemilik playlist
+     * @return true jika playlist ditemukan dan dihapus
+     */
+    public synchronized boolean delete(String name, String ownerEmail) {
+        ensureLoaded();
+        List<Playlist> owned = playlistsByOwner.get(ownerEmail);
+        boolean found = owned != null && owned.removeIf(playlist -> {
+            if (playlist.getName().equals(name)) {
+                playlists.remove(playlist);
+                unindexFilms(playlist);
+                return true;
+            }
+            return false;
+        });
+        if (found) {
+            if (owned.isEmpty()) {
+                playlistsByOwner.remove(ownerEmail);
+            }
+            FileManager.deleteRecord(filePath, name, ownerEmail);
+            loadedVersion = FileManager.getFileVersion(filePath);
+        }
+        return found;
+    }
+
+    /**
+     * Mengeluarkan film dari semua playlist yang memuatnya.
+     * Hanya playlist dari index terbalik yang disentuh dan masing-masing ditulis sebagai satu delta kecil.
+     *
+     * @param filmId ID film yang dikeluarkan
+     * @return jumlah playlist yang berubah
+     */
+    public synchronized int removeFilm(String filmId) {
+        ensureLoaded();
+        Set<Playlist> containing = playlistsByFilm.remove(filmId);
+        if (containing == null) {
+            return 0;
+        }
+        Set<String> updated = new LinkedHashSet<>();
+        for (Playlist playlist : containing) {
+            playlist.getFilmIds().removeIf(filmId::equals);
+            if (updated.add(playlist.getName() + "|" + playlist.getOwnerEmail())) {
+                FileManager.removeFromListField(filePath, FILM_IDS_FIELD, filmId, playlist.getName(), playlist.getOwnerEmail());
+            }
+        }
+        loadedVersion = FileManager.getFileVersion(filePath);
+        return updated.size();
+    }
+
+    /**
+     * Menambahkan satu film di akhir playlist dan mencatatnya sebagai delta kecil, bukan seluruh baris.
+     * Film yang sudah ada di playlist dideteksi dalam O(1) melalui set di index terbalik.
+     *
+     * @param name nama playlist
+     * @param ownerEmail email pemilik playlist
+     * @param filmId ID film yang ditambahkan
+     * @return true jika film ditambahkan, false jika playlist tidak ada atau film sudah ada di playlist
+     */
+    public synchronized boolean addFilmTo(String name, String ownerEmail, String filmId) {
+        ensureLoaded();
+        List<Playlist> targets = findStored(name, ownerEmail);
+        if (targets.isEmpty() || contains(targets.get(0), filmId)) {
+            return false;
+        }
+        for (Playlist playlist : targets) {
+            playlist.getFilmIds().add(filmId);
+            playlistsByFilm.computeIfAbsent(filmId, k -> new LinkedHashSet<>()).add(playlist);
+        }
+        FileManager.addToListField(filePath, FILM_IDS_FIELD, filmId, name, ownerEmail);
+        loadedVersion = FileManager.getFileVersion(filePath);
+        return true;
+    }
+
+    /**
+     * Mengeluarkan satu film dari playlist dan mencatatnya sebagai delta kecil.
+     *
+     * @param name nama playlist
+     * @param ownerEmail email pemilik playlist
+     * @param filmId ID film yang dikeluarkan
+     * @return true jika film dikeluarkan, false jika playlist tidak ada atau tidak memuat film tersebut
+     */
+    public synchronized boolean removeFilmFrom(String name, String ownerEmail, String filmId) {
+        ensureLoaded();
+        List<Playlist> targets = findStored(name, ownerEmail);
+        if (targets.isEmpty() || !contains(targets.get(0), filmId)) {
+            return false;
+        }
+        Set<Playlist> containing = playlistsByFilm.get(filmId);
+        for (Playlist playlist : targets) {
+            playlist.getFilmIds().removeIf(filmId::equals);
+            containing.remove(playlist);
+        }
+        if (containing.isEmpty()) {
+            playlistsByFilm.remove(filmId);
+        }
+        FileManager.removeFromListField(filePath, FILM_IDS_FIELD, filmId, name, ownerEmail);
+        loadedVersion = FileManager.getFileVersion(filePath);
+        return true;
+    }
+
+    /**
+     * Memindahkan film di dalam playlist ke posisi lain. Urutan baru ditulis sebagai satu record put
+     * karena perpindahan posisi mengubah seluruh daftar film.
+     *
+     * @param name nama playlist
+     * @param ownerEmail email pemilik playlist
+     * @param fromIndex posisi film saat ini (0-based)
+     * @param toIndex posisi tujuan (0-based)
+     * @return true jika urutan berubah, false jika playlist tidak ada atau posisi tidak valid
+     */
+    public synchronized boolean reorder(String name, String ownerEmail, int fromIndex, int toIndex) {
+        ensureLoaded();
+        List<Playlist> targets = findStored(name, ownerEmail);
+        if (targets.isEmpty()) {
+            return false;
+        }
+        List<String> filmIds = targets.get(0).getFilmIds();
+        if (fromIndex < 0 || fromIndex >= filmIds.size() || toIndex < 0 || toIndex >= filmIds.size()) {
+            return false;
+        }
+        if (fromIndex == toIndex) {
+            return true;
+        }
+        List<String> reordered = new ArrayList<>(filmIds);
+        reordered.add(toIndex, reordered.remove(fromIndex));
+        for (Playlist playlist : targets) {
+            playlist.setFilmIds(storedFilmIds(reordered));
+        }
+        FileManager.putRecord(filePath, targets.get(0).toFileLine());
+        loadedVersion = FileManager.getFileVersion(filePath);
+        return true;
+    }
+
+    /**
+     * Mendapatkan playlist tersimpan (bukan salinan) dengan nama dan pemilik tertentu.
+     */
+    private List<Playlist> findStored(String name, String ownerEmail) {
+        List<Playlist> matches = new ArrayList<>(1);
+        for (Playlist playlist : playlistsByOwner.getOrDefault(ownerEmail, Collections.emptyList())) {
+            if (playlist.getName().equals(name)) {
+                matches.add(playlist);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Mengecek apakah playlist tersimpan memuat film melalui set di index terbalik, tanpa memindai daftar film.
+     */
+    private boolean contains(Playlist playlist, String filmId) {
+        Set<Playlist> containing = playlistsByFilm.get(filmId);
+        return containing != null && containing.contains(playlist);
+    }
+}
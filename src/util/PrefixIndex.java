@@ -0,0 +1,284 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Index prefix ringkas untuk autocomplete dengan hasil top-k berdasarkan skor.
+ *
+ * <p>Teks lowercase disimpan dalam array terurut sehingga semua teks dengan prefix yang sama berada
+ * dalam satu rentang yang ditemukan dengan binary search. Di atas array skor dibangun segment tree
+ * (posisi skor maksimum per rentang), sehingga k hasil terbaik diambil dengan best-first search
+ * dalam O(k log n) tanpa menyentuh semua teks di rentang tersebut.</p>
+ *
+ * <p>Penambahan baru ditampung di buffer kecil berukuran tetap yang dipindai linear, dan penghapusan
+ * ditandai di bitset. Buffer digabung ke array terurut dengan merge linear begitu melewati
+ * {@value #PENDING_MERGE_THRESHOLD} entri, sehingga biaya pindai per query tetap kecil berapa pun
+ * ukuran index; penghapusan baru dibersihkan saat jumlahnya melewati batas yang sebanding dengan
+ * ukuran index.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class PrefixIndex {
+    private static final int PENDING_MERGE_THRESHOLD = 256;
+    private static final int MIN_REBUILD_THRESHOLD = 1024;
+
+    // Array terurut hasil build terakhir
+    private String[] keys = new String[0];
+    private int[] ordinals = new int[0];
+    private int[] scores = new int[0];
+    private int[] maxTree = new int[0];
+    private int leaves;
+
+    // Penambahan sejak build terakhir
+    private final List<Entry> pending = new ArrayList<>();
+
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    /**
+     * Menambahkan teks ke index.
+     *
+     * @param ordinal nomor urut unik dokumen
+     * @param text teks yang bisa dilengkapi
+     * @param score skor peringkat; makin besar makin di atas
+     */
+    public void add(int ordinal, String text, int score) {
+        pending.add(new Entry(text != null ? text.toLowerCase() : "", ordinal, score));
+    }
+
+    /**
+     * Menandai dokumen sebagai terhapus.
+     *
+     * @param ordinal nomor urut dokumen
+     */
+    public void remove(int ordinal) {
+        if (!removed.get(ordinal)) {
+            removed.set(ordinal);
+            removedCount++;
+        }
+    }
+
+    /**
+     * Mengosongkan index.
+     */
+    public void clear() {
+        keys = new String[0];
+        ordinals = new int[0];
+        scores = new int[0];
+        maxTree = new int[0];
+        leaves = 0;
+        pending.clear();
+        removed.clear();
+        removedCount = 0;
+    }
+
+    /**
+     * Mencari hingga {@code limit} dokumen yang teksnya diawali prefix (case-insensitive),
+     * diurutkan berdasarkan skor tertinggi lalu teks secara alfabetis.
+     *
+     * @param prefix awal teks yang diketik user
+     * @param limit jumlah hasil maksimum
+     * @return ordinal dokumen yang cocok
+     */
+    public int[] complete(String prefix, int limit) {
+        if (prefix.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+        // Pending is scanned on every query so it stays small; removals cost only a bitset lookup
+        if (pending.size() > PENDING_MERGE_THRESHOLD || removedCount > Math.max(MIN_REBUILD_THRESHOLD, keys.length / 8)) {
+            rebuild();
+        }
+        String lower = prefix.toLowerCase();
+        List<Entry> hits = new ArrayList<>();
+
+        // Best-first over the sorted range: always expand the sub-range with the highest score
+        int from = lowerBound(lower);
+        int to = lowerBound(lower + Character.MAX_VALUE);
+        PriorityQueue<int[]> ranges = new PriorityQueue<>(rangeOrder());
+        offerRange(ranges, from, to);
+        while (!ranges.isEmpty() && hits.size() < limit) {
+            int[] range = ranges.poll();
+            int position = range[2];
+            if (!removed.get(ordinals[position])) {
+                hits.add(new Entry(keys[position], ordinals[position], scores[position]));
+            }
+            offerRange(ranges, range[0], position);
+            offerRange(ranges, position + 1, range[1]);
+        }
+
+        // Recent additions are not in the sorted array yet
+        for (Entry entry : pending) {
+            if (entry.key.startsWith(lower) && !removed.get(entry.ordinal)) {
+                hits.add(entry);
+            }
+        }
+
+        // Stable sort keeps the alphabetical order of equal scores from the sorted array
+        hits.sort(Comparator.comparingInt((Entry entry) -> -entry.score).thenComparing(entry -> entry.key));
+        int[] results = new int[Math.min(limit, hits.size())];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = hits.get(i).ordinal;
+        }
+        return results;
+    }
+
+    /**
+     * Urutan rentang di antrian: skor maksimum tertinggi dulu, lalu posisi terkecil (alfabetis).
+     */
+    private Comparator<int[]> rangeOrder() {
+        return (a, b) -> scores[a[2]] != scores[b[2]] ? Integer.compare(scores[b[2]], scores[a[2]]) : Integer.compare(a[2], b[2]);
+    }
+
+    /**
+     * Memasukkan rentang [from, to) beserta posisi skor maksimumnya ke antrian.
+     */
+    private void offerRange(PriorityQueue<int[]> ranges, int from, int to) {
+        if (from < to) {
+            ranges.offer(new int[]{from, to, maxPosition(from, to)});
+        }
+    }
+
+    /**
+     * Menggabungkan buffer penambahan ke array terurut dan membuang dokumen yang terhapus.
+     *
+     * <p>Hanya buffer yang diurutkan; hasilnya di-merge linear dengan array lama yang sudah terurut.</p>
+     */
+    private void rebuild() {
+        Entry[] added = pending.toArray(new Entry[0]);
+        Arrays.sort(added, (a, b) -> compare(a.key, a.ordinal, b.key, b.ordinal));
+
+        int capacity = keys.length + added.length;
+        String[] mergedKeys = new String[capacity];
+        int[] mergedOrdinals = new int[capacity];
+        int[] mergedScores = new int[capacity];
+        int size = 0;
+        int old = 0;
+        int fresh = 0;
+        while (old < keys.length || fresh < added.length) {
+            boolean takeOld = fresh == added.length
+                    || (old < keys.length && compare(keys[old], ordinals[old], added[fresh].key, added[fresh].ordinal) <= 0);
+            String key;
+            int ordinal;
+            int score;
+            if (takeOld) {
+                key = keys[old];
+                ordinal = ordinals[old];
+                score = scores[old];
+                old++;
+            } else {
+                key = added[fresh].key;
+                ordinal = added[fresh].ordinal;
+                score = added[fresh].score;
+                fresh++;
+            }
+            if (!removed.get(ordinal)) {
+                mergedKeys[size] = key;
+                mergedOrdinals[size] = ordinal;
+                mergedScores[size] = score;
+                size++;
+            }
+        }
+        keys = Arrays.copyOf(mergedKeys, size);
+        ordinals = Arrays.copyOf(mergedOrdinals, size);
+        scores = Arrays.copyOf(mergedScores, size);
+        buildTree();
+
+        pending.clear();
+        // Removed ordinals are gone from the arrays; ordinals are never reused so the bitset can reset
+        removed.clear();
+        removedCount = 0;
+    }
+
+    /**
+     * Membangun segment tree berisi posisi skor maksimum (posisi terkecil jika skor sama).
+     */
+    private void buildTree() {
+        leaves = 1;
+        while (leaves < keys.length) {
+            leaves <<= 1;
+        }
+        maxTree = new int[2 * leaves];
+        Arrays.fill(maxTree, -1);
+        for (int i = 0; i < keys.length; i++) {
+            maxTree[leaves + i] = i;
+        }
+        for (int node = leaves - 1; node >= 1; node--) {
+            maxTree[node] = better(maxTree[2 * node], maxTree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Mencari posisi skor maksimum di rentang [from, to).
+     */
+    private int maxPosition(int from, int to) {
+        int best = -1;
+        for (int left = from + leaves, right = to + leaves; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                best = better(best, maxTree[left++]);
+            }
+            if ((right & 1) == 1) {
+                best = better(best, maxTree[--right]);
+            }
+        }
+        return best;
+    }
+
+    private int better(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        if (scores[a] != scores[b]) {
+            return scores[a] > scores[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    /**
+     * Satu teks beserta ordinal dan skornya.
+     */
+    private static class Entry {
+        final String key;
+        final int ordinal;
+        final int score;
+
+        Entry(String key, int ordinal, int score) {
+            this.key = key;
+            this.ordinal = ordinal;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Urutan array terurut: teks lalu ordinal.
+     */
+    private static int compare(String keyA, int ordinalA, String keyB, int ordinalB) {
+        int byKey = keyA.compareTo(keyB);
+        return byKey != 0 ? byKey : Integer.compare(ordinalA, ordinalB);
+    }
+
+    /**
+     * Posisi pertama di array terurut yang tidak lebih kecil dari key.
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
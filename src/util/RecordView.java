@@ -0,0 +1,200 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * View ringan atas satu record (satu baris) di dalam buffer file data.
+ * Field dipisah karakter pipe (|) dan hanya di-decode menjadi String saat benar-benar diakses,
+ * sehingga pemindaian file besar tidak perlu membuat String untuk setiap baris.
+ *
+ * <p>View yang diberikan oleh {@link FileManager#scanRecords} dapat dipakai ulang untuk record
+ * berikutnya, jadi hanya valid selama callback berjalan. Gunakan {@link #line()} atau
+ * {@link #field(int)} untuk menyimpan nilainya.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class RecordView {
+    private static final byte SEPARATOR = '|';
+
+    private final Charset charset;
+    private ByteBuffer buffer;
+    private int start;
+    private int end;
+
+    /**
+     * Konstruktor RecordView.
+     *
+     * @param charset charset yang dipakai file data
+     */
+    RecordView(Charset charset) {
+        this.charset = charset;
+    }
+
+    /**
+     * Membuat view dari satu baris String, dipakai saat file tidak bisa dipetakan ke memori.
+     *
+     * @param line baris record
+     * @param charset charset yang dipakai file data
+     * @return view baru atas baris tersebut
+     */
+    static RecordView of(String line, Charset charset) {
+        byte[] bytes = line.getBytes(charset);
+        RecordView view = new RecordView(charset);
+        view.reset(ByteBuffer.wrap(bytes), 0, bytes.length);
+        return view;
+    }
+
+    /**
+     * Mengarahkan view ke record lain di dalam buffer.
+     *
+     * @param buffer buffer yang berisi data file
+     * @param start posisi byte awal record
+     * @param end posisi byte setelah akhir record (tanpa newline)
+     */
+    void reset(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Menghitung jumlah field dengan aturan yang sama seperti {@code line.split("\\|")}:
+     * field kosong di bagian akhir tidak dihitung.
+     *
+     * @return jumlah field record
+     */
+    public int fieldCount() {
+        int count = 0;
+        int fieldIndex = 0;
+        int fieldStart = start;
+        boolean hasSeparator = false;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer.get(i) == SEPARATOR) {
+                if (i > fieldStart) {
+                    count = fieldIndex + 1;
+                }
+                if (i < end) {
+                    hasSeparator = true;
+                }
+                fieldIndex++;
+                fieldStart = i + 1;
+            }
+        }
+        return hasSeparator ? count : 1;
+    }
+
+    /**
+     * Mengambil nilai field pada index tertentu.
+     *
+     * @param index index field (0-based)
+     * @return nilai field, atau null jika record tidak memiliki field tersebut
+     */
+    public String field(int index) {
+        int fieldStart = fieldStart(index);
+        if (fieldStart < 0) {
+            return null;
+        }
+        return decode(fieldStart, fieldEnd(fieldStart));
+    }
+
+    /**
+     * Membandingkan field dengan sebuah nilai tanpa men-decode field menjadi String.
+     *
+     * @param index index field (0-based)
+     * @param value nilai pembanding
+     * @return true jika field ada dan isinya sama persis dengan value
+     */
+    public boolean fieldEquals(int index, String value) {
+        int fieldStart = fieldStart(index);
+        if (fieldStart < 0 || value == null) {
+            return false;
+        }
+        int fieldEnd = fieldEnd(fieldStart);
+        byte[] expected = value.getBytes(charset);
+        if (expected.length != fieldEnd - fieldStart) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(fieldStart + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Men-decode seluruh record menjadi satu baris String.
+     *
+     * @return baris record lengkap
+     */
+    public String line() {
+        return decode(start, end);
+    }
+
+    /**
+     * Mengambil key record, yaitu sejumlah field awal beserta pemisahnya.
+     *
+     * @param keyFields jumlah field awal yang membentuk key
+     * @return key record
+     */
+    String key(int keyFields) {
+        int keyEnd = start - 1;
+        for (int i = 0; i < keyFields; i++) {
+            keyEnd = fieldEnd(keyEnd + 1);
+            if (keyEnd >= end) {
+                return decode(start, end);
+            }
+        }
+        return decode(start, keyEnd);
+    }
+
+    /**
+     * Mencari posisi byte awal field pada index tertentu.
+     *
+     * @param index index field (0-based)
+     * @return posisi awal field, atau -1 jika field tidak ada
+     */
+    private int fieldStart(int index) {
+        int position = start;
+        for (int i = 0; i < index; i++) {
+            position = fieldEnd(position);
+            if (position >= end) {
+                return -1;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Mencari posisi byte setelah akhir field yang dimulai di posisi tertentu.
+     *
+     * @param fieldStart posisi awal field
+     * @return posisi pemisah berikutnya atau akhir record
+     */
+    private int fieldEnd(int fieldStart) {
+        int position = fieldStart;
+        while (position < end && buffer.get(position) != SEPARATOR) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Men-decode rentang byte menjadi String.
+     *
+     * @param from posisi awal (inklusif)
+     * @param to posisi akhir (eksklusif)
+     * @return hasil decode
+     */
+    private String decode(int from, int to) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + from, to - from, charset);
+        }
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, charset);
+    }
+}
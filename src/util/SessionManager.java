@@ -0,0 +1,217 @@
+package util;
+
+import model.User;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Penyimpanan session login untuk banyak user sekaligus dalam satu JVM.
+ *
+ * <p>Setiap session diidentifikasi token acak yang tidak bisa ditebak dan disimpan di
+ * {@link ConcurrentHashMap}, sehingga pencarian user per token berjalan O(1) dan aman dipanggil
+ * dari banyak thread. Session yang tidak dipakai selama batas idle dibuang melalui timer wheel:
+ * token dimasukkan ke slot sesuai tenggat idle-nya, dan setiap tick hanya slot yang jatuh tempo
+ * yang diperiksa. Akses ke session hanya memperbarui waktu akses terakhir; token yang ternyata masih
+ * aktif saat slotnya diperiksa dipindahkan ke slot tenggat barunya. Session yang kedaluwarsa
+ * juga ditolak langsung saat diakses walaupun slotnya belum diperiksa. Batas idle 0 berarti session
+ * tidak pernah kedaluwarsa dan hanya berakhir saat {@link #invalidate(String)} dipanggil.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class SessionManager {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SessionManager.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final List<Set<String>> wheel;
+    private final long idleTimeoutMillis;
+    private final long tickMillis;
+    private final LongSupplier clock;
+    // Tick terakhir yang slotnya sudah diperiksa; dijaga oleh monitor wheel
+    private long processedTick;
+    private ScheduledExecutorService ticker;
+
+    /**
+     * Konstruktor SessionManager.
+     *
+     * @param idleTimeoutMillis lama session boleh tidak dipakai sebelum dibuang, atau 0 jika session tidak pernah kedaluwarsa
+     * @param tickMillis resolusi timer wheel; session dibuang paling lambat satu tick setelah tenggatnya
+     * @param clock sumber waktu dalam milidetik
+     */
+    public SessionManager(long idleTimeoutMillis, long tickMillis, LongSupplier clock) {
+        if (idleTimeoutMillis < 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("Idle timeout must not be negative and tick must be positive");
+        }
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        // A deadline is at most one idle timeout (plus rounding) ahead, so it never wraps past the current tick
+        int slots = idleTimeoutMillis == 0 ? 0 : (int) Math.min(Integer.MAX_VALUE - 8, idleTimeoutMillis / tickMillis + 3);
+        this.wheel = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+        this.processedTick = clock.getAsLong() / tickMillis;
+    }
+
+    /**
+     * Menjalankan pembersihan session secara berkala di thread daemon.
+     * Tidak menjalankan thread apa pun jika session tidak pernah kedaluwarsa.
+     *
+     * @return instance ini
+     */
+    public synchronized SessionManager start() {
+        if (ticker == null && !wheel.isEmpty()) {
+            ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "session-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(this::expireIdle, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Membuat session baru untuk user.
+     *
+     * @param user user yang login
+     * @return token session
+     */
+    public String create(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Session session = new Session(user, clock.getAsLong());
+        sessions.put(token, session);
+        schedule(token, session.deadline(idleTimeoutMillis));
+        return token;
+    }
+
+    /**
+     * Mendapatkan user dari session dan memperbarui waktu akses terakhirnya.
+     *
+     * @param token token session
+     * @return user pemilik session, atau null jika token tidak dikenal atau sudah kedaluwarsa
+     */
+    public User get(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = clock.getAsLong();
+        if (idleTimeoutMillis > 0 && session.deadline(idleTimeoutMillis) <= now) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.lastAccess = now;
+        return session.user;
+    }
+
+    /**
+     * Mengakhiri session.
+     *
+     * @param token token session
+     * @return true jika session ada dan dihapus
+     */
+    public boolean invalidate(String token) {
+        // The wheel entry is left behind and dropped when its slot comes due
+        return token != null && sessions.remove(token) != null;
+    }
+
+    /**
+     * Menghitung jumlah session yang tersimpan, termasuk yang sudah lewat tenggat tetapi belum diperiksa.
+     *
+     * @return jumlah session
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Memeriksa slot timer wheel yang sudah jatuh tempo dan membuang session yang melewati batas idle.
+     *
+     * @return jumlah session yang dibuang
+     */
+    public int expireIdle() {
+        if (wheel.isEmpty()) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        int expired = 0;
+        synchronized (wheel) {
+            long nowTick = now / tickMillis;
+            // After a long pause every slot is due once; looping further would revisit the same slots
+            long first = Math.max(processedTick + 1, nowTick - wheel.size() + 1);
+            for (long tick = first; tick <= nowTick; tick++) {
+                Set<String> slot = wheel.get((int) (tick % wheel.size()));
+                if (slot.isEmpty()) {
+                    continue;
+                }
+                List<String> due = new ArrayList<>(slot);
+                slot.removeAll(due);
+                for (String token : due) {
+                    Session session = sessions.get(token);
+                    if (session == null) {
+                        continue;
+                    }
+                    long deadline = session.deadline(idleTimeoutMillis);
+                    if (deadline <= now) {
+                        if (sessions.remove(token, session)) {
+                            expired++;
+                        }
+                    } else {
+                        schedule(token, deadline);
+                    }
+                }
+            }
+            processedTick = Math.max(processedTick, nowTick);
+        }
+        if (expired > 0) {
+            logger.debug("Expired {} idle sessions", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Memasukkan token ke slot tick pertama setelah tenggatnya.
+     */
+    private void schedule(String token, long deadline) {
+        if (wheel.isEmpty()) {
+            return;
+        }
+        long tick = deadline / tickMillis + 1;
+        wheel.get((int) (tick % wheel.size())).add(token);
+    }
+
+    /**
+     * Data satu session: user pemilik dan waktu akses terakhir.
+     */
+    private static class Session {
+        final User user;
+        volatile long lastAccess;
+
+        Session(User user, long now) {
+            this.user = user;
+            this.lastAccess = now;
+        }
+
+        long deadline(long idleTimeoutMillis) {
+            return lastAccess + idleTimeoutMillis;
+        }
+    }
+}
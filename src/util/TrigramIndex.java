@@ -0,0 +1,214 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index trigram (3 karakter berurutan) untuk pencarian substring case-insensitive.
+ * Setiap dokumen diidentifikasi dengan nomor urut (ordinal) int yang stabil; untuk setiap trigram
+ * disimpan posting list berisi ordinal dokumen yang terurut naik.
+ *
+ * <p>Pencarian mengambil posting list semua trigram di query, mengiris (intersect) dimulai dari list
+ * terkecil, lalu memverifikasi kandidat dengan {@code contains} karena trigram yang ada belum tentu
+ * berurutan. Query yang lebih pendek dari 3 karakter tidak punya trigram sehingga dipindai linear.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class TrigramIndex {
+    private static final int GRAM = 3;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    // Teks lowercase per ordinal, null untuk dokumen yang sudah dihapus
+    private final List<String> texts = new ArrayList<>();
+    private int size;
+
+    /**
+     * Menambahkan dokumen ke index.
+     *
+     * @param ordinal nomor urut dokumen; dokumen baru sebaiknya memakai ordinal yang lebih besar dari sebelumnya
+     * @param text teks yang diindex
+     */
+    public void add(int ordinal, String text) {
+        String lower = text != null ? text.toLowerCase() : "";
+        while (texts.size() <= ordinal) {
+            texts.add(null);
+        }
+        if (texts.get(ordinal) != null) {
+            remove(ordinal);
+        }
+        texts.set(ordinal, lower);
+        size++;
+        for (int i = 0; i + GRAM <= lower.length(); i++) {
+            postings.computeIfAbsent(gram(lower, i), k -> new Postings()).add(ordinal);
+        }
+    }
+
+    /**
+     * Menghapus dokumen dari index.
+     *
+     * @param ordinal nomor urut dokumen
+     */
+    public void remove(int ordinal) {
+        if (ordinal < 0 || ordinal >= texts.size() || texts.get(ordinal) == null) {
+            return;
+        }
+        String lower = texts.set(ordinal, null);
+        size--;
+        for (int i = 0; i + GRAM <= lower.length(); i++) {
+            Long key = gram(lower, i);
+            Postings list = postings.get(key);
+            if (list != null && list.remove(ordinal) && list.size == 0) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Mengosongkan index.
+     */
+    public void clear() {
+        postings.clear();
+        texts.clear();
+        size = 0;
+    }
+
+    /**
+     * Mendapatkan jumlah dokumen di index.
+     *
+     * @return jumlah dokumen
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Mencari dokumen yang teksnya mengandung query (case-insensitive).
+     *
+     * @param query teks yang dicari
+     * @return ordinal dokumen yang cocok, terurut naik
+     */
+    public int[] search(String query) {
+        String lower = query.toLowerCase();
+        if (lower.length() < GRAM) {
+            return scan(lower);
+        }
+
+        // Collect the posting list of every distinct trigram; a missing one means no match
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= lower.length(); i++) {
+            Postings list = postings.get(gram(lower, i));
+            if (list == null) {
+                return new int[0];
+            }
+            if (!lists.contains(list)) {
+                lists.add(list);
+            }
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        int[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int count = candidates.length;
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            count = intersect(candidates, count, lists.get(l));
+        }
+
+        int matches = 0;
+        for (int i = 0; i < count; i++) {
+            if (texts.get(candidates[i]).contains(lower)) {
+                candidates[matches++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(candidates, matches);
+    }
+
+    /**
+     * Pencarian linear untuk query tanpa trigram.
+     *
+     * @param lower query lowercase
+     * @return ordinal dokumen yang cocok
+     */
+    private int[] scan(String lower) {
+        int[] results = new int[size];
+        int count = 0;
+        for (int ordinal = 0; ordinal < texts.size(); ordinal++) {
+            String text = texts.get(ordinal);
+            if (text != null && text.contains(lower)) {
+                results[count++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(results, count);
+    }
+
+    /**
+     * Menyaring kandidat sehingga hanya ordinal yang juga ada di posting list yang tersisa.
+     *
+     * @param candidates kandidat terurut naik (diubah di tempat)
+     * @param count jumlah kandidat yang valid
+     * @param list posting list pembanding
+     * @return jumlah kandidat yang tersisa
+     */
+    private static int intersect(int[] candidates, int count, Postings list) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int found = Arrays.binarySearch(list.ids, from, list.size, candidates[i]);
+            if (found >= 0) {
+                candidates[kept++] = candidates[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Mengemas tiga karakter mulai dari posisi tertentu menjadi satu key long.
+     */
+    private static Long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /**
+     * Posting list berupa array int terurut naik tanpa duplikat.
+     */
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size > 0 && ids[size - 1] >= ordinal) {
+                int found = Arrays.binarySearch(ids, 0, size, ordinal);
+                if (found >= 0) {
+                    return;
+                }
+                insertAt(-found - 1, ordinal);
+                return;
+            }
+            insertAt(size, ordinal);
+        }
+
+        boolean remove(int ordinal) {
+            int found = Arrays.binarySearch(ids, 0, size, ordinal);
+            if (found < 0) {
+                return false;
+            }
+            System.arraycopy(ids, found + 1, ids, found, size - found - 1);
+            size--;
+            return true;
+        }
+
+        private void insertAt(int position, int ordinal) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = ordinal;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package util;
+
+import model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Repository in-memory untuk data User.
+ * Memuat file user satu kali dan menyimpan user sesuai urutan di file, ditambah index HashMap
+ * berdasarkan email (case-sensitive, sama seperti pencocokan email saat login) dan berdasarkan
+ * username lowercase untuk pencarian username tanpa membedakan huruf besar-kecil. Login, cek email
+ * saat register, dan pencarian username berjalan O(1) tanpa membaca file. User premium juga dipelihara
+ * di set terurut (sesuai urutan di file) pada setiap perubahan, sehingga jumlah user, jumlah user premium,
+ * dan daftar user premium untuk dashboard admin tidak perlu menghitung ulang seluruh user.
+ * Setiap perubahan langsung ditulis ke file (write-through) sebagai record put/delete tunggal,
+ * dan data dimuat ulang otomatis jika file diubah lewat FileManager dari tempat lain.
+ *
+ * <p>User yang disimpan dan dikembalikan selalu berupa salinan, sehingga perubahan objek
+ * di UI sebelum {@link #update(User)} tidak merusak index.</p>
+ *
+ * @author lisvindanu
+ * @version 2.0
+ */
+public class UserStore {
+    private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(UserStore.class);
+
+    private static UserStore defaultStore;
+
+    private final String filePath;
+    private final List<User> users = new ArrayList<>();
+    // Index email dan username; list berisi lebih dari satu user hanya jika file memuat email/username ganda
+    private final Map<String, List<User>> usersByEmail = new HashMap<>();
+    private final Map<String, List<User>> usersByUsername = new HashMap<>();
+    // Nomor urut stabil per user (urutan di file) dan user premium yang diurutkan dengan nomor tersebut
+    private final Map<User, Long> sequence = new IdentityHashMap<>();
+    private final NavigableMap<Long, User> premiumUsers = new TreeMap<>();
+    private long nextSequence;
+    private long loadedVersion = -1;
+
+    /**
+     * Konstruktor UserStore.
+     * Data belum dibaca sampai store pertama kali diakses.
+     *
+     * @param filePath path file penyimpanan user
+     */
+    public UserStore(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Mendapatkan store bersama untuk file user aplikasi, dipakai AuthService dan UserController
+     * agar keduanya berbagi satu salinan data di memori.
+     *
+     * @return store untuk {@link FileManager#USERS_FILE}
+     */
+    public static synchronized UserStore getDefault() {
+        if (defaultStore == null) {
+            defaultStore = new UserStore(FileManager.USERS_FILE);
+        }
+        return defaultStore;
+    }
+
+    /**
+     * Memastikan data di memori sesuai dengan versi file terbaru.
+     */
+    private void ensureLoaded() {
+        long currentVersion = FileManager.getFileVersion(filePath);
+        if (currentVersion == loadedVersion) {
+            return;
+        }
+
+        users.clear();
+        usersByEmail.clear();
+        usersByUsername.clear();
+        sequence.clear();
+        premiumUsers.clear();
+        nextSequence = 0;
+        loadedVersion = currentVersion;
+        FileManager.scanRecords(filePath, record -> {
+            User user = User.fromFileLine(record.line());
+            if (user != null) {
+                users.add(user);
+                sequence.put(user, nextSequence++);
+                index(user);
+            }
+        });
+        logger.debug("Loaded {} users from {}", users.size(), filePath);
+    }
+
+    private void index(User user) {
+        usersByEmail.computeIfAbsent(user.getEmail(), k -> new ArrayList<>(1)).add(user);
+        usersByUsername.computeIfAbsent(usernameKey(user.getUsername()), k -> new ArrayList<>(1)).add(user);
+        if (user.isPremium()) {
+            premiumUsers.put(sequence.get(user), user);
+        }
+    }
+
+    private void unindex(User user) {
+        unindex(usersByEmail, user.getEmail(), user);
+        unindex(usersByUsername, usernameKey(user.getUsername()), user);
+        premiumUsers.remove(sequence.get(user));
+    }
+
+    private static void unindex(Map<String, List<User>> index, String key, User user) {
+        List<User> matches = index.get(key);
+        if (matches != null) {
+            matches.removeIf(candidate -> candidate == user);
+            if (matches.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static String usernameKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Membangun ulang index dari list user agar urutan user ganda di index tetap sesuai urutan di file.
+     */
+    private void reindex() {
+        usersByEmail.clear();
+        usersByUsername.clear();
+        premiumUsers.clear();
+        for (User user : users) {
+            index(user);
+        }
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getEmail(), user.getPassword(), user.getUsername(), user.getRole(),
+                user.getGender(), user.isPremium());
+    }
+
+    private static List<User> copiesOf(Collection<User> source) {
+        List<User> copies = new ArrayList<>(source.size());
+        for (User user : source) {
+            copies.add(copyOf(user));
+        }
+        return copies;
+    }
+
+    /**
+     * Mendapatkan salinan semua user sesuai urutan di file.
+     *
+     * @return list baru berisi semua user
+     */
+    public synchronized List<User> findAll() {
+        ensureLoaded();
+        return copiesOf(users);
+    }
+
+    /**
+     * Mendapatkan user pada posisi tertentu.
+     *
+     * @param index posisi user (0-based)
+     * @return salinan user, atau null jika index tidak valid
+     */
+    public synchronized User get(int index) {
+        ensureLoaded();
+        return index >= 0 && index < users.size() ? copyOf(users.get(index)) : null;
+    }
+
+    /**
+     * Menghitung jumlah user dalam store.
+     *
+     * @return jumlah user
+     */
+    public synchronized int count() {
+        ensureLoaded();
+        return users.size();
+    }
+
+    /**
+     * Menghitung jumlah user premium dalam O(1).
+     *
+     * @return jumlah user premium
+     */
+    public synchronized int countPremium() {
+        ensureLoaded();
+        return premiumUsers.size();
+    }
+
+    /**
+     * Mendapatkan salinan user premium sesuai urutan di file, tanpa memeriksa user lain.
+     *
+     * @return list baru berisi user premium
+     */
+    public synchronized List<User> findPremium() {
+        ensureLoaded();
+        return copiesOf(premiumUsers.values());
+    }
+
+    /**
+     * Mencari user pertama dengan email tertentu melalui index email.
+     *
+     * @param email email user (case-sensitive)
+     * @return salinan user, atau null jika tidak ada
+     */
+    public synchronized User findByEmail(String email) {
+        ensureLoaded();
+        List<User> matches = usersByEmail.get(email);
+        return matches != null ? copyOf(matches.get(0)) : null;
+    }
+
+    /**
+     * Mencari semua user dengan email tertentu sesuai urutan di file.
+     * Biasanya berisi paling banyak satu user; lebih dari satu hanya jika file memuat email ganda.
+     *
+     * @param email email user (case-sensitive)
+     * @return list salinan user dengan email tersebut
+     */
+    public synchronized List<User> findAllByEmail(String email) {
+        ensureLoaded();
+        return copiesOf(usersByEmail.getOrDefault(email, Collections.emptyList()));
+    }
+
+    /**
+     * Mengecek apakah email sudah terdaftar.
+     *
+     * @param email email user (case-sensitive)
+     * @return true jika ada user dengan email tersebut
+     */
+    public synchronized boolean containsEmail(String email) {
+        ensureLoaded();
+        return usersByEmail.containsKey(email);
+    }
+
+    /**
+     * Mencari user pertama dengan username tertentu tanpa membedakan huruf besar-kecil.
+     *
+     * @param username username yang dicari
+     * @return salinan user, atau null jika tidak ada
+     */
+    public synchronized User findByUsername(String username) {
+        ensureLoaded();
+        List<User> matches = usersByUsername.get(usernameKey(username));
+        return matches != null ? copyOf(matches.get(0)) : null;
+    }
+
+    /**
+     * Menambahkan user baru di akhir file.
+     *
+     * @param user user yang ditambahkan
+     */
+    public synchronized void add(User user) {
+        ensureLoaded();
+        User stored = copyOf(user);
+        users.add(stored);
+        sequence.put(stored, nextSequence++);
+        index(stored);
+        FileManager.appendLine(filePath, stored.toFileLine());
+        loadedVersion = FileManager.getFileVersion(filePath);
+    }
+
+    /**
+     * Mengganti data semua user dengan email yang sama, seperti aturan put di FileManager.
+     *
+     * @param user user dengan data baru
+     * @return true jika user ditemukan dan diperbarui
+     */
+    public synchronized boolean update(User user) {
+        ensureLoaded();
+        List<User> matches = usersByEmail.get(user.getEmail());
+        if (matches == null) {
+            return false;
+        }
+        for (User existing : new ArrayList<>(matches)) {
+            unindex(existing);
+            existing.setPassword(user.getPassword());
+            existing.setUsername(user.getUsername());
+            existing.setRole(user.getRole());
+            existing.setGender(user.getGender());
+            existing.setPremium(user.isPremium());
+            index(existing);
+        }
+        FileManager.putRecord(filePath, user.toFileLine());
+        loadedVersion = FileManager.getFileVersion(filePath);
+        return true;
+    }
+
+    /**
+     * Mengubah status premium user dengan satu record put, tanpa memuat atau menulis user lain.
+     *
+     * @param email email user (case-sensitive)
+     * @param premium status premium baru
+     * @return true jika user ditemukan dan diperbarui
+     */
+    public synchronized boolean setPremium(String email, boolean premium) {
+        ensureLoaded();
+        List<User> matches = usersByEmail.get(email);
+        if (matches == null) {
+            return false;
+        }
+        User updated = copyOf(matches.get(0));
+        updated.setPremium(premium);
+        return update(updated);
+    }
+
+    /**
+     * Mengganti hash password user dari data terbaru di store, tanpa menimpa field lain yang mungkin
+     * sudah diubah sejak user dibaca (misalnya status premium atau role).
+     * Hash hanya diganti jika hash yang tersimpan masih sama dengan {@code expectedPassword}, sehingga
+     * password yang baru saja diganti user tidak tertimpa hash lama.
+     *
+     * @param email email user (case-sensitive)
+     * @param expectedPassword hash password yang terakhir dibaca
+     * @param newPassword hash password baru
+     * @return true jika password diperbarui
+     */
+    public synchronized boolean replacePassword(String email, String expectedPassword, String newPassword) {
+        ensureLoaded();
+        List<User> matches = usersByEmail.get(email);
+        if (matches == null) {
+            return false;
+        }
+        for (User existing : matches) {
+            if (existing.getPassword().equals(expectedPassword)) {
+                User updated = copyOf(existing);
+                updated.setPassword(newPassword);
+                return update(updated);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mengganti user pada posisi tertentu.
+     * Jika email tidak berubah dan unik, hanya satu record yang ditulis; jika tidak, file ditulis ulang
+     * karena record berbasis key email tidak bisa menyatakan perubahan tersebut.
+     *
+     * @param index posisi user (0-based)
+     * @param user user dengan data baru
+     * @return true jika index valid dan user diperbarui
+     */
+    public synchronized boolean set(int index, User user) {
+        ensureLoaded();
+        if (index < 0 || index >= users.size()) {
+            return false;
+        }
+        User stored = copyOf(user);
+        User previous = users.set(index, stored);
+        unindex(previous);
+        sequence.put(stored, sequence.remove(previous));
+        // Same email and no other line shares it
+        boolean sameKey = previous.getEmail().equals(stored.getEmail())
+                && !usersByEmail.containsKey(stored.getEmail());
+        if (sameKey) {
+            index(stored);
+            FileManager.putRecord(filePath, stored.toFileLine());
+        } else {
+            reindex();
+            persist();
+        }
+        loadedVersion = FileManager.getFileVersion(filePath);
+        return true;
+    }
+
+    /**
+     * Menghapus user pada posisi tertentu.
+     * Jika ada user lain dengan email yang sama, file ditulis ulang karena delete berbasis key akan menghapus keduanya.
+     *
+     * @param index posisi user (0-based)
+     * @return salinan user yang dihapus, atau null jika index tidak valid
+     */
+    public synchronized User remove(int index) {
+        ensureLoaded();
+        if (index < 0 || index >= users.size()) {
+            return null;
+        }
+        User removed = users.remove(index);
+        unindex(removed);
+        sequence.remove(removed);
+        if (usersByEmail.containsKey(removed.getEmail())) {
+            persist();
+        } else {
+            FileManager.deleteRecord(filePath, removed.getEmail());
+        }
+        loadedVersion = FileManager.getFileVersion(filePath);
+        return copyOf(removed);
+    }
+
+    /**
+     * Menulis ulang seluruh file dari data di memori.
+     */
+    private void persist() {
+        List<String> lines = new ArrayList<>(users.size());
+        for (User user : users) {
+            lines.add(user.toFileLine());
+        }
+        FileManager.writeLines(filePath, lines);
+    }
+}
@@ -1,8 +1,9 @@
 package view;
 
 import controller.FilmController;
+import controller.PlaylistController;
+import controller.UserController;
 import model.User;
-import util.AuthService;
 import util.ValidationUtil;
 
 import javax.swing.*;
@@ -20,18 +21,25 @@ import java.util.List;
  */
 public class AdminPanel extends JPanel {
     private FilmController filmController;
+    private PlaylistController playlistController;
+    private UserController userController;
 
     private JTable userTable;
     private DefaultTableModel userTableModel;
+    private JLabel userSummaryLabel;
     private JPanel filmPanel;
 
     /**
      * Konstruktor AdminPanel.
      *
      * @param filmCtrl controller untuk mengelola data film
+     * @param playlistCtrl controller untuk membaca jumlah playlist per film
+     * @param userCtrl controller untuk membaca dan mengubah data user
      */
-    public AdminPanel(FilmController filmCtrl) {
+    public AdminPanel(FilmController filmCtrl, PlaylistController playlistCtrl, UserController userCtrl) {
         this.filmController = filmCtrl;
+        this.playlistController = playlistCtrl;
+        this.userController = userCtrl;
 
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -40,7 +48,7 @@ public class AdminPanel extends JPanel {
         JTabbedPane tabbedPane = new JTabbedPane();
 
         // Film Management Tab
-        filmPanel = new FilmPanel(filmController);
+        filmPanel = new FilmPanel(filmController, playlistController);
         tabbedPane.addTab("Manage Films", filmPanel);
 
         // User Management Tab
@@ -71,8 +79,10 @@ public class AdminPanel extends JPanel {
         JScrollPane scrollPane = new JScrollPane(userTable);
         panel.add(scrollPane, BorderLayout.CENTER);
 
-        // Action buttons
+        // Action buttons, preceded by the user totals
         JPanel actionPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        userSummaryLabel = new JLabel();
+        actionPanel.add(userSummaryLabel);
         JButton btnTogglePremium = new JButton("Toggle Premium Status");
         JButton btnRefresh = new JButton("Refresh");
 
@@ -102,32 +112,38 @@ public class AdminPanel extends JPanel {
         }
 
         String email = (String) userTableModel.getValueAt(selectedRow, 0);
-        List<User> allUsers = AuthService.getAllUsers();
-
-        for (User user : allUsers) {
-            if (user.getEmail().equals(email)) {
-                if (user.isAdmin()) {
-                    ValidationUtil.showError(this, "Cannot modify admin account!");
-                    return;
-                }
-
-                user.setPremium(!user.isPremium());
-                AuthService.updateUser(user);
-                refreshUsers();
-
-                String status = user.isPremium() ? "Premium" : "Free";
-                ValidationUtil.showSuccess(this, "User account updated to: " + status);
-                return;
-            }
+        User user = userController.findByEmail(email);
+        if (user == null) {
+            return;
+        }
+        if (user.isAdmin()) {
+            ValidationUtil.showError(this, "Cannot modify admin account!");
+            return;
         }
+
+        // One record write; only the affected row and the totals are redrawn
+        boolean premium = !user.isPremium();
+        userController.setPremium(email, premium);
+        user.setPremium(premium);
+        userTableModel.setValueAt(user.toTableRow()[3], selectedRow, 3);
+        updateUserSummary();
+
+        String status = premium ? "Premium" : "Free";
+        ValidationUtil.showSuccess(this, "User account updated to: " + status);
     }
 
     private void refreshUsers() {
         userTableModel.setRowCount(0);
-        List<User> allUsers = AuthService.getAllUsers();
+        List<User> allUsers = userController.getAllUsers();
 
         for (User user : allUsers) {
             userTableModel.addRow(user.toTableRow());
         }
+        updateUserSummary();
+    }
+
+    private void updateUserSummary() {
+        userSummaryLabel.setText(String.format("Total: %d users, %d premium",
+                userController.getUserCount(), userController.getPremiumUserCount()));
     }
 }
@@ -2,12 +2,14 @@ package view;
 
 import model.Film;
 import controller.FilmController;
+import controller.PlaylistController;
 import util.InputUtil;
 import util.ValidationUtil;
 import util.TMDBService;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.Arrays;
 
 /**
  * Panel untuk manajemen film oleh admin.
@@ -26,6 +28,7 @@ public class FilmPanel extends JPanel {
     private JTable table;
     private DefaultTableModel tableModel;
     private FilmController filmController;
+    private PlaylistController playlistController;
     private JCheckBox chkManualInput;
     private JButton btnFetch;
     private JRadioButton rbVisible, rbHidden;
@@ -37,9 +40,11 @@ public class FilmPanel extends JPanel {
      * Menginisialisasi controller dan membuat UI dengan form input dan tabel film.
      *
      * @param controller controller untuk mengelola data film
+     * @param playlistCtrl controller untuk membaca jumlah playlist per film
      */
-    public FilmPanel(FilmController controller) {
+    public FilmPanel(FilmController controller, PlaylistController playlistCtrl) {
         this.filmController = controller;
+        this.playlistController = playlistCtrl;
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
@@ -299,7 +304,7 @@ public class FilmPanel extends JPanel {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("Film List"));
 
-        String[] columns = {"ID", "Title", "Director", "Genre", "Year", "Synopsis", "Status"};
+        String[] columns = {"ID", "Title", "Director", "Genre", "Year", "Synopsis", "Status", "Playlists"};
         tableModel = new DefaultTableModel(columns, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -320,11 +325,15 @@ public class FilmPanel extends JPanel {
 
     /**
      * Merefresh tabel film dengan data terbaru dari database.
-     * Memuat ulang semua film termasuk yang hidden.
+     * Memuat ulang semua film termasuk yang hidden, beserta jumlah playlist yang memuat setiap film.
      */
     private void refreshTable() {
         tableModel.setRowCount(0);
-        filmController.getAllFilms().forEach(film -> tableModel.addRow(film.toTableRow()));
+        for (Film film : filmController.getAllFilms()) {
+            Object[] row = Arrays.copyOf(film.toTableRow(), 8);
+            row[7] = playlistController.getPlaylistCountForFilm(film.getId());
+            tableModel.addRow(row);
+        }
     }
 
     /**
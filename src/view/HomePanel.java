@@ -143,23 +143,19 @@ public class HomePanel extends JPanel {
         filmTableModel.setRowCount(0);
 
         // Check if films data file exists before loading
-        if (!FileManager.fileExists(FileManager.FILMS_FILE)) {
+        if (!FileManager.fileExists(FileManager.getFilmsFile())) {
             ValidationUtil.showError(this, "File data film tidak ditemukan!");
             lblTotalFilms.setText("0");
             return;
         }
 
         // Populate film table (only visible films for users)
-        int visibleCount = 0;
-        for (Film film : filmController.getAllFilms()) {
-            if (film.isVisible()) {
-                filmTableModel.addRow(film.toTableRow());
-                visibleCount++;
-            }
+        for (Film film : filmController.getVisibleFilms()) {
+            filmTableModel.addRow(film.toTableRow());
         }
 
         // Update stats
-        lblTotalFilms.setText(String.valueOf(visibleCount));
+        lblTotalFilms.setText(String.valueOf(filmController.getVisibleFilmCount()));
     }
 
     /**
@@ -182,13 +178,7 @@ public class HomePanel extends JPanel {
         String synopsis = (String) filmTableModel.getValueAt(selectedRow, 5);
 
         // Get film object for poster path
-        Film selectedFilm = null;
-        for (Film f : filmController.getAllFilms()) {
-            if (f.getId().equals(tmdbId)) {
-                selectedFilm = f;
-                break;
-            }
-        }
+        Film selectedFilm = filmController.getFilmById(tmdbId);
 
         // Create detail dialog
         JDialog detailDialog = new JDialog((JFrame) SwingUtilities.getWindowAncestor(this),
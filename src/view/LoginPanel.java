@@ -1,11 +1,13 @@
 package view;
 
 import util.AuthService;
+import util.LoginThrottledException;
 import util.ValidationUtil;
 import model.User;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.concurrent.CompletionException;
 
 /**
  * Panel untuk tampilan login dan registrasi pengguna.
@@ -118,9 +120,13 @@ public class LoginPanel extends JPanel {
 
     /**
      * Menangani proses login ketika tombol login diklik.
-     * Memvalidasi input dan memanggil AuthService untuk autentikasi.
+     * Memvalidasi input dan memanggil AuthService untuk autentikasi di worker thread,
+     * lalu menampilkan hasilnya kembali di Event Dispatch Thread.
      */
     private void handleLogin() {
+        if (!btnLogin.isEnabled()) {
+            return; // Login sebelumnya masih diproses
+        }
         String email = txtEmail.getText().trim();
         String password = new String(txtPassword.getPassword());
 
@@ -129,15 +135,23 @@ public class LoginPanel extends JPanel {
             return;
         }
 
-        User user = AuthService.login(email, password);
-        if (user != null) {
-            ValidationUtil.showSuccess(this, "Selamat datang, " + user.getUsername() + "!");
-            if (onLoginSuccess != null) {
-                onLoginSuccess.run();
+        btnLogin.setEnabled(false);
+        AuthService.loginAsync(email, password).whenComplete((user, error) -> SwingUtilities.invokeLater(() -> {
+            btnLogin.setEnabled(true);
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof LoginThrottledException) {
+                ValidationUtil.showError(this, "Terlalu banyak percobaan login. Silakan coba lagi nanti.");
+            } else if (error != null) {
+                ValidationUtil.showError(this, "Server sedang sibuk, silakan coba lagi.");
+            } else if (user != null) {
+                ValidationUtil.showSuccess(this, "Selamat datang, " + user.getUsername() + "!");
+                if (onLoginSuccess != null) {
+                    onLoginSuccess.run();
+                }
+            } else {
+                ValidationUtil.showError(this, "Email atau password salah!");
             }
-        } else {
-            ValidationUtil.showError(this, "Email atau password salah!");
-        }
+        }));
     }
 
     /**
@@ -233,15 +247,23 @@ public class LoginPanel extends JPanel {
                 return;
             }
 
-            // Register user
-            if (AuthService.register(email, password, username)) {
-                ValidationUtil.showSuccess(registerDialog,
-                    "Registrasi berhasil! Silakan login dengan akun Anda.");
-                registerDialog.dispose();
-            } else {
-                ValidationUtil.showError(registerDialog,
-                    "Email sudah terdaftar! Gunakan email lain.", "Registration Failed");
-            }
+            // Register user; the password is hashed off the Event Dispatch Thread
+            btnSubmit.setEnabled(false);
+            AuthService.registerAsync(email, password, username).whenComplete((registered, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    btnSubmit.setEnabled(true);
+                    if (error != null) {
+                        ValidationUtil.showError(registerDialog,
+                            "Server sedang sibuk, silakan coba lagi.", "Registration Failed");
+                    } else if (registered) {
+                        ValidationUtil.showSuccess(registerDialog,
+                            "Registrasi berhasil! Silakan login dengan akun Anda.");
+                        registerDialog.dispose();
+                    } else {
+                        ValidationUtil.showError(registerDialog,
+                            "Email sudah terdaftar! Gunakan email lain.", "Registration Failed");
+                    }
+                }));
         });
 
         gbc.gridx = 0; gbc.gridy = 5; gbc.gridwidth = 2;
@@ -4,6 +4,7 @@ import controller.FilmController;
 import controller.PlaylistController;
 import model.Film;
 import model.Playlist;
+import model.User;
 import util.AuthService;
 import util.ValidationUtil;
 
@@ -14,7 +15,11 @@ import java.awt.image.BufferedImage;
 import java.net.URI;
 import javax.imageio.ImageIO;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Panel untuk mengelola playlist milik user yang sedang login.
@@ -163,7 +168,8 @@ public class MyPlaylistPanel extends JPanel {
     private void createNewPlaylist() {
         String playlistName = JOptionPane.showInputDialog(this, "Enter playlist name:");
         if (playlistName != null && !playlistName.trim().isEmpty()) {
-            String ownerEmail = AuthService.getCurrentUser().getEmail();
+            String ownerEmail = currentOwnerEmail();
+            if (ownerEmail == null) return;
             Playlist newPlaylist = new Playlist(playlistName.trim(), ownerEmail, "Private", new ArrayList<>());
             playlistController.addPlaylist(newPlaylist);
             refreshPlaylists();
@@ -184,7 +190,9 @@ public class MyPlaylistPanel extends JPanel {
         }
 
         String playlistName = (String) playlistTableModel.getValueAt(selectedRow, 0);
-        List<Playlist> userPlaylists = playlistController.getPlaylistsByOwner(AuthService.getCurrentUser().getEmail());
+        String ownerEmail = currentOwnerEmail();
+        if (ownerEmail == null) return;
+        List<Playlist> userPlaylists = playlistController.getPlaylistsByOwner(ownerEmail);
         Playlist selectedPlaylist = userPlaylists.stream()
                 .filter(p -> p.getName().equals(playlistName))
                 .findFirst()
@@ -244,14 +252,25 @@ public class MyPlaylistPanel extends JPanel {
         JButton btnCancel = new JButton("Cancel");
 
         btnSave.addActionListener(e -> {
-            List<String> selectedFilmIds = new ArrayList<>();
+            Set<String> selectedFilmIds = new LinkedHashSet<>();
             for (String selectedValue : filmList.getSelectedValuesList()) {
                 String filmId = selectedValue.split(" - ")[0];
                 selectedFilmIds.add(filmId);
             }
 
-            playlist.setFilmIds(selectedFilmIds);
-            playlistController.updatePlaylist(playlist);
+            // Only the films that changed are written, each as a small delta
+            String ownerEmail = playlist.getOwnerEmail();
+            Set<String> currentFilmIds = new LinkedHashSet<>(existingFilmIds);
+            for (String filmId : currentFilmIds) {
+                if (!selectedFilmIds.contains(filmId)) {
+                    playlistController.removeFilmFromPlaylist(playlist.getName(), ownerEmail, filmId);
+                }
+            }
+            for (String filmId : selectedFilmIds) {
+                if (!currentFilmIds.contains(filmId)) {
+                    playlistController.addFilmToPlaylist(playlist.getName(), ownerEmail, filmId);
+                }
+            }
             refreshPlaylists();
             dialog.dispose();
             ValidationUtil.showSuccess(this, "Playlist updated successfully!");
@@ -297,12 +316,28 @@ public class MyPlaylistPanel extends JPanel {
             JOptionPane.WARNING_MESSAGE);
 
         if (result == JOptionPane.YES_OPTION) {
-            playlistController.deletePlaylist(playlistName, AuthService.getCurrentUser().getEmail());
+            String ownerEmail = currentOwnerEmail();
+            if (ownerEmail == null) return;
+            playlistController.deletePlaylist(playlistName, ownerEmail);
             refreshPlaylists();
             ValidationUtil.showSuccess(this, "Playlist berhasil dihapus!");
         }
     }
 
+    /**
+     * Mendapatkan email user yang sedang login, atau menampilkan pesan jika session sudah berakhir.
+     *
+     * @return email user, atau null jika session sudah berakhir
+     */
+    private String currentOwnerEmail() {
+        User currentUser = AuthService.getCurrentUser();
+        if (currentUser == null) {
+            ValidationUtil.showError(this, "Sesi login sudah berakhir. Silakan login kembali.");
+            return null;
+        }
+        return currentUser.getEmail();
+    }
+
     /**
      * Merefresh tabel playlist dengan data terbaru dari database.
      * Hanya menampilkan playlist milik user yang sedang login.
@@ -312,17 +347,25 @@ public class MyPlaylistPanel extends JPanel {
         playlistTableModel.setRowCount(0);
 
         // Safety check: verify user is logged in before loading playlists
-        if (!AuthService.isLoggedIn()) {
+        User currentUser = AuthService.getCurrentUser();
+        if (currentUser == null) {
             return;
         }
 
-        List<Playlist> userPlaylists = playlistController.getPlaylistsByOwner(AuthService.getCurrentUser().getEmail());
+        List<Playlist> userPlaylists = playlistController.getPlaylistsByOwner(currentUser.getEmail());
+
+        // Resolve every film ID of every playlist in a single bulk lookup
+        Set<String> allFilmIds = new HashSet<>();
+        for (Playlist playlist : userPlaylists) {
+            allFilmIds.addAll(playlist.getFilmIds());
+        }
+        Map<String, Film> filmsById = filmController.getFilmsByIds(allFilmIds);
 
         for (Playlist playlist : userPlaylists) {
             // Get film titles from IDs
             List<String> filmTitles = new ArrayList<>();
             for (String filmId : playlist.getFilmIds()) {
-                Film film = filmController.getFilmById(filmId);
+                Film film = filmsById.get(filmId);
                 if (film != null) {
                     filmTitles.add(film.getTitle());
                 }
@@ -349,7 +392,9 @@ public class MyPlaylistPanel extends JPanel {
         }
 
         String playlistName = (String) playlistTableModel.getValueAt(selectedRow, 0);
-        List<Playlist> userPlaylists = playlistController.getPlaylistsByOwner(AuthService.getCurrentUser().getEmail());
+        String ownerEmail = currentOwnerEmail();
+        if (ownerEmail == null) return;
+        List<Playlist> userPlaylists = playlistController.getPlaylistsByOwner(ownerEmail);
         Playlist selectedPlaylist = userPlaylists.stream()
                 .filter(p -> p.getName().equals(playlistName))
                 .findFirst()
@@ -389,8 +434,9 @@ public class MyPlaylistPanel extends JPanel {
         contentPanel.setBackground(Color.WHITE);
         contentPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
 
+        Map<String, Film> filmsById = filmController.getFilmsByIds(selectedPlaylist.getFilmIds());
         for (String filmId : selectedPlaylist.getFilmIds()) {
-            Film film = filmController.getFilmById(filmId);
+            Film film = filmsById.get(filmId);
             if (film != null) {
                 JPanel filmItemPanel = createFilmItemPanel(film);
                 contentPanel.add(filmItemPanel);